@@ -0,0 +1,113 @@
+package org.cardanofoundation.cip30;
+
+import co.nstant.in.cbor.CborDecoder;
+import co.nstant.in.cbor.CborException;
+import co.nstant.in.cbor.model.Array;
+import co.nstant.in.cbor.model.ByteString;
+import co.nstant.in.cbor.model.Map;
+import co.nstant.in.cbor.model.UnicodeString;
+import com.bloxbean.cardano.client.address.Address;
+import com.bloxbean.cardano.client.cip.cip8.COSEKey;
+import com.bloxbean.cardano.client.util.HexUtil;
+import org.cardanofoundation.cip30.benchmarks.SignatureCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.bloxbean.cardano.client.address.AddressProvider.verifyAddress;
+
+/**
+ * Key resolution and address binding on the with-key path, i.e. everything {@code CIP30Verifier} does
+ * with COSE_Sign1 and COSE_Key before the ED 25519 signature check. COSE_Sign1 is supplied as bytes so that its hex
+ * decoding does not hide the cost of handling the hex-encoded COSE_Key:
+ * <ul>
+ *     <li>{@code legacy} - cbor-java object tree, COSE_Key hex decoded and deserialized twice, address extracted twice</li>
+ *     <li>{@code doubleDecode} - offset based parsers, but COSE_Key and address still decoded twice</li>
+ *     <li>{@code singleDecode} - every input structure parsed once into {@link ParsedDataSignature}</li>
+ * </ul>
+ * The class lives in the library package to reach the package-private parsers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyResolutionBenchmark {
+
+    private static final UnicodeString ADDRESS_LABEL = new UnicodeString("address");
+
+    @State(Scope.Benchmark)
+    public static class Inputs {
+
+        @Param({"64", "16384"})
+        public int messageSize;
+
+        byte[] coseSign1;
+
+        String coseKeyHex;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            var corpus = SignatureCorpus.create(42, messageSize, false);
+            coseSign1 = corpus.getCoseSign1();
+            coseKeyHex = corpus.getCoseKeyHex();
+        }
+
+    }
+
+    @Benchmark
+    public void legacy(Inputs inputs, Blackhole blackhole) throws CborException {
+        var coseSign1 = (Array) CborDecoder.decode(inputs.coseSign1).get(0);
+        var protectedHeader = (ByteString) coseSign1.getDataItems().get(0);
+        var protectedHeaderMap = (Map) CborDecoder.decode(protectedHeader.getBytes()).get(0);
+
+        var publicKey = COSEKey.deserialize(HexUtil.decodeHexString(inputs.coseKeyHex)).otherHeaderAsBytes(-2);
+        var address = ((ByteString) protectedHeaderMap.get(ADDRESS_LABEL)).getBytes();
+        var coseKeyPublicKey = COSEKey.deserialize(HexUtil.decodeHexString(inputs.coseKeyHex)).otherHeaderAsBytes(-2);
+
+        blackhole.consume(publicKey);
+        blackhole.consume(verifyAddress(new Address(address), coseKeyPublicKey));
+        blackhole.consume(((ByteString) protectedHeaderMap.get(ADDRESS_LABEL)).getBytes());
+    }
+
+    @Benchmark
+    public void doubleDecode(Inputs inputs, Blackhole blackhole) throws CborFormatException {
+        var coseSign1 = CoseSign1Structure.parse(ByteBuffer.wrap(inputs.coseSign1), DecodingLimits.defaultLimits());
+
+        var publicKey = CoseKeyStructure.parse(ByteBuffer.wrap(HexUtil.decodeHexString(inputs.coseKeyHex)), DecodingLimits.defaultLimits()).publicKey();
+        var address = coseSign1.address();
+        var coseKeyPublicKey = CoseKeyStructure.parse(ByteBuffer.wrap(HexUtil.decodeHexString(inputs.coseKeyHex)), DecodingLimits.defaultLimits()).publicKey();
+
+        blackhole.consume(publicKey);
+        blackhole.consume(verifyAddress(new Address(address), coseKeyPublicKey));
+        blackhole.consume(coseSign1.address());
+    }
+
+    @Benchmark
+    public void singleDecode(Inputs inputs, Blackhole blackhole) throws CborFormatException {
+        var parsed = ParsedDataSignature.parse(
+                ByteBuffer.wrap(inputs.coseSign1),
+                Optional.of(ByteBuffer.wrap(HexUtil.decodeHexString(inputs.coseKeyHex))),
+                DecodingLimits.defaultLimits()
+        );
+
+        blackhole.consume(parsed.getEd25519PublicKey());
+        blackhole.consume(parsed.isAddressVerified());
+        blackhole.consume(parsed.getAddress());
+    }
+
+}
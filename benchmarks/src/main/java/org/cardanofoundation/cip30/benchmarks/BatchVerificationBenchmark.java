@@ -0,0 +1,72 @@
+package org.cardanofoundation.cip30.benchmarks;
+
+import org.cardanofoundation.cip30.CIP30BatchVerifier;
+import org.cardanofoundation.cip30.CIP30Verifier;
+import org.cardanofoundation.cip30.Cip30VerificationResult;
+import org.cardanofoundation.cip30.DataSignature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link CIP30BatchVerifier} with verifying the same DataSignatures one by one, scores are per signature.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchVerificationBenchmark {
+
+    private static final int SIGNATURES = 256;
+
+    @Param({"false", "true"})
+    public boolean hashed;
+
+    @Param({"64", "16384"})
+    public int messageSize;
+
+    private List<DataSignature> dataSignatures;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSignatures = new ArrayList<>(SIGNATURES);
+        for (int i = 0; i < SIGNATURES; i++) {
+            var corpus = SignatureCorpus.create(i, messageSize, hashed);
+            dataSignatures.add(new DataSignature(corpus.getCoseSign1Hex(), corpus.getCoseKeyHex()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIGNATURES)
+    public List<Cip30VerificationResult> individual() {
+        var results = new ArrayList<Cip30VerificationResult>(SIGNATURES);
+        for (var dataSignature : dataSignatures) {
+            results.add(new CIP30Verifier(dataSignature).verify());
+        }
+
+        return results;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIGNATURES)
+    public List<Cip30VerificationResult> batch() {
+        return new CIP30BatchVerifier(dataSignatures).verify();
+    }
+
+}
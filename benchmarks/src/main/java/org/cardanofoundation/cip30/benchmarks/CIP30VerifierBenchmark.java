@@ -0,0 +1,71 @@
+package org.cardanofoundation.cip30.benchmarks;
+
+import org.cardanofoundation.cip30.CIP30Verifier;
+import org.cardanofoundation.cip30.Cip30VerificationEngine;
+import org.cardanofoundation.cip30.Cip30VerificationResult;
+import org.cardanofoundation.cip30.Ed25519PublicKeyCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end benchmark of {@link CIP30Verifier#verify()}, with hex-encoded inputs (including hex decoding)
+ * and with raw CBOR bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CIP30VerifierBenchmark {
+
+    @Benchmark
+    public Cip30VerificationResult verify(DataSignatureState state) {
+        return new CIP30Verifier(state.coseSign1, state.coseKey).verify();
+    }
+
+    @Benchmark
+    public Cip30VerificationResult verifyBytes(DataSignatureState state) {
+        return new CIP30Verifier(state.coseSign1Bytes, state.coseKeyBytes).verify();
+    }
+
+    /**
+     * Repeat signer, decoded public key is served from the cache.
+     */
+    @Benchmark
+    public Cip30VerificationResult verifyWithPublicKeyCache(DataSignatureState state, PublicKeyCacheState cacheState) {
+        var builder = CIP30Verifier.Builder.newBuilder()
+                .coseSign1(state.coseSign1Bytes)
+                .engine(cacheState.engine);
+        if (state.coseKeyBytes != null) {
+            builder.coseKey(state.coseKeyBytes);
+        }
+
+        return builder.build().verify();
+    }
+
+    @State(Scope.Benchmark)
+    public static class PublicKeyCacheState {
+
+        Cip30VerificationEngine engine;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            engine = Cip30VerificationEngine.Builder.newBuilder()
+                    .publicKeyCache(new Ed25519PublicKeyCache(1024))
+                    .build();
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.cardanofoundation.cip30.benchmarks;
+
+import org.cardanofoundation.cip30.CIP30Verifier;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark state holding a single DataSignature from {@link SignatureCorpus}.
+ * <p>
+ * The corpus matrix covers: DataSignature with and without explicitly passed COSE_Key, hashed vs. unhashed payload
+ * and small (login challenge) vs. large (document) messages.
+ */
+@State(Scope.Benchmark)
+public class DataSignatureState {
+
+    @Param({"true", "false"})
+    public boolean withCoseKey;
+
+    @Param({"false", "true"})
+    public boolean hashed;
+
+    @Param({"64", "16384"})
+    public int messageSize;
+
+    SignatureCorpus corpus;
+
+    String coseSign1;
+
+    /**
+     * null when the COSE_Key is not passed explicitly
+     */
+    String coseKey;
+
+    byte[] coseSign1Bytes;
+
+    /**
+     * null when the COSE_Key is not passed explicitly
+     */
+    byte[] coseKeyBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        corpus = SignatureCorpus.create(42, messageSize, hashed);
+        coseSign1 = corpus.getCoseSign1Hex();
+        coseKey = withCoseKey ? corpus.getCoseKeyHex() : null;
+        coseSign1Bytes = corpus.getCoseSign1();
+        coseKeyBytes = withCoseKey ? corpus.getCoseKey() : null;
+
+        // without an explicit COSE_Key the verifier falls back to the header, which CIP-30 wallets do not populate
+        // with a public key, hence such signatures are expected to be reported as invalid
+        var valid = new CIP30Verifier(coseSign1, coseKey).verify().isValid();
+        if (valid != withCoseKey) {
+            throw new IllegalStateException("Unexpected verification outcome for corpus: " + corpus);
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.cardanofoundation.cip30.benchmarks;
+
+import org.cardanofoundation.cip30.CIP30ParallelVerifier;
+import org.cardanofoundation.cip30.Cip30VerificationResult;
+import org.cardanofoundation.cip30.DataSignature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link CIP30ParallelVerifier} with the number of worker threads, scores are signatures per second.
+ * <p>
+ * Linear scaling means that the score grows proportionally to {@code threads}, up to the number of physical cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelVerificationBenchmark {
+
+    private static final int SIGNATURES = 4096;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private List<DataSignature> dataSignatures;
+
+    private ForkJoinPool pool;
+
+    private CIP30ParallelVerifier verifier;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSignatures = new ArrayList<>(SIGNATURES);
+        for (int i = 0; i < SIGNATURES; i++) {
+            // a few hundred distinct signers, each one signing repeatedly
+            var corpus = SignatureCorpus.create(i % 512, 64, false);
+            dataSignatures.add(new DataSignature(corpus.getCoseSign1Hex(), corpus.getCoseKeyHex()));
+        }
+        pool = new ForkJoinPool(threads);
+        verifier = CIP30ParallelVerifier.Builder.newBuilder()
+                .executor(pool)
+                .maxInFlight(2 * threads)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIGNATURES)
+    public List<Cip30VerificationResult> verify() {
+        return verifier.verify(dataSignatures);
+    }
+
+}
@@ -0,0 +1,97 @@
+package org.cardanofoundation.cip30.benchmarks;
+
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
+import net.i2p.crypto.eddsa.spec.EdDSAPrivateKeySpec;
+import org.cardanofoundation.cip30.CIP30Verifier;
+import org.cardanofoundation.cip30.Cip30VerificationEngine;
+import org.cardanofoundation.cip30.Cip30VerificationResult;
+import org.cardanofoundation.cip30.SignatureVerifierBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable.ED_25519;
+
+/**
+ * Comparison of {@link SignatureVerifierBackend} implementations, a bare Ed25519 check of a 64 byte message
+ * and end to end {@link CIP30Verifier#verify()} with an engine using the backend.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignatureBackendBenchmark {
+
+    @Param({"i2p", "jdk"})
+    public String backend;
+
+    private SignatureVerifierBackend signatureBackend;
+
+    private Cip30VerificationEngine engine;
+
+    private byte[] message;
+
+    private byte[] signature;
+
+    private byte[] publicKey;
+
+    private byte[] coseSign1;
+
+    private byte[] coseKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws GeneralSecurityException {
+        signatureBackend = SignatureVerifierBackend.named(backend);
+        engine = Cip30VerificationEngine.Builder.newBuilder()
+                .signatureBackend(signatureBackend)
+                .build();
+
+        var seed = new byte[32];
+        new Random(42).nextBytes(seed);
+        var privateKey = new EdDSAPrivateKey(new EdDSAPrivateKeySpec(seed, EdDSANamedCurveTable.getByName(ED_25519)));
+        message = new byte[64];
+        new Random(7).nextBytes(message);
+        var signer = new EdDSAEngine(MessageDigest.getInstance("SHA-512"));
+        signer.initSign(privateKey);
+        signature = signer.signOneShot(message);
+        publicKey = privateKey.getAbyte();
+
+        var corpus = SignatureCorpus.create(42, 64, false);
+        coseSign1 = corpus.getCoseSign1();
+        coseKey = corpus.getCoseKey();
+    }
+
+    @Benchmark
+    public boolean verifySignature() {
+        return signatureBackend.verify(message, signature, publicKey);
+    }
+
+    @Benchmark
+    public Cip30VerificationResult verify() {
+        return CIP30Verifier.Builder.newBuilder()
+                .coseSign1(coseSign1)
+                .coseKey(coseKey)
+                .engine(engine)
+                .build()
+                .verify();
+    }
+
+}
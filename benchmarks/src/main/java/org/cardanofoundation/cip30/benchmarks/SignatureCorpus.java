@@ -0,0 +1,191 @@
+package org.cardanofoundation.cip30.benchmarks;
+
+import co.nstant.in.cbor.CborException;
+import co.nstant.in.cbor.model.Array;
+import co.nstant.in.cbor.model.ByteString;
+import co.nstant.in.cbor.model.Map;
+import co.nstant.in.cbor.model.NegativeInteger;
+import co.nstant.in.cbor.model.SimpleValue;
+import co.nstant.in.cbor.model.UnicodeString;
+import co.nstant.in.cbor.model.UnsignedInteger;
+import com.bloxbean.cardano.client.crypto.Blake2bUtil;
+import com.bloxbean.cardano.client.util.HexUtil;
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
+import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
+import net.i2p.crypto.eddsa.spec.EdDSAPrivateKeySpec;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import static com.bloxbean.cardano.client.common.cbor.CborSerializationUtil.serialize;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable.ED_25519;
+
+/**
+ * Deterministic generator of CIP-30 DataSignatures used as benchmark input.
+ * <p>
+ * Signatures are produced the same way a CIP-30 wallet does it (COSE_Sign1 with an 'address' protected header
+ * and a 'hashed' unprotected header), signed by a fixed seed so that every run measures identical bytes.
+ */
+public final class SignatureCorpus {
+
+    private static final EdDSAParameterSpec ED_DSA_PARAMETER_SPEC = EdDSANamedCurveTable.getByName(ED_25519);
+
+    /**
+     * Mainnet reward (stake) address header, credential is a key hash.
+     */
+    private static final byte STAKE_ADDRESS_HEADER = (byte) 0xe1;
+
+    private final byte[] publicKey;
+
+    private final byte[] address;
+
+    private final byte[] payload;
+
+    private final byte[] coseSign1;
+
+    private final byte[] coseKey;
+
+    private final boolean hashed;
+
+    private SignatureCorpus(byte[] publicKey,
+                            byte[] address,
+                            byte[] payload,
+                            byte[] coseSign1,
+                            byte[] coseKey,
+                            boolean hashed) {
+        this.publicKey = publicKey;
+        this.address = address;
+        this.payload = payload;
+        this.coseSign1 = coseSign1;
+        this.coseKey = coseKey;
+        this.hashed = hashed;
+    }
+
+    /**
+     * Creates a signed DataSignature.
+     *
+     * @param seed        - seed of the signing key, different seeds produce different signers
+     * @param messageSize - size in bytes of the signed payload
+     * @param hashed      - whether the payload is Blake2b-224 hashed before signing (hardware wallet scenario)
+     * @return a DataSignature corpus entry
+     */
+    public static SignatureCorpus create(int seed, int messageSize, boolean hashed) {
+        try {
+            var seedBytes = new byte[32];
+            new Random(seed).nextBytes(seedBytes);
+            var privateKey = new EdDSAPrivateKey(new EdDSAPrivateKeySpec(seedBytes, ED_DSA_PARAMETER_SPEC));
+            var publicKey = privateKey.getAbyte();
+
+            var address = new byte[29];
+            address[0] = STAKE_ADDRESS_HEADER;
+            System.arraycopy(Blake2bUtil.blake2bHash224(publicKey), 0, address, 1, 28);
+
+            var payload = payload(seed, messageSize);
+            var message = hashed ? Blake2bUtil.blake2bHash224(payload) : payload;
+
+            var protectedHeaderMap = new Map();
+            protectedHeaderMap.put(new UnsignedInteger(1), new NegativeInteger(-8));
+            protectedHeaderMap.put(new UnicodeString("address"), new ByteString(address));
+            var protectedHeader = serialize(protectedHeaderMap);
+
+            var unprotectedHeaderMap = new Map();
+            unprotectedHeaderMap.put(new UnicodeString("hashed"), hashed ? SimpleValue.TRUE : SimpleValue.FALSE);
+
+            var sigStructure = new Array();
+            sigStructure.add(new UnicodeString("Signature1"));
+            sigStructure.add(new ByteString(protectedHeader));
+            sigStructure.add(new ByteString(new byte[0]));
+            sigStructure.add(new ByteString(message));
+
+            var engine = new EdDSAEngine(MessageDigest.getInstance(ED_DSA_PARAMETER_SPEC.getHashAlgorithm()));
+            engine.initSign(privateKey);
+            engine.update(serialize(sigStructure));
+            var signature = engine.sign();
+
+            var coseSign1 = new Array();
+            coseSign1.add(new ByteString(protectedHeader));
+            coseSign1.add(unprotectedHeaderMap);
+            coseSign1.add(new ByteString(message));
+            coseSign1.add(new ByteString(signature));
+
+            var coseKey = new Map();
+            coseKey.put(new UnsignedInteger(1), new UnsignedInteger(1));
+            coseKey.put(new UnsignedInteger(3), new NegativeInteger(-8));
+            coseKey.put(new NegativeInteger(-1), new UnsignedInteger(6));
+            coseKey.put(new NegativeInteger(-2), new ByteString(publicKey));
+
+            return new SignatureCorpus(publicKey, address, payload, serialize(coseSign1), serialize(coseKey), hashed);
+        } catch (CborException | GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate benchmark corpus", e);
+        }
+    }
+
+    /**
+     * Generates a JSON-like login challenge of exactly {@code size} bytes.
+     */
+    private static byte[] payload(int seed, int size) {
+        var prefix = ("{\"action\":\"LOGIN\",\"seed\":" + seed + ",\"data\":\"").getBytes(UTF_8);
+        var payload = new byte[size];
+        var random = new Random(seed);
+        for (int i = 0; i < size; i++) {
+            payload[i] = (byte) ('a' + random.nextInt(26));
+        }
+        System.arraycopy(prefix, 0, payload, 0, Math.min(prefix.length, size));
+        if (size > prefix.length + 1) {
+            payload[size - 2] = '"';
+            payload[size - 1] = '}';
+        }
+
+        return payload;
+    }
+
+    public byte[] getPublicKey() {
+        return publicKey.clone();
+    }
+
+    public byte[] getAddress() {
+        return address.clone();
+    }
+
+    /**
+     * @return payload that has been signed, before optional hashing.
+     */
+    public byte[] getPayload() {
+        return payload.clone();
+    }
+
+    public byte[] getCoseSign1() {
+        return coseSign1.clone();
+    }
+
+    public byte[] getCoseKey() {
+        return coseKey.clone();
+    }
+
+    public String getCoseSign1Hex() {
+        return HexUtil.encodeHexString(coseSign1);
+    }
+
+    public String getCoseKeyHex() {
+        return HexUtil.encodeHexString(coseKey);
+    }
+
+    public boolean isHashed() {
+        return hashed;
+    }
+
+    @Override
+    public String toString() {
+        return "SignatureCorpus{" +
+                "publicKey=" + HexUtil.encodeHexString(publicKey) +
+                ", coseSign1Length=" + coseSign1.length +
+                ", payloadLength=" + payload.length +
+                ", hashed=" + hashed +
+                '}';
+    }
+
+}
@@ -0,0 +1,178 @@
+package org.cardanofoundation.cip30.benchmarks;
+
+import co.nstant.in.cbor.CborDecoder;
+import co.nstant.in.cbor.CborException;
+import co.nstant.in.cbor.model.Array;
+import co.nstant.in.cbor.model.ByteString;
+import co.nstant.in.cbor.model.DataItem;
+import co.nstant.in.cbor.model.UnicodeString;
+import com.bloxbean.cardano.client.address.Address;
+import com.bloxbean.cardano.client.cip.cip8.COSEKey;
+import com.bloxbean.cardano.client.util.HexUtil;
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
+import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
+import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+import static com.bloxbean.cardano.client.address.AddressProvider.verifyAddress;
+import static com.bloxbean.cardano.client.common.cbor.CborSerializationUtil.serialize;
+import static net.i2p.crypto.eddsa.EdDSAEngine.ONE_SHOT_MODE;
+import static net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable.ED_25519;
+
+/**
+ * Per stage benchmarks of the work done by {@code CIP30Verifier.verify()}.
+ * <p>
+ * Each benchmark method isolates one stage of the verification pipeline, inputs of every stage are prepared
+ * up front so that numbers can be added up and compared with {@link CIP30VerifierBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerificationStagesBenchmark {
+
+    private static final EdDSAParameterSpec ED_DSA_PARAMETER_SPEC = EdDSANamedCurveTable.getByName(ED_25519);
+
+    @State(Scope.Benchmark)
+    public static class Stages {
+
+        @Param({"false", "true"})
+        public boolean hashed;
+
+        @Param({"64", "16384"})
+        public int messageSize;
+
+        String coseSign1Hex;
+
+        String coseKeyHex;
+
+        byte[] coseSign1;
+
+        byte[] protectedHeader;
+
+        byte[] message;
+
+        byte[] signature;
+
+        byte[] publicKeyBytes;
+
+        byte[] address;
+
+        byte[] cosePayload;
+
+        EdDSAPublicKey publicKey;
+
+        @Setup(Level.Trial)
+        public void setUp() throws CborException {
+            var corpus = SignatureCorpus.create(42, messageSize, hashed);
+            coseSign1Hex = corpus.getCoseSign1Hex();
+            coseKeyHex = corpus.getCoseKeyHex();
+            coseSign1 = corpus.getCoseSign1();
+
+            var dataItems = ((Array) CborDecoder.decode(coseSign1).get(0)).getDataItems();
+            protectedHeader = ((ByteString) dataItems.get(0)).getBytes();
+            message = ((ByteString) dataItems.get(2)).getBytes();
+            signature = ((ByteString) dataItems.get(3)).getBytes();
+
+            publicKeyBytes = corpus.getPublicKey();
+            address = corpus.getAddress();
+            cosePayload = serialize(sigStructure(protectedHeader, message));
+            publicKey = new EdDSAPublicKey(new EdDSAPublicKeySpec(publicKeyBytes, ED_DSA_PARAMETER_SPEC));
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class Engine {
+
+        EdDSAEngine engine;
+
+        @Setup(Level.Trial)
+        public void setUp() throws GeneralSecurityException {
+            engine = new EdDSAEngine(MessageDigest.getInstance(ED_DSA_PARAMETER_SPEC.getHashAlgorithm()));
+        }
+
+    }
+
+    private static Array sigStructure(byte[] protectedHeader, byte[] message) {
+        var signatureArray = new Array();
+        signatureArray.add(new UnicodeString("Signature1"));
+        signatureArray.add(new ByteString(protectedHeader));
+        signatureArray.add(new ByteString(new byte[0]));
+        signatureArray.add(new ByteString(message));
+
+        return signatureArray;
+    }
+
+    @Benchmark
+    public byte[] hexDecodeCoseSign1(Stages stages) {
+        return HexUtil.decodeHexString(stages.coseSign1Hex);
+    }
+
+    @Benchmark
+    public DataItem decodeCoseSign1(Stages stages) throws CborException {
+        return CborDecoder.decode(stages.coseSign1).get(0);
+    }
+
+    @Benchmark
+    public DataItem decodeProtectedHeader(Stages stages) throws CborException {
+        return CborDecoder.decode(stages.protectedHeader).get(0);
+    }
+
+    @Benchmark
+    public byte[] serializeSigStructure(Stages stages) throws CborException {
+        return serialize(sigStructure(stages.protectedHeader, stages.message));
+    }
+
+    @Benchmark
+    public byte[] deserializeCoseKey(Stages stages) {
+        return COSEKey.deserialize(HexUtil.decodeHexString(stages.coseKeyHex)).otherHeaderAsBytes(-2);
+    }
+
+    @Benchmark
+    public EdDSAPublicKey createPublicKey(Stages stages) {
+        return new EdDSAPublicKey(new EdDSAPublicKeySpec(stages.publicKeyBytes, ED_DSA_PARAMETER_SPEC));
+    }
+
+    @Benchmark
+    public EdDSAEngine createEngine() throws GeneralSecurityException {
+        return new EdDSAEngine(MessageDigest.getInstance(ED_DSA_PARAMETER_SPEC.getHashAlgorithm()));
+    }
+
+    /**
+     * Ed25519 signature check alone, public key and engine creation excluded.
+     */
+    @Benchmark
+    public boolean verifySignature(Stages stages, Engine state) throws GeneralSecurityException {
+        var engine = state.engine;
+        engine.initVerify(stages.publicKey);
+        engine.setParameter(ONE_SHOT_MODE);
+        engine.update(stages.cosePayload);
+
+        return engine.verify(stages.signature);
+    }
+
+    @Benchmark
+    public boolean verifyAddressBinding(Stages stages) {
+        return verifyAddress(new Address(stages.address), stages.publicKeyBytes);
+    }
+
+}
@@ -0,0 +1,271 @@
+package org.cardanofoundation.cip30.cli;
+
+import org.cardanofoundation.cip30.CIP30ParallelVerifier;
+import org.cardanofoundation.cip30.DataSignature;
+import org.cardanofoundation.cip30.ValidationError;
+import org.cardanofoundation.cip30.tools.LatencyHistogram;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line tool verifying CIP-30 DataSignatures in bulk, e.g. re-verifying exported signature dumps.
+ * <p>
+ * Records are read line by line from files or the standard input (see {@link RecordReader}), verified in parallel
+ * by a {@link CIP30ParallelVerifier} and written as JSON lines in input order (see {@link ResultWriter}). A summary
+ * of throughput and latency is printed to the standard error at the end. Latency of a record is the time from
+ * reading it to writing its result, so it includes time spent waiting for a thread.
+ * <p>
+ * Only a bounded number of records is in flight at any time, inputs of tens of millions of records are verified
+ * in constant memory.
+ */
+public final class Cip30Cli {
+
+    static final int OK = 0;
+
+    static final int FAILURE = 1;
+
+    static final int USAGE = 2;
+
+    private static final int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+
+    private static final String HELP = """
+            Usage: java -jar cip30-cli.jar [options] [file...]
+
+            Verifies CIP-30 DataSignatures, one per line, from files or the standard input (file - or no file).
+            A line is either hex COSE_Sign1 optionally followed by a comma or whitespace and hex COSE_Key,
+            or a JSON object with "signature", optional "key" and optional "id" fields.
+            Results are written as JSON lines in input order, a summary is printed to the standard error.
+
+            Options:
+              -t, --threads <n>      number of verifying threads, by default the number of available processors
+              -o, --output <file>    file of results, replaced if it exists, by default the standard output
+              -h, --help             prints this help
+            """;
+
+    private Cip30Cli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.in, System.out, System.err));
+    }
+
+    /**
+     * Runs the tool.
+     *
+     * @param args - command line arguments
+     * @param stdin - standard input
+     * @param stdout - standard output, results are written to it unless an output file is given
+     * @param stderr - standard error, for the summary and errors
+     * @return exit status
+     */
+    static int run(String[] args, InputStream stdin, OutputStream stdout, PrintStream stderr) {
+        final Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            stderr.println(e.getMessage());
+            stderr.print(HELP);
+            return USAGE;
+        }
+        if (options.help) {
+            stderr.print(HELP);
+            return OK;
+        }
+
+        var executor = Executors.newFixedThreadPool(options.threads, runnable -> {
+            var thread = new Thread(runnable, "cip30-verifier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (var reader = new RecordReader(options.inputs, stdin);
+             var writer = new ResultWriter(output(options, stdout))) {
+            var summary = verify(reader, writer, executor, options.threads);
+            summary.print(stderr);
+
+            return OK;
+        } catch (IOException | UncheckedIOException e) {
+            stderr.println("Verification failed: " + e.getMessage());
+            return FAILURE;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Summary verify(RecordReader reader, ResultWriter writer, ExecutorService executor, int threads) throws IOException {
+        var verifier = CIP30ParallelVerifier.Builder.newBuilder()
+                .executor(executor)
+                .maxInFlight(2 * threads)
+                .build();
+        // records pulled by the verifier, whose results are still to come, in input order
+        var pending = new ArrayDeque<Record>();
+        var summary = new Summary();
+        var dataSignatures = new Iterator<DataSignature>() {
+            @Override
+            public boolean hasNext() {
+                return reader.hasNext();
+            }
+
+            @Override
+            public DataSignature next() {
+                var record = reader.next();
+                record.start(System.nanoTime());
+                pending.add(record);
+                return record.dataSignature();
+            }
+        };
+
+        try {
+            verifier.verify(dataSignatures, result -> {
+                var record = pending.poll();
+                try {
+                    writer.write(record, result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                summary.record(result.getValidationError().orElse(null), System.nanoTime() - record.startNanos());
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        summary.finish();
+
+        return summary;
+    }
+
+    private static OutputStream output(Options options, OutputStream stdout) throws IOException {
+        if (options.output == null) {
+            // the standard output is not closed with the writer
+            return new BufferedOutputStream(stdout, OUTPUT_BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+        }
+
+        return new BufferedOutputStream(Files.newOutputStream(options.output), OUTPUT_BUFFER_SIZE);
+    }
+
+    private static final class Options {
+
+        private final List<String> inputs = new ArrayList<>();
+
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        private Path output;
+
+        private boolean help;
+
+        private static Options parse(String[] args) {
+            var options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                var arg = args[i];
+                switch (arg) {
+                    case "-t", "--threads" -> options.threads = threads(value(args, ++i, arg));
+                    case "-o", "--output" -> options.output = Path.of(value(args, ++i, arg));
+                    case "-h", "--help" -> options.help = true;
+                    default -> {
+                        if (arg.startsWith("-") && !arg.equals(RecordReader.STDIN)) {
+                            throw new IllegalArgumentException("Unknown option: " + arg);
+                        }
+                        options.inputs.add(arg);
+                    }
+                }
+            }
+            if (options.inputs.isEmpty()) {
+                options.inputs.add(RecordReader.STDIN);
+            }
+
+            return options;
+        }
+
+        private static String value(String[] args, int i, String option) {
+            if (i >= args.length) {
+                throw new IllegalArgumentException("Missing value of option " + option);
+            }
+
+            return args[i];
+        }
+
+        private static int threads(String value) {
+            try {
+                var threads = Integer.parseInt(value);
+                if (threads > 0) {
+                    return threads;
+                }
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+
+            throw new IllegalArgumentException("Number of threads must be a positive integer: " + value);
+        }
+    }
+
+    /**
+     * Counts of results and latencies, updated on the thread consuming results.
+     */
+    static final class Summary {
+
+        private final long startNanos = System.nanoTime();
+
+        private final EnumMap<ValidationError, Long> errors = new EnumMap<>(ValidationError.class);
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        private long valid;
+
+        private long elapsedNanos;
+
+        void record(ValidationError error, long latencyNanos) {
+            if (error == null) {
+                valid++;
+            } else {
+                errors.merge(error, 1L, Long::sum);
+            }
+            latencies.record(latencyNanos);
+        }
+
+        void finish() {
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+
+        long count() {
+            return latencies.count();
+        }
+
+        long valid() {
+            return valid;
+        }
+
+        void print(PrintStream out) {
+            var seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+            out.printf(Locale.ROOT, "Verified %d records in %.3f s (%.0f records/s): %d valid, %d invalid%n",
+                    count(), seconds, seconds > 0 ? count() / seconds : 0, valid, count() - valid);
+            out.printf(Locale.ROOT, "Latency p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms, max %.3f ms%n",
+                    millis(latencies.percentile(0.5)), millis(latencies.percentile(0.99)),
+                    millis(latencies.percentile(0.999)), millis(latencies.max()));
+            errors.forEach((error, count) -> out.printf(Locale.ROOT, "  %s: %d%n", error, count));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+}
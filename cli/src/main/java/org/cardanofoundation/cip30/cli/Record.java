@@ -0,0 +1,50 @@
+package org.cardanofoundation.cip30.cli;
+
+import org.cardanofoundation.cip30.DataSignature;
+
+/**
+ * DataSignature read from a line of input, with what is needed to report its result.
+ */
+final class Record {
+
+    private final long line;
+
+    private final String id;
+
+    private final DataSignature dataSignature;
+
+    private long startNanos;
+
+    Record(long line, String id, DataSignature dataSignature) {
+        this.line = line;
+        this.id = id;
+        this.dataSignature = dataSignature;
+    }
+
+    /**
+     * @return number of the line in its input, starting from 1
+     */
+    long line() {
+        return line;
+    }
+
+    /**
+     * @return identifier of a JSON record, null if it has none
+     */
+    String id() {
+        return id;
+    }
+
+    DataSignature dataSignature() {
+        return dataSignature;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    void start(long nanos) {
+        this.startNanos = nanos;
+    }
+
+}
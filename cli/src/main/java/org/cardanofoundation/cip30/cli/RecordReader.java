@@ -0,0 +1,211 @@
+package org.cardanofoundation.cip30.cli;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.cardanofoundation.cip30.DataSignature;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads records from inputs one after another, one record per line, empty lines are skipped:
+ * <ul>
+ *     <li>hex - hex COSE_Sign1 optionally followed by a comma or whitespace and hex COSE_Key</li>
+ *     <li>JSON - object with {@code signature}, optional {@code key} and optional {@code id} string fields,
+ *     as returned by CIP-30 {@code signData}</li>
+ * </ul>
+ * Lines are read lazily, so inputs of any size are verified in constant memory. A line which cannot be parsed
+ * or whose signature or key is not hex is handed to the verifier as a malformed DataSignature and reported
+ * as a format error of its own record.
+ */
+final class RecordReader implements Iterator<Record>, Closeable {
+
+    static final String STDIN = "-";
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Decodes to CBOR undefined, which is not a COSE_Sign1 and thus reported as a format error.
+     */
+    private static final DataSignature MALFORMED = new DataSignature("f7");
+
+    /**
+     * Odd length hex, reported as a format error with the {@code INVALID_HEX} reason.
+     */
+    private static final DataSignature INVALID_HEX = new DataSignature("0");
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final Iterator<String> inputs;
+
+    private final InputStream stdin;
+
+    private BufferedReader reader;
+
+    private boolean isStdin;
+
+    private long line;
+
+    private Record next;
+
+    /**
+     * @param inputs - paths of input files, {@value #STDIN} for the standard input
+     * @param stdin - standard input
+     */
+    RecordReader(List<String> inputs, InputStream stdin) {
+        this.inputs = inputs.iterator();
+        this.stdin = stdin;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null) {
+                if (reader == null) {
+                    if (!inputs.hasNext()) {
+                        return false;
+                    }
+                    var input = inputs.next();
+                    isStdin = STDIN.equals(input);
+                    reader = open(input);
+                    line = 0;
+                }
+                var text = reader.readLine();
+                if (text == null) {
+                    close();
+                    continue;
+                }
+                line++;
+                if (!text.isBlank()) {
+                    next = parse(line, text.strip());
+                }
+            }
+
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Record next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var record = next;
+        next = null;
+
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        var r = reader;
+        reader = null;
+        // the standard input is left open
+        if (r != null && !isStdin) {
+            r.close();
+        }
+    }
+
+    static Record parse(long line, String text) {
+        try {
+            return text.charAt(0) == '{' ? parseJson(line, text) : parseHex(line, text);
+        } catch (IOException | IllegalArgumentException e) {
+            return new Record(line, null, MALFORMED);
+        }
+    }
+
+    private static Record parseHex(long line, String text) {
+        // COSE_Sign1 ends at the first comma or whitespace
+        var end = 0;
+        while (end < text.length() && text.charAt(end) != ',' && !Character.isWhitespace(text.charAt(end))) {
+            end++;
+        }
+
+        return record(line, null, text.substring(0, end), text.substring(end).replace(',', ' ').strip());
+    }
+
+    private static Record record(long line, String id, String signature, String key) {
+        if (signature == null || signature.isEmpty()) {
+            throw new IllegalArgumentException("record has no signature");
+        }
+
+        if (key != null && key.isEmpty()) {
+            key = null;
+        }
+        if (!isHex(signature) || (key != null && !isHex(key))) {
+            return new Record(line, id, INVALID_HEX);
+        }
+
+        return new Record(line, id, new DataSignature(signature, key));
+    }
+
+    private static boolean isHex(String text) {
+        var from = text.startsWith("0x") ? 2 : 0;
+        if ((text.length() - from) % 2 != 0) {
+            return false;
+        }
+        for (int i = from; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static Record parseJson(long line, String text) throws IOException {
+        String signature = null;
+        String key = null;
+        String id = null;
+        try (var parser = JSON.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("record is not an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.getCurrentName();
+                var token = parser.nextToken();
+                switch (field) {
+                    case "signature" -> signature = text(parser, token);
+                    case "key" -> key = text(parser, token);
+                    case "id" -> id = text(parser, token);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        return record(line, id, signature, key);
+    }
+
+    private static String text(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw new IllegalArgumentException("field " + parser.getCurrentName() + " is not a scalar");
+        }
+
+        return parser.getText();
+    }
+
+    private BufferedReader open(String input) throws IOException {
+        var stream = STDIN.equals(input) ? stdin : Files.newInputStream(Path.of(input));
+
+        return new BufferedReader(new InputStreamReader(stream, UTF_8), BUFFER_SIZE);
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.cardanofoundation.cip30.cli;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.cardanofoundation.cip30.AddressFormat;
+import org.cardanofoundation.cip30.Cip30VerificationResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes one JSON object per result and line:
+ * {@code {"line":1,"id":"...","valid":false,"error":"INVALID_SIGNATURE","reason":"INVALID_SIGNATURE","address":"stake1..."}},
+ * {@code id} only for JSON records which have one, {@code error} and {@code reason} only for invalid results and
+ * {@code address} only if the DataSignature has one. The address is Bech32 ({@link AddressFormat#TEXT}).
+ */
+final class ResultWriter implements Closeable {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JsonGenerator generator;
+
+    /**
+     * @param out - output stream, closed with the writer
+     */
+    ResultWriter(OutputStream out) throws IOException {
+        this.generator = JSON.createGenerator(out);
+        generator.setRootValueSeparator(null);
+    }
+
+    void write(Record record, Cip30VerificationResult result) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("line", record.line());
+        if (record.id() != null) {
+            generator.writeStringField("id", record.id());
+        }
+        generator.writeBooleanField("valid", result.isValid());
+        if (!result.isValid()) {
+            generator.writeStringField("error", result.getValidationError().orElseThrow().name());
+            var reason = result.getFailureReason();
+            if (reason.isPresent()) {
+                generator.writeStringField("reason", reason.get().name());
+            }
+        }
+        var address = result.getAddress(AddressFormat.TEXT);
+        if (address.isPresent()) {
+            generator.writeStringField("address", address.get());
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+
+}
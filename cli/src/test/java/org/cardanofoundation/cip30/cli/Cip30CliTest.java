@@ -0,0 +1,97 @@
+package org.cardanofoundation.cip30.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Cip30CliTest {
+
+    private static final String SIG = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e";
+
+    private static final String KEY = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+
+    private static final String ADDRESS = "stake1uxur40ehpg2gwr7l6mxtxhut8e32drjxtmg7p9k95m6mn4s0tdy6k";
+
+    @Test
+    void hexAndJsonRecordsAreVerifiedInOrder(@TempDir Path dir) throws Exception {
+        var tampered = SIG.substring(0, SIG.length() - 1) + "f";
+        var input = dir.resolve("signatures.txt");
+        Files.write(input, List.of(
+                SIG + "," + KEY,
+                "",
+                "{\"id\":\"login-2\",\"signature\":\"" + tampered + "\",\"key\":\"" + KEY + "\",\"extra\":{\"a\":[1]}}",
+                "{\"signature\":",
+                SIG + " " + KEY));
+        var output = dir.resolve("results.jsonl");
+        var stderr = new ByteArrayOutputStream();
+
+        var status = Cip30Cli.run(new String[]{"-t", "2", "-o", output.toString(), input.toString()},
+                new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream(), new PrintStream(stderr, true, UTF_8));
+
+        assertEquals(Cip30Cli.OK, status);
+        assertEquals(List.of(
+                "{\"line\":1,\"valid\":true,\"address\":\"" + ADDRESS + "\"}",
+                "{\"line\":3,\"id\":\"login-2\",\"valid\":false,\"error\":\"INVALID_SIGNATURE\",\"reason\":\"INVALID_SIGNATURE\",\"address\":\"" + ADDRESS + "\"}",
+                "{\"line\":4,\"valid\":false,\"error\":\"CIP8_FORMAT_ERROR\",\"reason\":\"INVALID_COSE_SIGN1\"}",
+                "{\"line\":5,\"valid\":true,\"address\":\"" + ADDRESS + "\"}"
+        ), Files.readAllLines(output));
+        var summary = stderr.toString(UTF_8);
+        assertTrue(summary.startsWith("Verified 4 records"), summary);
+        assertTrue(summary.contains("2 valid, 2 invalid"), summary);
+    }
+
+    @Test
+    void corruptHexIsReportedForItsOwnRecord() {
+        var input = String.join("\n",
+                SIG + "," + KEY,
+                "zz" + SIG,
+                "{\"id\":\"login-3\",\"signature\":\"" + SIG + "\",\"key\":\"" + KEY.substring(1) + "\"}",
+                SIG + " " + KEY);
+        var stdout = new ByteArrayOutputStream();
+
+        var status = Cip30Cli.run(new String[]{"-t", "2"}, new ByteArrayInputStream(input.getBytes(UTF_8)), stdout,
+                new PrintStream(new ByteArrayOutputStream(), true, UTF_8));
+
+        assertEquals(Cip30Cli.OK, status);
+        assertEquals(String.join("\n",
+                "{\"line\":1,\"valid\":true,\"address\":\"" + ADDRESS + "\"}",
+                "{\"line\":2,\"valid\":false,\"error\":\"CIP8_FORMAT_ERROR\",\"reason\":\"INVALID_HEX\"}",
+                "{\"line\":3,\"id\":\"login-3\",\"valid\":false,\"error\":\"CIP8_FORMAT_ERROR\",\"reason\":\"INVALID_HEX\"}",
+                "{\"line\":4,\"valid\":true,\"address\":\"" + ADDRESS + "\"}",
+                ""), stdout.toString(UTF_8));
+    }
+
+    @Test
+    void standardInputIsReadWithoutFiles() {
+        var stdout = new ByteArrayOutputStream();
+
+        var status = Cip30Cli.run(new String[0], new ByteArrayInputStream((SIG + "\n").getBytes(UTF_8)), stdout,
+                new PrintStream(new ByteArrayOutputStream(), true, UTF_8));
+
+        assertEquals(Cip30Cli.OK, status);
+        // the public key is taken from the address, which is not a 32 bytes long key
+        assertEquals("{\"line\":1,\"valid\":false,\"error\":\"INVALID_PUBLIC_KEY_LENGTH\",\"reason\":\"INVALID_PUBLIC_KEY_LENGTH\",\"address\":\"" + ADDRESS + "\"}\n",
+                stdout.toString(UTF_8));
+    }
+
+    @Test
+    void invalidOptionsAreReported() {
+        var stderr = new ByteArrayOutputStream();
+
+        var status = Cip30Cli.run(new String[]{"--threads", "0"}, new ByteArrayInputStream(new byte[0]),
+                new ByteArrayOutputStream(), new PrintStream(stderr, true, UTF_8));
+
+        assertEquals(Cip30Cli.USAGE, status);
+        assertTrue(stderr.toString(UTF_8).startsWith("Number of threads must be a positive integer: 0"));
+    }
+
+}
@@ -0,0 +1,192 @@
+package org.cardanofoundation.cip30.server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.cardanofoundation.cip30.AddressFormat;
+import org.cardanofoundation.cip30.Cip30VerificationResult;
+import org.cardanofoundation.cip30.DataSignature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads verification requests and writes results.
+ * <p>
+ * A request is a JSON object with {@code signature} (hex COSE_Sign1), optional {@code key} (hex COSE_Key) and
+ * optional {@code id} fields, a request whose signature or key is not hex is malformed, as returned by CIP-30 {@code signData} plus an identifier, a batch is an array of them.
+ * A result is {@code {"id":"...","valid":false,"error":"INVALID_SIGNATURE","reason":"INVALID_SIGNATURE","address":"stake1..."}},
+ * {@code id} only if the request has one, {@code error} and {@code reason} only for invalid results and
+ * {@code address} (Bech32) only if the DataSignature has one.
+ */
+final class JsonCodec {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private JsonCodec() {
+    }
+
+    static final class Request {
+
+        private final String id;
+
+        private final DataSignature dataSignature;
+
+        private Request(String id, DataSignature dataSignature) {
+            this.id = id;
+            this.dataSignature = dataSignature;
+        }
+
+        String id() {
+            return id;
+        }
+
+        DataSignature dataSignature() {
+            return dataSignature;
+        }
+
+    }
+
+    /**
+     * @throws IllegalArgumentException if the body is not a request
+     */
+    static Request readRequest(byte[] body) throws IOException {
+        try (var parser = JSON.createParser(body)) {
+            var request = readRequest(parser, parser.nextToken());
+            requireEnd(parser);
+
+            return request;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the body is not an array of requests
+     */
+    static List<Request> readBatch(byte[] body) throws IOException {
+        try (var parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Batch must be an array of requests");
+            }
+            var requests = new ArrayList<Request>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                requests.add(readRequest(parser, token));
+            }
+            requireEnd(parser);
+
+            return requests;
+        }
+    }
+
+    static void writeResult(OutputStream out, Request request, Cip30VerificationResult result) throws IOException {
+        try (var generator = JSON.createGenerator(out)) {
+            writeResult(generator, request, result);
+        }
+    }
+
+    static void writeResults(OutputStream out, List<Request> requests, List<Cip30VerificationResult> results) throws IOException {
+        try (var generator = JSON.createGenerator(out)) {
+            generator.writeStartArray();
+            for (int i = 0; i < requests.size(); i++) {
+                writeResult(generator, requests.get(i), results.get(i));
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    static void writeError(OutputStream out, String message) throws IOException {
+        try (var generator = JSON.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("error", message);
+            generator.writeEndObject();
+        }
+    }
+
+    static JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return JSON.createGenerator(out);
+    }
+
+    private static Request readRequest(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Request must be an object");
+        }
+        String signature = null;
+        String key = null;
+        String id = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.getCurrentName();
+            var value = parser.nextToken();
+            switch (field) {
+                case "signature" -> signature = text(parser, value);
+                case "key" -> key = text(parser, value);
+                case "id" -> id = text(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+        if (signature == null || signature.isEmpty()) {
+            throw new IllegalArgumentException("Request must have a signature");
+        }
+        requireHex("signature", signature);
+        if (key != null && key.isEmpty()) {
+            key = null;
+        }
+        if (key != null) {
+            requireHex("key", key);
+        }
+
+        return new Request(id, new DataSignature(signature, key));
+    }
+
+    private static void requireHex(String field, String text) {
+        var from = text.startsWith("0x") ? 2 : 0;
+        var isHex = (text.length() - from) % 2 == 0;
+        for (int i = from; isHex && i < text.length(); i++) {
+            var c = text.charAt(i);
+            isHex = (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+        }
+        if (!isHex) {
+            throw new IllegalArgumentException("Field " + field + " must be hex");
+        }
+    }
+
+    private static String text(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw new IllegalArgumentException("Field " + parser.getCurrentName() + " must be a string");
+        }
+
+        return parser.getText();
+    }
+
+    private static void requireEnd(JsonParser parser) throws IOException {
+        if (parser.nextToken() != null) {
+            throw new IllegalArgumentException("Unexpected content after the request");
+        }
+    }
+
+    private static void writeResult(JsonGenerator generator, Request request, Cip30VerificationResult result) throws IOException {
+        generator.writeStartObject();
+        if (request.id() != null) {
+            generator.writeStringField("id", request.id());
+        }
+        generator.writeBooleanField("valid", result.isValid());
+        if (!result.isValid()) {
+            generator.writeStringField("error", result.getValidationError().orElseThrow().name());
+            var reason = result.getFailureReason();
+            if (reason.isPresent()) {
+                generator.writeStringField("reason", reason.get().name());
+            }
+        }
+        var address = result.getAddress(AddressFormat.TEXT);
+        if (address.isPresent()) {
+            generator.writeStringField("address", address.get());
+        }
+        generator.writeEndObject();
+    }
+
+}
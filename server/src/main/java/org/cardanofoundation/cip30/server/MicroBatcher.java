@@ -0,0 +1,228 @@
+package org.cardanofoundation.cip30.server;
+
+import org.cardanofoundation.cip30.CIP30BatchVerifier;
+import org.cardanofoundation.cip30.CIP30Verifier;
+import org.cardanofoundation.cip30.Cip30VerificationEngine;
+import org.cardanofoundation.cip30.Cip30VerificationResult;
+import org.cardanofoundation.cip30.DataSignature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Groups DataSignatures submitted concurrently, e.g. by different HTTP requests, into micro-batches verified
+ * together by {@link CIP30BatchVerifier}, which checks their ED 25519 signatures at once.
+ * <p>
+ * A batch is dispatched when it is full or when {@code maxBatchDelay} has passed since its first DataSignature,
+ * and only when a worker thread is free. While all workers are busy DataSignatures wait in a bounded queue, so
+ * batches grow with load and no more than {@code maxQueued} DataSignatures are held, further ones are rejected.
+ * If verifying a batch fails, its DataSignatures are verified one by one, so only the offending one fails.
+ * <p>
+ * Instances are thread-safe.
+ */
+final class MicroBatcher implements AutoCloseable {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BlockingQueue<Item> queue;
+
+    private final int maxBatchSize;
+
+    private final long maxBatchDelayNanos;
+
+    private final Cip30VerificationEngine engine;
+
+    private final ExecutorService workers;
+
+    private final Semaphore freeWorkers;
+
+    private final Thread dispatcher;
+
+    private final LongAdder batches = new LongAdder();
+
+    private final LongAdder verified = new LongAdder();
+
+    private volatile boolean closed;
+
+    /**
+     * @param workerThreads - number of threads verifying batches
+     * @param maxBatchSize - maximum number of DataSignatures in a batch
+     * @param maxBatchDelayNanos - maximum time a batch waits for more DataSignatures once it has one
+     * @param maxQueued - maximum number of DataSignatures waiting for a batch
+     * @param engine - engine verifying DataSignatures
+     */
+    MicroBatcher(int workerThreads, int maxBatchSize, long maxBatchDelayNanos, int maxQueued, Cip30VerificationEngine engine) {
+        this.queue = new ArrayBlockingQueue<>(maxQueued);
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelayNanos = maxBatchDelayNanos;
+        this.engine = engine;
+        this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> daemon(runnable, "cip30-verifier"));
+        this.freeWorkers = new Semaphore(workerThreads);
+        this.dispatcher = daemon(this::dispatch, "cip30-batcher");
+        dispatcher.start();
+    }
+
+    /**
+     * Submits a DataSignature for verification in the next batch.
+     *
+     * @param dataSignature - DataSignature to verify
+     * @return future of the result, failed with {@link RejectedExecutionException} if the queue is full or closed
+     */
+    CompletableFuture<Cip30VerificationResult> submit(DataSignature dataSignature) {
+        var item = new Item(dataSignature);
+        if (closed || !queue.offer(item)) {
+            item.future.completeExceptionally(new RejectedExecutionException("Too many DataSignatures waiting for verification"));
+        }
+
+        return item.future;
+    }
+
+    /**
+     * @return number of verified batches
+     */
+    long batchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * @return number of verified DataSignatures
+     */
+    long verifiedCount() {
+        return verified.sum();
+    }
+
+    /**
+     * @return number of DataSignatures waiting for a batch
+     */
+    int queuedCount() {
+        return queue.size();
+    }
+
+    private void dispatch() {
+        try {
+            while (!closed) {
+                freeWorkers.acquire();
+                var first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    freeWorkers.release();
+                    continue;
+                }
+                var batch = collect(first);
+                try {
+                    workers.execute(() -> {
+                        try {
+                            verify(batch);
+                        } finally {
+                            freeWorkers.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    batch.forEach(item -> item.future.completeExceptionally(e));
+                }
+            }
+        } catch (InterruptedException e) {
+            // closed
+        }
+    }
+
+    private List<Item> collect(Item first) throws InterruptedException {
+        var batch = new ArrayList<Item>(maxBatchSize);
+        batch.add(first);
+        var deadline = System.nanoTime() + maxBatchDelayNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            var remaining = deadline - System.nanoTime();
+            if (batch.size() == maxBatchSize || remaining <= 0) {
+                break;
+            }
+            var item = queue.poll(remaining, NANOSECONDS);
+            if (item == null) {
+                break;
+            }
+            batch.add(item);
+        }
+
+        return batch;
+    }
+
+    private void verify(List<Item> batch) {
+        var dataSignatures = new ArrayList<DataSignature>(batch.size());
+        batch.forEach(item -> dataSignatures.add(item.dataSignature));
+        try {
+            var results = new CIP30BatchVerifier(dataSignatures, batch.size(), engine).verify();
+            // counted before completing, callers observe counts including their batch
+            batches.increment();
+            verified.add(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            // one DataSignature must not fail the others submitted with it
+            batches.increment();
+            batch.forEach(this::verify);
+        }
+    }
+
+    private void verify(Item item) {
+        try {
+            var result = CIP30Verifier.Builder.newBuilder()
+                    .dataSignature(item.dataSignature)
+                    .engine(engine)
+                    .build()
+                    .verify();
+            verified.increment();
+            item.future.complete(result);
+        } catch (RuntimeException e) {
+            item.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Stops dispatching, DataSignatures still waiting are rejected.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.shutdown();
+        Item item;
+        while ((item = queue.poll()) != null) {
+            item.future.completeExceptionally(new RejectedExecutionException("Verification service stopped"));
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class Item {
+
+        private final DataSignature dataSignature;
+
+        private final CompletableFuture<Cip30VerificationResult> future = new CompletableFuture<>();
+
+        private Item(DataSignature dataSignature) {
+            this.dataSignature = dataSignature;
+        }
+
+    }
+
+}
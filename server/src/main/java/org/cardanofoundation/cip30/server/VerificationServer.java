@@ -0,0 +1,396 @@
+package org.cardanofoundation.cip30.server;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.cardanofoundation.cip30.Cip30VerificationEngine;
+import org.cardanofoundation.cip30.Cip30VerificationResult;
+import org.cardanofoundation.cip30.tools.LatencyHistogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.net.HttpURLConnection.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Local HTTP service verifying CIP-30 DataSignatures, for clients which cannot use the library directly.
+ * <p>
+ * Endpoints, see {@link JsonCodec} for the format of requests and results:
+ * <ul>
+ *     <li>{@code POST /verify} - verifies a single request, responds with its result</li>
+ *     <li>{@code POST /verify/batch} - verifies an array of requests, responds with an array of results in the same order</li>
+ *     <li>{@code GET /metrics} - latency percentiles per endpoint, batching and rejection counts</li>
+ *     <li>{@code GET /health} - responds with {@code {"status":"UP"}}</li>
+ * </ul>
+ * DataSignatures of concurrent requests are verified together in micro-batches (see {@link MicroBatcher}).
+ * A request is answered with 400 if it is malformed, 413 if it is too large and 503 if too many DataSignatures
+ * are waiting for verification. The service is built on the JDK {@link HttpServer} and needs nothing else;
+ * it listens on the loopback interface unless configured otherwise.
+ */
+public final class VerificationServer implements AutoCloseable {
+
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
+    private static final long STOP_DELAY_SECONDS = 1;
+
+    private final InetSocketAddress address;
+
+    private final int handlerThreads;
+
+    private final int maxRequestSize;
+
+    private final MicroBatcher batcher;
+
+    private final LatencyHistogram verifyLatency = new LatencyHistogram();
+
+    private final LatencyHistogram batchLatency = new LatencyHistogram();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private HttpServer server;
+
+    private ExecutorService handlers;
+
+    private VerificationServer(Builder builder) {
+        this.address = new InetSocketAddress(builder.host, builder.port);
+        this.handlerThreads = builder.handlerThreads;
+        this.maxRequestSize = builder.maxRequestSize;
+        this.batcher = new MicroBatcher(builder.workerThreads, builder.maxBatchSize, builder.maxBatchDelay.toNanos(),
+                builder.maxQueued, builder.engine);
+    }
+
+    public static class Builder {
+
+        private String host = "127.0.0.1";
+
+        private int port = 8080;
+
+        private int workerThreads = Runtime.getRuntime().availableProcessors();
+
+        private int handlerThreads = 4 * Runtime.getRuntime().availableProcessors();
+
+        private int maxBatchSize = 64;
+
+        private Duration maxBatchDelay = Duration.ofMillis(1);
+
+        private int maxQueued = 64 * 1024;
+
+        private int maxRequestSize = 4 * 1024 * 1024;
+
+        private Cip30VerificationEngine engine = Cip30VerificationEngine.defaultEngine();
+
+        /**
+         * Creates an object {@code Builder} in charge of building the class {@code VerificationServer}.
+         */
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * @param host - host name or address to listen on, by default the loopback address 127.0.0.1
+         */
+        public Builder host(String host) {
+            Objects.requireNonNull(host, "host is required");
+            this.host = host;
+            return Builder.this;
+        }
+
+        /**
+         * @param port - port to listen on, 0 for any free port, by default 8080
+         */
+        public Builder port(int port) {
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("port must be between 0 and 65535");
+            }
+            this.port = port;
+            return Builder.this;
+        }
+
+        /**
+         * @param workerThreads - number of threads verifying batches, by default the number of available processors
+         */
+        public Builder workerThreads(int workerThreads) {
+            this.workerThreads = requirePositive(workerThreads, "workerThreads");
+            return Builder.this;
+        }
+
+        /**
+         * @param handlerThreads - number of threads handling HTTP requests, they wait for verification,
+         *                       by default four times the number of available processors
+         */
+        public Builder handlerThreads(int handlerThreads) {
+            this.handlerThreads = requirePositive(handlerThreads, "handlerThreads");
+            return Builder.this;
+        }
+
+        /**
+         * @param maxBatchSize - maximum number of DataSignatures verified together, by default 64
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = requirePositive(maxBatchSize, "maxBatchSize");
+            return Builder.this;
+        }
+
+        /**
+         * @param maxBatchDelay - maximum time a batch waits for more DataSignatures once it has one, by default 1 ms
+         */
+        public Builder maxBatchDelay(Duration maxBatchDelay) {
+            Objects.requireNonNull(maxBatchDelay, "maxBatchDelay is required");
+            if (maxBatchDelay.isNegative()) {
+                throw new IllegalArgumentException("maxBatchDelay cannot be negative");
+            }
+            this.maxBatchDelay = maxBatchDelay;
+            return Builder.this;
+        }
+
+        /**
+         * @param maxQueued - maximum number of DataSignatures waiting for verification, further requests
+         *                  are rejected with 503, by default 65536
+         */
+        public Builder maxQueued(int maxQueued) {
+            this.maxQueued = requirePositive(maxQueued, "maxQueued");
+            return Builder.this;
+        }
+
+        /**
+         * @param maxRequestSize - maximum size of a request body in bytes, by default 4 MiB
+         */
+        public Builder maxRequestSize(int maxRequestSize) {
+            this.maxRequestSize = requirePositive(maxRequestSize, "maxRequestSize");
+            return Builder.this;
+        }
+
+        /**
+         * @param engine - engine verifying DataSignatures, by default {@link Cip30VerificationEngine#defaultEngine()}
+         */
+        public Builder engine(Cip30VerificationEngine engine) {
+            Objects.requireNonNull(engine, "engine is required");
+            this.engine = engine;
+            return Builder.this;
+        }
+
+        /**
+         * Creates an instance of the class {@code VerificationServer} using the information stored,
+         * it listens once started.
+         */
+        public VerificationServer build() {
+            return new VerificationServer(this);
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+
+            return value;
+        }
+    }
+
+    /**
+     * Starts listening.
+     *
+     * @return this server
+     * @throws IOException if the address cannot be bound
+     * @throws IllegalStateException if the server has been started already
+     */
+    public synchronized VerificationServer start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("server has been started already");
+        }
+        handlers = Executors.newFixedThreadPool(handlerThreads, runnable -> {
+            var thread = new Thread(runnable, "cip30-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(address, 0);
+        server.setExecutor(handlers);
+        server.createContext("/verify", exchange -> handle(exchange, "POST", this::verify));
+        server.createContext("/verify/batch", exchange -> handle(exchange, "POST", this::verifyBatch));
+        server.createContext("/metrics", exchange -> handle(exchange, "GET", this::metrics));
+        server.createContext("/health", exchange -> handle(exchange, "GET", (request, out) -> {
+            out.write("{\"status\":\"UP\"}".getBytes(UTF_8));
+            return HTTP_OK;
+        }));
+        server.start();
+
+        return this;
+    }
+
+    /**
+     * @return address the server listens on, with the actual port once started
+     */
+    public synchronized InetSocketAddress getAddress() {
+        return server != null ? server.getAddress() : address;
+    }
+
+    /**
+     * Stops listening, waiting shortly for requests being handled, and rejects DataSignatures still waiting.
+     */
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop((int) STOP_DELAY_SECONDS);
+            handlers.shutdown();
+        }
+        batcher.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        var builder = Builder.newBuilder();
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value of option " + args[i]);
+                }
+                var value = args[i + 1];
+                switch (args[i]) {
+                    case "--host" -> builder.host(value);
+                    case "--port" -> builder.port(Integer.parseInt(value));
+                    case "--workers" -> builder.workerThreads(Integer.parseInt(value));
+                    case "--handlers" -> builder.handlerThreads(Integer.parseInt(value));
+                    case "--max-batch-size" -> builder.maxBatchSize(Integer.parseInt(value));
+                    case "--max-batch-delay-micros" -> builder.maxBatchDelay(Duration.ofNanos(1000 * Long.parseLong(value)));
+                    case "--max-queued" -> builder.maxQueued(Integer.parseInt(value));
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java -jar cip30-server.jar [--host <host>] [--port <port>] [--workers <n>] [--handlers <n>]"
+                    + " [--max-batch-size <n>] [--max-batch-delay-micros <n>] [--max-queued <n>]");
+            System.exit(2);
+        }
+
+        var server = builder.build().start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.err.println("Verifying CIP-30 DataSignatures on http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort());
+    }
+
+    private int verify(byte[] body, OutputStream out) throws IOException {
+        var start = System.nanoTime();
+        var request = JsonCodec.readRequest(body);
+        var result = batcher.submit(request.dataSignature()).join();
+        JsonCodec.writeResult(out, request, result);
+        verifyLatency.record(System.nanoTime() - start);
+
+        return HTTP_OK;
+    }
+
+    private int verifyBatch(byte[] body, OutputStream out) throws IOException {
+        var start = System.nanoTime();
+        var requests = JsonCodec.readBatch(body);
+        var futures = new ArrayList<CompletableFuture<Cip30VerificationResult>>(requests.size());
+        requests.forEach(request -> futures.add(batcher.submit(request.dataSignature())));
+        var results = new ArrayList<Cip30VerificationResult>(futures.size());
+        futures.forEach(future -> results.add(future.join()));
+        JsonCodec.writeResults(out, requests, results);
+        batchLatency.record(System.nanoTime() - start);
+
+        return HTTP_OK;
+    }
+
+    private int metrics(byte[] body, OutputStream out) throws IOException {
+        try (var generator = JsonCodec.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("latency");
+            writeLatency(generator, "verify", verifyLatency);
+            writeLatency(generator, "batch", batchLatency);
+            generator.writeEndObject();
+            var batches = batcher.batchCount();
+            var verified = batcher.verifiedCount();
+            generator.writeNumberField("batches", batches);
+            generator.writeNumberField("verified", verified);
+            generator.writeNumberField("meanBatchSize", batches > 0 ? verified / (double) batches : 0);
+            generator.writeNumberField("queued", batcher.queuedCount());
+            generator.writeNumberField("rejected", rejected.sum());
+            generator.writeEndObject();
+        }
+
+        return HTTP_OK;
+    }
+
+    private static void writeLatency(JsonGenerator generator, String endpoint, LatencyHistogram histogram) throws IOException {
+        generator.writeObjectFieldStart(endpoint);
+        generator.writeNumberField("count", histogram.count());
+        generator.writeNumberField("p50Ms", millis(histogram.percentile(0.5)));
+        generator.writeNumberField("p90Ms", millis(histogram.percentile(0.9)));
+        generator.writeNumberField("p99Ms", millis(histogram.percentile(0.99)));
+        generator.writeNumberField("p999Ms", millis(histogram.percentile(0.999)));
+        generator.writeNumberField("maxMs", millis(histogram.max()));
+        generator.writeEndObject();
+    }
+
+    private void handle(HttpExchange exchange, String method, Handler handler) throws IOException {
+        try (exchange) {
+            var out = new ByteArrayOutputStream();
+            int status;
+            if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+                status = HTTP_NOT_FOUND;
+                JsonCodec.writeError(out, "Not found");
+            } else if (!method.equals(exchange.getRequestMethod())) {
+                status = HTTP_BAD_METHOD;
+                exchange.getResponseHeaders().set("Allow", method);
+                JsonCodec.writeError(out, "Method not allowed");
+            } else {
+                status = handle(exchange, handler, out);
+            }
+            exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+            exchange.sendResponseHeaders(status, out.size());
+            out.writeTo(exchange.getResponseBody());
+        }
+    }
+
+    private int handle(HttpExchange exchange, Handler handler, ByteArrayOutputStream out) throws IOException {
+        var body = exchange.getRequestBody().readNBytes(maxRequestSize + 1);
+        if (body.length > maxRequestSize) {
+            JsonCodec.writeError(out, "Request larger than " + maxRequestSize + " bytes");
+            return HTTP_ENTITY_TOO_LARGE;
+        }
+        try {
+            return handler.handle(body, out);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            out.reset();
+            var message = e instanceof JsonProcessingException ? ((JsonProcessingException) e).getOriginalMessage() : e.getMessage();
+            JsonCodec.writeError(out, "Malformed request: " + message);
+            return HTTP_BAD_REQUEST;
+        } catch (CompletionException e) {
+            out.reset();
+            if (e.getCause() instanceof RejectedExecutionException) {
+                rejected.increment();
+                JsonCodec.writeError(out, e.getCause().getMessage());
+                return HTTP_UNAVAILABLE;
+            }
+            JsonCodec.writeError(out, "Verification failed");
+            return HTTP_INTERNAL_ERROR;
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        /**
+         * @return HTTP status
+         */
+        int handle(byte[] body, OutputStream out) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,127 @@
+package org.cardanofoundation.cip30.server;
+
+import org.cardanofoundation.cip30.Cip30VerificationEngine;
+import org.cardanofoundation.cip30.DataSignature;
+import org.cardanofoundation.cip30.ValidationError;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerificationServerTest {
+
+    private static final String SIG = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e";
+
+    private static final String KEY = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+
+    private static final String ADDRESS = "stake1uxur40ehpg2gwr7l6mxtxhut8e32drjxtmg7p9k95m6mn4s0tdy6k";
+
+    private static final String TAMPERED = SIG.substring(0, SIG.length() - 1) + "f";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private VerificationServer server;
+
+    @BeforeEach
+    void start() throws Exception {
+        server = VerificationServer.Builder.newBuilder()
+                .port(0)
+                .maxRequestSize(16 * 1024)
+                .build()
+                .start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.close();
+    }
+
+    @Test
+    void singleAndBatchedRequestsAreVerified() throws Exception {
+        var single = post("/verify", "{\"signature\":\"" + SIG + "\",\"key\":\"" + KEY + "\"}");
+        assertEquals(200, single.statusCode());
+        assertEquals("{\"valid\":true,\"address\":\"" + ADDRESS + "\"}", single.body());
+
+        var batch = post("/verify/batch", "[{\"id\":\"a\",\"signature\":\"" + TAMPERED + "\",\"key\":\"" + KEY + "\"},"
+                + "{\"id\":\"b\",\"signature\":\"" + SIG + "\",\"key\":\"" + KEY + "\"}]");
+        assertEquals(200, batch.statusCode());
+        assertEquals("[{\"id\":\"a\",\"valid\":false,\"error\":\"INVALID_SIGNATURE\",\"reason\":\"INVALID_SIGNATURE\",\"address\":\"" + ADDRESS + "\"},"
+                + "{\"id\":\"b\",\"valid\":true,\"address\":\"" + ADDRESS + "\"}]", batch.body());
+
+        var metrics = client.send(request("/metrics").GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, metrics.statusCode());
+        assertTrue(metrics.body().contains("\"verify\":{\"count\":1,"), metrics.body());
+        assertTrue(metrics.body().contains("\"batch\":{\"count\":1,"), metrics.body());
+        assertTrue(metrics.body().contains("\"verified\":3"), metrics.body());
+    }
+
+    @Test
+    void invalidRequestsAreRejected() throws Exception {
+        assertEquals(400, post("/verify", "{\"key\":\"" + KEY + "\"}").statusCode());
+        assertEquals(400, post("/verify/batch", "{\"signature\":").statusCode());
+        assertEquals(413, post("/verify", "{\"signature\":\"" + "00".repeat(16 * 1024) + "\"}").statusCode());
+        assertEquals(404, post("/verify/other", "{}").statusCode());
+        assertEquals(405, client.send(request("/verify").GET().build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test
+    void badRequestDoesNotFailGoodOneSubmittedAlongside() throws Exception {
+        var bad = client.sendAsync(request("/verify").POST(HttpRequest.BodyPublishers.ofString("{\"signature\":\"zz" + SIG + "\"}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        var good = client.sendAsync(request("/verify").POST(HttpRequest.BodyPublishers.ofString("{\"signature\":\"" + SIG + "\",\"key\":\"" + KEY + "\"}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(400, bad.get(10, TimeUnit.SECONDS).statusCode());
+        assertEquals("{\"error\":\"Malformed request: Field signature must be hex\"}", bad.get().body());
+        assertEquals(200, good.get(10, TimeUnit.SECONDS).statusCode());
+        assertEquals("{\"valid\":true,\"address\":\"" + ADDRESS + "\"}", good.get().body());
+        assertEquals(400, post("/verify/batch", "[{\"signature\":\"" + SIG + "\",\"key\":\"" + KEY.substring(1) + "\"}]").statusCode());
+
+        try (var batcher = new MicroBatcher(1, 64, TimeUnit.MILLISECONDS.toNanos(200), 64, Cip30VerificationEngine.defaultEngine())) {
+            var malformed = batcher.submit(new DataSignature("zz", KEY));
+            var valid = batcher.submit(new DataSignature(SIG, KEY));
+
+            assertEquals(ValidationError.CIP8_FORMAT_ERROR, malformed.get(10, TimeUnit.SECONDS).getValidationError().orElseThrow());
+            assertTrue(valid.get(10, TimeUnit.SECONDS).isValid());
+        }
+    }
+
+    @Test
+    void concurrentSignaturesAreVerifiedInMicroBatches() throws Exception {
+        try (var batcher = new MicroBatcher(1, 64, TimeUnit.MILLISECONDS.toNanos(200), 64, Cip30VerificationEngine.defaultEngine())) {
+            var futures = new ArrayList<CompletableFuture<?>>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(batcher.submit(new DataSignature(i % 2 == 0 ? SIG : TAMPERED, KEY)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            assertEquals(1, batcher.batchCount());
+            assertEquals(8, batcher.verifiedCount());
+        }
+
+        var closed = new MicroBatcher(1, 64, 0, 64, Cip30VerificationEngine.defaultEngine());
+        closed.close();
+        assertTrue(closed.submit(new DataSignature(SIG, KEY)).isCompletedExceptionally());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(request(path).POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        var address = server.getAddress();
+        return HttpRequest.newBuilder(URI.create("http://" + address.getHostString() + ":" + address.getPort() + path))
+                .timeout(Duration.ofSeconds(10));
+    }
+
+}
@@ -0,0 +1,43 @@
+package org.cardanofoundation.cip30;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * {@link ByteSource} backed by an array held in memory.
+ */
+final class ArrayByteSource implements ByteSource {
+
+    private final byte[] bytes;
+
+    ArrayByteSource(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    @Override
+    public long size() {
+        return bytes.length;
+    }
+
+    @Override
+    public InputStream openStream() {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public byte[] read() {
+        return bytes.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayByteSource{" +
+                "size=" + bytes.length +
+                '}';
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Readable sequence of bytes of a known size which is not necessarily held in memory, e.g. a large signed message.
+ * <p>
+ * Bytes can be read any number of times, each {@link #openStream()} starts from the beginning.
+ */
+@ParametersAreNonnullByDefault
+public interface ByteSource {
+
+    /**
+     * @return number of bytes
+     */
+    long size();
+
+    /**
+     * Opens a new stream of the bytes, the caller is responsible for closing it.
+     *
+     * @return stream of all the bytes
+     * @throws IOException if bytes cannot be read
+     */
+    InputStream openStream() throws IOException;
+
+    /**
+     * Reads all the bytes into memory.
+     *
+     * @return new array holding all the bytes
+     * @throws IOException if bytes cannot be read
+     * @throws IllegalStateException if bytes do not fit into an array
+     */
+    default byte[] read() throws IOException {
+        var size = size();
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many bytes to read into an array: " + size);
+        }
+        try (var stream = openStream()) {
+            return stream.readNBytes((int) size);
+        }
+    }
+
+    /**
+     * Creates a {@code ByteSource} backed by an array, the array is not copied.
+     *
+     * @param bytes - bytes of the source
+     * @return byte source
+     */
+    static ByteSource wrap(byte[] bytes) {
+        Objects.requireNonNull(bytes, "bytes are required");
+
+        return new ArrayByteSource(bytes);
+    }
+
+}
@@ -0,0 +1,412 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code CIP30AsyncVerifier} class verifies CIP-30 DataSignatures asynchronously, either one by one returning
+ * a {@link CompletableFuture} or as a {@link Flow.Publisher} of results of a publisher of DataSignatures.
+ * <p>
+ * Verification is CPU bound, it runs on the given {@link Executor} (by default {@link ForkJoinPool#commonPool()}),
+ * never on the calling thread, and no more than {@code maxConcurrency} verifications run at the same time,
+ * further ones are queued without blocking the caller. Callers running on virtual threads or event loops thus
+ * neither pin nor flood their carrier threads, they wait for the futures or signals instead.
+ * <p>
+ * Instances are thread-safe, a single instance can be shared by the whole application.
+ */
+@ParametersAreNonnullByDefault
+public final class CIP30AsyncVerifier {
+
+    private final Executor executor;
+
+    private final int maxConcurrency;
+
+    private final Cip30VerificationEngine engine;
+
+    private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * Work-in-progress counter of {@link #drain()}, only one thread starts tasks at a time.
+     */
+    private final AtomicInteger draining = new AtomicInteger();
+
+    private CIP30AsyncVerifier(Builder builder) {
+        this.executor = builder.executor;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.engine = builder.engine;
+    }
+
+    public static class Builder {
+
+        private Executor executor = ForkJoinPool.commonPool();
+
+        private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+
+        private Cip30VerificationEngine engine = Cip30VerificationEngine.defaultEngine();
+
+        /**
+         * Creates an object {@code Builder} in charge of building the class {@code CIP30AsyncVerifier}.
+         */
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * @param executor - executor running verifications, by default {@link ForkJoinPool#commonPool()}
+         */
+        public Builder executor(Executor executor) {
+            Objects.requireNonNull(executor, "executor is required");
+            this.executor = executor;
+            return Builder.this;
+        }
+
+        /**
+         * @param maxConcurrency - maximum number of verifications running on the executor at the same time,
+         *                       by default the number of available processors
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("maxConcurrency must be positive");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return Builder.this;
+        }
+
+        /**
+         * @param engine - engine used by all verifiers, by default {@link Cip30VerificationEngine#defaultEngine()}
+         */
+        public Builder engine(Cip30VerificationEngine engine) {
+            Objects.requireNonNull(engine, "engine is required");
+            this.engine = engine;
+            return Builder.this;
+        }
+
+        /**
+         * Creates an instance of the class {@code CIP30AsyncVerifier} using the information stored.
+         */
+        public CIP30AsyncVerifier build() {
+            return new CIP30AsyncVerifier(this);
+        }
+    }
+
+    /**
+     * Parses and verifies a DataSignature asynchronously.
+     *
+     * @param dataSignature - DataSignature (COSE_Sign1 and optional COSE_Key) to verify
+     * @return future completed with the {@code Cip30VerificationResult} on a thread of the executor
+     */
+    public CompletableFuture<Cip30VerificationResult> verify(DataSignature dataSignature) {
+        Objects.requireNonNull(dataSignature, "dataSignature cannot be null");
+
+        return verify(CIP30Verifier.Builder.newBuilder()
+                .dataSignature(dataSignature)
+                .engine(engine)
+                .build());
+    }
+
+    /**
+     * Verifies a DataSignature asynchronously, with the engine of the given verifier.
+     *
+     * @param verifier - verifier of the DataSignature
+     * @return future completed with the {@code Cip30VerificationResult} on a thread of the executor
+     */
+    public CompletableFuture<Cip30VerificationResult> verify(CIP30Verifier verifier) {
+        Objects.requireNonNull(verifier, "verifier cannot be null");
+
+        var task = new Task(verifier);
+        queue.add(task);
+        drain();
+
+        return task.future;
+    }
+
+    /**
+     * Verifies DataSignatures of a publisher, see {@link #verify(DataSignature)}.
+     * <p>
+     * Returned publisher accepts a single subscriber, it subscribes to the given publisher when subscribed to.
+     * DataSignatures are requested from the given publisher only when there is room for them, at most
+     * {@code maxConcurrency} of them are being verified or waiting for the subscriber to request results,
+     * so a slow subscriber slows down the given publisher rather than making results pile up. Results are
+     * published in the same order as DataSignatures. Cancelling the subscription cancels the upstream one.
+     *
+     * @param dataSignatures - publisher of DataSignatures (COSE_Sign1 and optional COSE_Key) to verify
+     * @return publisher of {@code Cip30VerificationResult}
+     */
+    public Flow.Publisher<Cip30VerificationResult> verify(Flow.Publisher<DataSignature> dataSignatures) {
+        Objects.requireNonNull(dataSignatures, "dataSignatures cannot be null");
+
+        var subscribed = new AtomicBoolean();
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber cannot be null");
+            if (!subscribed.compareAndSet(false, true)) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("publisher allows a single subscriber"));
+                return;
+            }
+            dataSignatures.subscribe(new VerifyingSubscription(subscriber));
+        };
+    }
+
+    /**
+     * Starts queued tasks while fewer than {@code maxConcurrency} are running.
+     * <p>
+     * A call made while another one is starting tasks, e.g. by a task finishing on an executor running it on
+     * the calling thread, only makes that one loop again, so the stack does not grow with the length of the queue.
+     */
+    private void drain() {
+        if (draining.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            startQueued();
+        } while (draining.decrementAndGet() != 0);
+    }
+
+    private void startQueued() {
+        while (!queue.isEmpty()) {
+            var current = running.get();
+            if (current >= maxConcurrency) {
+                // a running task drains the queue when it finishes
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            var task = queue.poll();
+            if (task == null) {
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                executor.execute(task);
+            } catch (RuntimeException e) {
+                running.decrementAndGet();
+                task.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CIP30AsyncVerifier{" +
+                "maxConcurrency=" + maxConcurrency +
+                ", running=" + running.get() +
+                ", engine=" + engine +
+                '}';
+    }
+
+    private final class Task implements Runnable {
+
+        private final CIP30Verifier verifier;
+
+        private final CompletableFuture<Cip30VerificationResult> future = new CompletableFuture<>();
+
+        private Task(CIP30Verifier verifier) {
+            this.verifier = verifier;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (!future.isDone()) {
+                    future.complete(verifier.verify());
+                }
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            } finally {
+                running.decrementAndGet();
+                drain();
+            }
+        }
+
+    }
+
+    /**
+     * Subscriber of DataSignatures and subscription of results at the same time.
+     * <p>
+     * All signals to the downstream subscriber are emitted by a single thread at a time, whichever thread
+     * wins the work-in-progress counter, be it a request, an upstream signal or a finished verification.
+     */
+    private final class VerifyingSubscription implements Flow.Subscriber<DataSignature>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super Cip30VerificationResult> downstream;
+
+        /**
+         * Verifications in upstream order, completed ones wait here for downstream demand.
+         */
+        private final Queue<CompletableFuture<Cip30VerificationResult>> inFlight = new ConcurrentLinkedQueue<>();
+
+        private final AtomicLong demand = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        @Nullable
+        private volatile Flow.Subscription upstream;
+
+        private volatile boolean upstreamDone;
+
+        /**
+         * Error of the upstream publisher, signalled after results of the DataSignatures received before it.
+         */
+        @Nullable
+        private volatile Throwable upstreamError;
+
+        /**
+         * Failure of a verification or of the subscription, signalled immediately.
+         */
+        @Nullable
+        private volatile Throwable failure;
+
+        private volatile boolean cancelled;
+
+        private boolean terminated;
+
+        private VerifyingSubscription(Flow.Subscriber<? super Cip30VerificationResult> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            Objects.requireNonNull(subscription, "subscription cannot be null");
+            if (upstream != null) {
+                subscription.cancel();
+                return;
+            }
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(maxConcurrency);
+        }
+
+        @Override
+        public void onNext(DataSignature dataSignature) {
+            if (upstreamDone || cancelled || failure != null) {
+                return;
+            }
+            final CompletableFuture<Cip30VerificationResult> future;
+            try {
+                future = verify(dataSignature);
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            inFlight.add(future);
+            future.whenComplete((result, e) -> signal());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (upstreamDone) {
+                return;
+            }
+            upstreamError = throwable;
+            upstreamDone = true;
+            signal();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            signal();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("number of requested results must be positive"));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, requested) -> current + requested < 0 ? Long.MAX_VALUE : current + requested);
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            var subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            failure = throwable;
+            upstream.cancel();
+            signal();
+        }
+
+        private void signal() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                emit();
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private void emit() {
+            while (!terminated) {
+                if (cancelled) {
+                    inFlight.clear();
+                    return;
+                }
+                var f = failure;
+                if (f != null) {
+                    terminated = true;
+                    inFlight.clear();
+                    downstream.onError(f);
+                    return;
+                }
+                var head = inFlight.peek();
+                if (head == null) {
+                    if (upstreamDone) {
+                        terminated = true;
+                        var e = upstreamError;
+                        if (e != null) {
+                            downstream.onError(e);
+                        } else {
+                            downstream.onComplete();
+                        }
+                    }
+                    return;
+                }
+                if (!head.isDone() || demand.get() == 0) {
+                    return;
+                }
+                inFlight.poll();
+                final Cip30VerificationResult result;
+                try {
+                    result = head.join();
+                } catch (RuntimeException e) {
+                    failure = e.getCause() != null ? e.getCause() : e;
+                    upstream.cancel();
+                    continue;
+                }
+                demand.decrementAndGet();
+                downstream.onNext(result);
+                upstream.request(1);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,152 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import static org.cardanofoundation.cip30.ValidationError.CIP8_FORMAT_ERROR;
+
+/**
+ * The {@code CIP30BatchVerifier} class is used to verify and parse many CIP-30 DataSignatures at once.
+ * <p>
+ * ED 25519 signatures are checked together using randomized batch verification, which shares the doublings of
+ * the curve arithmetic among all the signatures of a batch. Only when a batch fails, signatures of that batch are verified one by one
+ * in order to find out which ones are invalid. Results are the same as the ones returned by {@code CIP30Verifier},
+ * signatures with small-order components, which only the holder of the private key can craft, are kept out of batches
+ * and verified one by one (see {@code Ed25519Batch}).
+ */
+@ParametersAreNonnullByDefault
+public final class CIP30BatchVerifier {
+
+    /**
+     * Default number of signatures checked together, a failing batch costs an individual check per signature.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    /**
+     * Per thread source of batch coefficients, so that parallel verification does not contend on a single generator.
+     */
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private final List<CIP30Verifier> verifiers;
+
+    private final int batchSize;
+
+    /**
+     * Creates an {@code CIP30BatchVerifier}.
+     *
+     * @param dataSignatures - DataSignatures (COSE_Sign1 and optional COSE_Key) to verify
+     */
+    public CIP30BatchVerifier(Collection<DataSignature> dataSignatures) {
+        this(dataSignatures, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates an {@code CIP30BatchVerifier}.
+     *
+     * @param dataSignatures - DataSignatures (COSE_Sign1 and optional COSE_Key) to verify
+     * @param batchSize - maximum number of ED 25519 signatures checked together
+     */
+    public CIP30BatchVerifier(Collection<DataSignature> dataSignatures, int batchSize) {
+        this(dataSignatures, batchSize, Cip30VerificationEngine.defaultEngine());
+    }
+
+    /**
+     * Creates an {@code CIP30BatchVerifier}.
+     *
+     * @param dataSignatures - DataSignatures (COSE_Sign1 and optional COSE_Key) to verify
+     * @param batchSize - maximum number of ED 25519 signatures checked together
+     * @param engine - engine used by verifiers of all DataSignatures
+     */
+    public CIP30BatchVerifier(Collection<DataSignature> dataSignatures, int batchSize, Cip30VerificationEngine engine) {
+        Objects.requireNonNull(dataSignatures, "dataSignatures cannot be null");
+        Objects.requireNonNull(engine, "engine cannot be null");
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        var verifiers = new ArrayList<CIP30Verifier>(dataSignatures.size());
+        for (var dataSignature : dataSignatures) {
+            verifiers.add(CIP30Verifier.Builder.newBuilder()
+                    .dataSignature(dataSignature)
+                    .engine(engine)
+                    .build());
+        }
+        this.verifiers = verifiers;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Parses and verifies all the DataSignatures.
+     *
+     * @return list of {@code Cip30VerificationResult}, in the same order as supplied DataSignatures
+     */
+    public List<Cip30VerificationResult> verify() {
+        var results = new ArrayList<Cip30VerificationResult>(verifiers.size());
+        for (int from = 0; from < verifiers.size(); from += batchSize) {
+            var to = Math.min(from + batchSize, verifiers.size());
+            results.addAll(verifyBatch(verifiers.subList(from, to)));
+        }
+
+        return results;
+    }
+
+    /**
+     * Verifies DataSignatures checking all ED 25519 signatures at once.
+     *
+     * @param verifiers - verifiers of DataSignatures in a batch
+     * @return list of {@code Cip30VerificationResult}, in the same order as supplied verifiers
+     */
+    static List<Cip30VerificationResult> verifyBatch(List<CIP30Verifier> verifiers) {
+        var prepared = new ArrayList<PreparedVerification>(verifiers.size());
+        var batched = new boolean[verifiers.size()];
+        var batch = new Ed25519Batch();
+
+        for (int i = 0; i < verifiers.size(); i++) {
+            var verification = prepare(verifiers.get(i));
+            prepared.add(verification);
+            if (verification.getResult().isEmpty()) {
+                batched[i] = batch.add(
+                        verification.getCosePayload(),
+                        verification.getEd25519Signature(),
+                        verification.getEd25519PublicKey()
+                );
+            }
+        }
+
+        // when batch fails at least one signature is invalid, fall back to individual checks
+        var isBatchVerified = batch.size() > 0 && verifyBatch(batch, verifiers.get(0).getEngine());
+
+        var results = new ArrayList<Cip30VerificationResult>(verifiers.size());
+        for (int i = 0; i < prepared.size(); i++) {
+            var verification = prepared.get(i);
+            if (batched[i] && isBatchVerified) {
+                results.add(verification.complete(true));
+            } else {
+                results.add(verification.complete());
+            }
+        }
+
+        return results;
+    }
+
+    // one malformed DataSignature must not fail the whole batch, it gets the result of malformed CBOR instead
+    private static PreparedVerification prepare(CIP30Verifier verifier) {
+        try {
+            return verifier.prepare();
+        } catch (RuntimeException e) {
+            return PreparedVerification.invalid(CIP8_FORMAT_ERROR, null, verifier.getEngine());
+        }
+    }
+
+    private static boolean verifyBatch(Ed25519Batch batch, Cip30VerificationEngine engine) {
+        var timer = engine.startStage(VerificationMetrics.Stage.ED25519_VERIFY);
+        var isBatchVerified = batch.verify(RANDOM.get());
+        Cip30VerificationEngine.stop(timer);
+
+        return isBatchVerified;
+    }
+
+}
@@ -0,0 +1,406 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * The {@code CIP30FileVerifier} class is used to verify files of CIP-30 DataSignatures, e.g. archived corpora.
+ * <p>
+ * Files are memory-mapped in windows and split into records, each record is verified straight from the mapped bytes
+ * without creating any strings: binary records are handed to {@link CIP30Verifier} as buffer slices, hex records
+ * are decoded into arrays of their own. Records are verified in parallel by a {@link CIP30ParallelVerifier}
+ * and results are reported in file order. Supported {@link RecordFormat}s:
+ * <ul>
+ *     <li>{@link RecordFormat#HEX_LINES} - one record per line, hex COSE_Sign1 optionally followed by a comma
+ *     or whitespace and hex COSE_Key, empty lines are skipped</li>
+ *     <li>{@link RecordFormat#LENGTH_PREFIXED} - 4 bytes big-endian length followed by COSE_Sign1, then 4 bytes
+ *     big-endian length followed by COSE_Key, length 0 if there is no COSE_Key</li>
+ * </ul>
+ * A hex record which is not valid hex is reported as {@link ValidationError#CIP8_FORMAT_ERROR}, the file
+ * must not be modified while being verified.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+@ParametersAreNonnullByDefault
+public final class CIP30FileVerifier {
+
+    /**
+     * Largest part of a file mapped at once, no record may be larger.
+     */
+    static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+
+    /**
+     * Result code of a valid record in the output file, an invalid record is {@link ValidationError#getCode()}.
+     */
+    public static final byte VALID = 0;
+
+    /**
+     * Decodes to CBOR undefined, which is not a COSE_Sign1 and thus reported as a format error.
+     */
+    private static final byte[] MALFORMED_RECORD = {(byte) 0xf7};
+
+    private static final int LENGTH_PREFIX = 4;
+
+    public enum RecordFormat {
+
+        /**
+         * One record per line, hex COSE_Sign1 optionally followed by a comma or whitespace and hex COSE_Key.
+         */
+        HEX_LINES,
+
+        /**
+         * Length-prefixed binary COSE_Sign1 followed by length-prefixed binary COSE_Key (length 0 if absent).
+         */
+        LENGTH_PREFIXED
+
+    }
+
+    private final RecordFormat format;
+
+    private final CIP30ParallelVerifier parallelVerifier;
+
+    private final Cip30VerificationEngine engine;
+
+    private final int windowSize;
+
+    private CIP30FileVerifier(Builder builder) {
+        this.format = builder.format;
+        this.parallelVerifier = builder.parallelVerifier.engine(builder.engine).build();
+        this.engine = builder.engine;
+        this.windowSize = builder.windowSize;
+    }
+
+    public static class Builder {
+
+        private RecordFormat format = RecordFormat.HEX_LINES;
+
+        private final CIP30ParallelVerifier.Builder parallelVerifier = CIP30ParallelVerifier.Builder.newBuilder();
+
+        private Cip30VerificationEngine engine = Cip30VerificationEngine.defaultEngine();
+
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+
+        /**
+         * Creates an object {@code Builder} in charge of building the class {@code CIP30FileVerifier}.
+         */
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * @param format - format of records, by default {@link RecordFormat#HEX_LINES}
+         */
+        public Builder format(RecordFormat format) {
+            Objects.requireNonNull(format, "format is required");
+            this.format = format;
+            return Builder.this;
+        }
+
+        /**
+         * @param executor - executor running verification of chunks of records
+         */
+        public Builder executor(Executor executor) {
+            parallelVerifier.executor(executor);
+            return Builder.this;
+        }
+
+        /**
+         * @param maxInFlight - maximum number of chunks of records submitted to the executor at the same time
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            parallelVerifier.maxInFlight(maxInFlight);
+            return Builder.this;
+        }
+
+        /**
+         * @param chunkSize - number of records verified by a single task
+         */
+        public Builder chunkSize(int chunkSize) {
+            parallelVerifier.chunkSize(chunkSize);
+            return Builder.this;
+        }
+
+        /**
+         * @param engine - engine used by verifiers of all records
+         */
+        public Builder engine(Cip30VerificationEngine engine) {
+            Objects.requireNonNull(engine, "engine is required");
+            this.engine = engine;
+            return Builder.this;
+        }
+
+        Builder windowSize(int windowSize) {
+            if (windowSize < LENGTH_PREFIX) {
+                throw new IllegalArgumentException("windowSize is too small");
+            }
+            this.windowSize = windowSize;
+            return Builder.this;
+        }
+
+        /**
+         * Creates an instance of the class {@code CIP30FileVerifier} using the information stored.
+         */
+        public CIP30FileVerifier build() {
+            return new CIP30FileVerifier(this);
+        }
+    }
+
+    /**
+     * Parses and verifies all records of a file, results are passed to the consumer on the calling thread,
+     * in file order. The method returns when all results have been consumed.
+     *
+     * @param file - file of records
+     * @param consumer - consumer of the results
+     * @throws IOException if the file cannot be read or the framing of records is broken
+     */
+    public void verify(Path file, Consumer<Cip30VerificationResult> consumer) throws IOException {
+        Objects.requireNonNull(file, "file cannot be null");
+        Objects.requireNonNull(consumer, "consumer cannot be null");
+
+        try (var channel = FileChannel.open(file, READ)) {
+            parallelVerifier.verifyAll(new RecordIterator(channel), consumer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses and verifies all records of a file, writing one byte per record in file order to the output file:
+     * {@link #VALID} or the stable {@link ValidationError#getCode()} of the error.
+     *
+     * @param file - file of records
+     * @param output - output file, replaced if it exists
+     * @return number of verified records
+     * @throws IOException if the file cannot be read, the framing of records is broken or output cannot be written
+     */
+    public long verify(Path file, Path output) throws IOException {
+        Objects.requireNonNull(output, "output cannot be null");
+
+        try (var out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            var count = new long[1];
+            verify(file, result -> {
+                try {
+                    out.write(result.getValidationError().map(ValidationError::getCode).orElse((int) VALID));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+
+            return count[0];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CIP30FileVerifier{" +
+                "format=" + format +
+                ", engine=" + engine +
+                '}';
+    }
+
+    /**
+     * Walks records of a file, mapping the next window when a record does not fit in the current one.
+     */
+    private final class RecordIterator implements Iterator<CIP30Verifier> {
+
+        private final FileChannel channel;
+
+        private final long fileSize;
+
+        /**
+         * File offset of the current window.
+         */
+        private long windowOffset;
+
+        private ByteBuffer window;
+
+        private int position;
+
+        @Nullable
+        private CIP30Verifier next;
+
+        private RecordIterator(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+            this.window = ByteBuffer.allocate(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = format == RecordFormat.HEX_LINES ? nextHexRecord() : nextLengthPrefixedRecord();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            return next != null;
+        }
+
+        @Override
+        public CIP30Verifier next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            var verifier = next;
+            next = null;
+
+            return verifier;
+        }
+
+        @Nullable
+        private CIP30Verifier nextHexRecord() throws IOException {
+            while (true) {
+                var end = indexOf('\n');
+                if (end < 0 && !isLastWindow()) {
+                    remap();
+                    end = indexOf('\n');
+                    if (end < 0 && !isLastWindow()) {
+                        throw new IOException("Record longer than " + windowSize + " bytes at offset: " + (windowOffset + position));
+                    }
+                }
+                if (end < 0 && position == window.limit()) {
+                    return null;
+                }
+                var lineEnd = end < 0 ? window.limit() : end;
+                var from = position;
+                position = end < 0 ? window.limit() : end + 1;
+
+                var to = lineEnd;
+                while (to > from && isBlank(window.get(to - 1))) {
+                    to--;
+                }
+                while (from < to && isBlank(window.get(from))) {
+                    from++;
+                }
+                if (from == to) {
+                    continue;
+                }
+
+                var separator = from;
+                while (separator < to && !isSeparator(window.get(separator))) {
+                    separator++;
+                }
+                var coseSign1 = Hex.decode(window, from, separator);
+                var keyFrom = separator;
+                while (keyFrom < to && isSeparator(window.get(keyFrom))) {
+                    keyFrom++;
+                }
+                var coseKey = keyFrom < to ? Hex.decode(window, keyFrom, to) : null;
+                if (coseSign1 == null || (keyFrom < to && coseKey == null)) {
+                    return newVerifier(ByteBuffer.wrap(MALFORMED_RECORD), null);
+                }
+
+                return newVerifier(ByteBuffer.wrap(coseSign1), coseKey != null ? ByteBuffer.wrap(coseKey) : null);
+            }
+        }
+
+        @Nullable
+        private CIP30Verifier nextLengthPrefixedRecord() throws IOException {
+            if (position == window.limit()) {
+                if (isLastWindow()) {
+                    return null;
+                }
+                remap();
+            }
+            var coseSign1 = lengthPrefixed();
+            var coseKey = lengthPrefixed();
+            if (coseSign1.remaining() == 0) {
+                throw new IOException("Empty COSE_Sign1 record at offset: " + (windowOffset + position));
+            }
+
+            return newVerifier(coseSign1, coseKey.remaining() > 0 ? coseKey : null);
+        }
+
+        private ByteBuffer lengthPrefixed() throws IOException {
+            ensureAvailable(LENGTH_PREFIX);
+            var length = window.getInt(position);
+            if (length < 0) {
+                throw new IOException("Negative record length at offset: " + (windowOffset + position));
+            }
+            ensureAvailable((long) LENGTH_PREFIX + length);
+            var slice = window.slice(position + LENGTH_PREFIX, length);
+            position += LENGTH_PREFIX + length;
+
+            return slice;
+        }
+
+        private void ensureAvailable(long length) throws IOException {
+            if (position + length <= window.limit()) {
+                return;
+            }
+            if (!isLastWindow()) {
+                remap();
+            }
+            if (position + length > window.limit()) {
+                throw new IOException(isLastWindow()
+                        ? "Truncated record at offset: " + (windowOffset + position)
+                        : "Record longer than " + windowSize + " bytes at offset: " + (windowOffset + position));
+            }
+        }
+
+        private CIP30Verifier newVerifier(ByteBuffer coseSign1, @Nullable ByteBuffer coseKey) {
+            var builder = CIP30Verifier.Builder.newBuilder()
+                    .coseSign1(coseSign1)
+                    .engine(engine);
+            if (coseKey != null) {
+                builder.coseKey(coseKey);
+            }
+
+            return builder.build();
+        }
+
+        private boolean isLastWindow() {
+            return windowOffset + window.limit() >= fileSize;
+        }
+
+        /**
+         * Maps the next window starting at the current position, mapped windows are released by the garbage
+         * collector once no verifier references them.
+         */
+        private void remap() throws IOException {
+            windowOffset += position;
+            var size = (int) Math.min(windowSize, fileSize - windowOffset);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowOffset, size);
+            position = 0;
+        }
+
+        private int indexOf(char c) {
+            for (int i = position; i < window.limit(); i++) {
+                if (window.get(i) == c) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ',' || b == ' ' || b == '\t';
+    }
+
+}
@@ -0,0 +1,205 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * The {@code CIP30ParallelVerifier} class is used to verify large numbers of CIP-30 DataSignatures using all
+ * available cores.
+ * <p>
+ * DataSignatures are split into chunks, each chunk is verified on the {@link Executor} using batch verification
+ * (see {@link CIP30BatchVerifier}). At most {@code maxInFlight} chunks are submitted to the executor at any time,
+ * which bounds memory use when verifying a stream of DataSignatures. Results are always reported in input order.
+ * <p>
+ * Instances are immutable and thread-safe, a single instance can be shared by the whole application.
+ * {@link CIP30Verifier} and {@link Cip30VerificationResult} do not share mutable state either, so chunks are verified
+ * without any coordination between worker threads.
+ */
+@ParametersAreNonnullByDefault
+public final class CIP30ParallelVerifier {
+
+    private final Executor executor;
+
+    private final int maxInFlight;
+
+    private final int chunkSize;
+
+    private final Cip30VerificationEngine engine;
+
+    private CIP30ParallelVerifier(Builder builder) {
+        this.executor = builder.executor;
+        this.maxInFlight = builder.maxInFlight;
+        this.chunkSize = builder.chunkSize;
+        this.engine = builder.engine;
+    }
+
+    public static class Builder {
+
+        private Executor executor = ForkJoinPool.commonPool();
+
+        private int maxInFlight = 2 * Runtime.getRuntime().availableProcessors();
+
+        private int chunkSize = CIP30BatchVerifier.DEFAULT_BATCH_SIZE;
+
+        private Cip30VerificationEngine engine = Cip30VerificationEngine.defaultEngine();
+
+        /**
+         * Creates an object {@code Builder} in charge of building the class {@code CIP30ParallelVerifier}.
+         */
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * @param executor - executor running verification of chunks, by default {@link ForkJoinPool#commonPool()}
+         */
+        public Builder executor(Executor executor) {
+            Objects.requireNonNull(executor, "executor is required");
+            this.executor = executor;
+            return Builder.this;
+        }
+
+        /**
+         * @param maxInFlight - maximum number of chunks submitted to the executor at the same time,
+         *                    by default twice the number of available processors
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("maxInFlight must be positive");
+            }
+            this.maxInFlight = maxInFlight;
+            return Builder.this;
+        }
+
+        /**
+         * @param chunkSize - number of DataSignatures verified by a single task, ED 25519 signatures of a chunk
+         *                  are batch verified
+         */
+        public Builder chunkSize(int chunkSize) {
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("chunkSize must be positive");
+            }
+            this.chunkSize = chunkSize;
+            return Builder.this;
+        }
+
+        /**
+         * @param engine - engine used by all verifiers, by default {@link Cip30VerificationEngine#defaultEngine()}
+         */
+        public Builder engine(Cip30VerificationEngine engine) {
+            Objects.requireNonNull(engine, "engine is required");
+            this.engine = engine;
+            return Builder.this;
+        }
+
+        /**
+         * Creates an instance of the class {@code CIP30ParallelVerifier} using the information stored.
+         */
+        public CIP30ParallelVerifier build() {
+            return new CIP30ParallelVerifier(this);
+        }
+    }
+
+    /**
+     * Parses and verifies all the DataSignatures.
+     *
+     * @param dataSignatures - DataSignatures (COSE_Sign1 and optional COSE_Key) to verify
+     * @return list of {@code Cip30VerificationResult}, in the same order as supplied DataSignatures
+     */
+    public List<Cip30VerificationResult> verify(Collection<DataSignature> dataSignatures) {
+        var results = new ArrayList<Cip30VerificationResult>(dataSignatures.size());
+        verify(dataSignatures.iterator(), results::add);
+
+        return results;
+    }
+
+    /**
+     * Parses and verifies a stream of DataSignatures.
+     * <p>
+     * DataSignatures are pulled from the iterator only when there is room for another chunk in flight,
+     * results are passed to the consumer on the calling thread, in the same order as DataSignatures.
+     * The method returns when all results have been consumed.
+     *
+     * @param dataSignatures - DataSignatures (COSE_Sign1 and optional COSE_Key) to verify
+     * @param consumer - consumer of the results
+     */
+    public void verify(Iterator<DataSignature> dataSignatures, Consumer<Cip30VerificationResult> consumer) {
+        Objects.requireNonNull(dataSignatures, "dataSignatures cannot be null");
+        Objects.requireNonNull(consumer, "consumer cannot be null");
+
+        verifyAll(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return dataSignatures.hasNext();
+            }
+
+            @Override
+            public CIP30Verifier next() {
+                return CIP30Verifier.Builder.newBuilder()
+                        .dataSignature(dataSignatures.next())
+                        .engine(engine)
+                        .build();
+            }
+        }, consumer);
+    }
+
+    /**
+     * Verifies a stream of DataSignatures given as verifiers, see {@link #verify(Iterator, Consumer)}.
+     *
+     * @param verifiers - verifiers of DataSignatures, created on the calling thread
+     * @param consumer - consumer of the results
+     */
+    void verifyAll(Iterator<CIP30Verifier> verifiers, Consumer<Cip30VerificationResult> consumer) {
+        var inFlight = new ArrayDeque<CompletableFuture<List<Cip30VerificationResult>>>(maxInFlight);
+        try {
+            while (verifiers.hasNext()) {
+                // the oldest chunk is drained before the next one is pulled, so at most maxInFlight chunks are held
+                if (inFlight.size() == maxInFlight) {
+                    consume(inFlight.poll(), consumer);
+                }
+                var chunk = nextChunk(verifiers);
+                inFlight.add(CompletableFuture.supplyAsync(() -> CIP30BatchVerifier.verifyBatch(chunk), executor));
+            }
+            while (!inFlight.isEmpty()) {
+                consume(inFlight.poll(), consumer);
+            }
+        } finally {
+            // only non-empty if verification failed with an exception
+            inFlight.forEach(future -> future.cancel(false));
+        }
+    }
+
+    private List<CIP30Verifier> nextChunk(Iterator<CIP30Verifier> verifiers) {
+        var chunk = new ArrayList<CIP30Verifier>(chunkSize);
+        while (chunk.size() < chunkSize && verifiers.hasNext()) {
+            chunk.add(verifiers.next());
+        }
+
+        return chunk;
+    }
+
+    private static void consume(CompletableFuture<List<Cip30VerificationResult>> future,
+                                Consumer<Cip30VerificationResult> consumer) {
+        final List<Cip30VerificationResult> results;
+        try {
+            results = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        results.forEach(consumer);
+    }
+
+}
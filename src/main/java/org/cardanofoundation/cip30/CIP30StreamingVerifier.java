@@ -0,0 +1,280 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.cardanofoundation.cip30.ValidationError.CIP8_FORMAT_ERROR;
+
+/**
+ * The {@code CIP30StreamingVerifier} class is used to verify and parse CIP-30 DataSignatures which sign large messages.
+ * <p>
+ * COSE_Sign1 is read from a stream, its headers and signature are held in memory but the message is not:
+ * a message larger than the memory threshold is spooled to a temporary file and streamed through SHA-512
+ * of the ED 25519 check in chunks, so that heap usage does not depend on the size of the message.
+ * ED 25519 hashes R (first half of the signature) before the message, and the signature follows the message
+ * in COSE_Sign1, hence the message has to be stored before it can be hashed.
+ * <p>
+ * The message of such a result is available as a {@link ByteSource} from
+ * {@link Cip30VerificationResult#getMessageSource()}, the temporary file is deleted once the result is no longer
+ * reachable. Results of messages under the memory threshold are the same as the ones returned by {@code CIP30Verifier}.
+ * <p>
+ * Instances are immutable and thread-safe, a single verifier can verify any number of streams.
+ */
+@ParametersAreNonnullByDefault
+public final class CIP30StreamingVerifier {
+
+    /**
+     * Default size of the largest message kept in memory.
+     */
+    public static final int DEFAULT_MEMORY_THRESHOLD = 1024 * 1024;
+
+    /**
+     * Largest accepted encoded protected or unprotected header.
+     */
+    private static final int MAX_HEADER_LENGTH = 64 * 1024;
+
+    /**
+     * Largest accepted signature, anything longer is not an ED 25519 signature.
+     */
+    private static final int MAX_SIGNATURE_LENGTH = 1024;
+
+    private final Cip30VerificationEngine engine;
+
+    private final int memoryThreshold;
+
+    @Nullable
+    private final Path spoolDirectory;
+
+    private CIP30StreamingVerifier(Builder builder) {
+        this.engine = builder.engine;
+        this.memoryThreshold = builder.memoryThreshold;
+        this.spoolDirectory = builder.spoolDirectory;
+    }
+
+    public static class Builder {
+
+        private Cip30VerificationEngine engine = Cip30VerificationEngine.defaultEngine();
+
+        private int memoryThreshold = DEFAULT_MEMORY_THRESHOLD;
+
+        @Nullable
+        private Path spoolDirectory;
+
+        /**
+         * Creates an object {@code Builder} in charge of building the class {@code CIP30StreamingVerifier}.
+         */
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * @param engine - engine used to check ED 25519 signatures
+         */
+        public Builder engine(Cip30VerificationEngine engine) {
+            Objects.requireNonNull(engine, "engine is required");
+            this.engine = engine;
+            return Builder.this;
+        }
+
+        /**
+         * @param memoryThreshold - size of the largest message kept in memory, larger ones are spooled to a temporary file
+         */
+        public Builder memoryThreshold(int memoryThreshold) {
+            if (memoryThreshold < 0) {
+                throw new IllegalArgumentException("memoryThreshold must not be negative");
+            }
+            this.memoryThreshold = memoryThreshold;
+            return Builder.this;
+        }
+
+        /**
+         * @param spoolDirectory - directory of temporary files, default temporary-file directory if not set
+         */
+        public Builder spoolDirectory(Path spoolDirectory) {
+            Objects.requireNonNull(spoolDirectory, "spoolDirectory is required");
+            this.spoolDirectory = spoolDirectory;
+            return Builder.this;
+        }
+
+        /**
+         * Creates an instance of the class {@code CIP30StreamingVerifier} using the information stored.
+         */
+        public CIP30StreamingVerifier build() {
+            return new CIP30StreamingVerifier(this);
+        }
+    }
+
+    /**
+     * Parses and verifies COSE_Sign1 read from a stream, using the public key from its protected header.
+     *
+     * @param coseSign1 - stream of CBOR bytes of COSE_Sign1, it is not closed and may be read beyond the COSE_Sign1
+     * @return an instance of {@code Cip30VerificationResult}
+     * @throws IOException if the stream cannot be read or the message cannot be spooled
+     */
+    public Cip30VerificationResult verify(InputStream coseSign1) throws IOException {
+        return verify(coseSign1, null);
+    }
+
+    /**
+     * Parses and verifies COSE_Sign1 read from a stream.
+     *
+     * @param coseSign1 - stream of CBOR bytes of COSE_Sign1, it is not closed and may be read beyond the COSE_Sign1
+     * @param coseKey - CBOR bytes of COSE_Key, if null the public key from the protected header is used
+     * @return an instance of {@code Cip30VerificationResult}
+     * @throws IOException if the stream cannot be read or the message cannot be spooled
+     */
+    public Cip30VerificationResult verify(InputStream coseSign1, @Nullable byte[] coseKey) throws IOException {
+        Objects.requireNonNull(coseSign1, "coseSign1 is required");
+
+        final ParsedDataSignature parsed;
+        final ByteSource message;
+        try {
+            var decodingLimits = engine.getDecodingLimits();
+            var reader = new CborStreamReader(new BufferedInputStream(coseSign1), decodingLimits);
+            if (reader.readArrayHeader() != 4) {
+                throw CborFormatException.of(FailureReason.INVALID_COSE_SIGN1);
+            }
+            var protectedHeader = reader.readByteString(MAX_HEADER_LENGTH);
+            var unprotectedHeader = reader.readRawItem(MAX_HEADER_LENGTH);
+            var messageLength = reader.readByteStringHeader();
+            if (messageLength > decodingLimits.getMaxMessageLength()) {
+                throw CborFormatException.of(FailureReason.ITEM_TOO_LONG);
+            }
+            message = readMessage(reader, messageLength);
+            var signature = reader.readByteString(MAX_SIGNATURE_LENGTH);
+
+            var timer = engine.startStage(VerificationMetrics.Stage.CBOR_PARSE);
+            parsed = ParsedDataSignature.parse(
+                    ByteBuffer.wrap(skeleton(protectedHeader, unprotectedHeader, signature)),
+                    Optional.ofNullable(coseKey).map(ByteBuffer::wrap),
+                    decodingLimits);
+            Cip30VerificationEngine.stop(timer);
+        } catch (CborFormatException e) {
+            return invalid(CIP8_FORMAT_ERROR, e.reason());
+        }
+
+        // cheap checks first, the message is not hashed and curve arithmetic is not done if any fails
+        var failureReason = parsed.check();
+        if (failureReason != null && parsed.getEd25519PublicKey() == null) {
+            return invalid(failureReason.validationError(), failureReason);
+        }
+        if (failureReason == null) {
+            var addressTimer = engine.startStage(VerificationMetrics.Stage.ADDRESS_CHECK);
+            failureReason = parsed.isAddressVerified() ? null : FailureReason.ADDRESS_MISMATCH;
+            Cip30VerificationEngine.stop(addressTimer);
+        }
+
+        var ed25519PublicKey = parsed.getEd25519PublicKey();
+        var ed25519Signature = parsed.getEd25519Signature();
+        var replayKey = failureReason == null ? engine.replayKey(parsed.getEd25519Signature(), message, parsed.isHashed()) : null;
+        if (engine.isReplayed(replayKey)) {
+            failureReason = FailureReason.REPLAYED;
+        }
+        var cosePayloadHead = parsed.getCosePayloadHead(message.size());
+        if (failureReason == null && !engine.verifySignature(cosePayloadHead, message, ed25519Signature, ed25519PublicKey)) {
+            failureReason = FailureReason.INVALID_SIGNATURE;
+        }
+        if (failureReason == null && !engine.recordAccepted(replayKey)) {
+            failureReason = FailureReason.REPLAYED;
+        }
+
+        var b = Cip30VerificationResult.Builder.newBuilder();
+        b.isHashed(parsed.isHashed());
+        if (failureReason != null) {
+            b.validationError(failureReason.validationError());
+            b.failureReason(failureReason);
+        } else {
+            b.valid();
+        }
+        Optional.ofNullable(parsed.getAddress()).ifPresent(b::address);
+        b.ed25519PublicKey(ed25519PublicKey);
+        b.ed25519Signature(ed25519Signature);
+        if (message instanceof ArrayByteSource) {
+            var messageBytes = ((ArrayByteSource) message).bytes();
+            var cosePayload = new byte[cosePayloadHead.length + messageBytes.length];
+            System.arraycopy(cosePayloadHead, 0, cosePayload, 0, cosePayloadHead.length);
+            System.arraycopy(messageBytes, 0, cosePayload, cosePayloadHead.length, messageBytes.length);
+            b.message(messageBytes);
+            b.cosePayload(cosePayload);
+        } else {
+            b.messageSource(message);
+        }
+
+        var result = b.build();
+        engine.recordResult(result, parsed.getKeySource());
+
+        return result;
+    }
+
+    /**
+     * Parses and verifies COSE_Sign1 read from a channel.
+     *
+     * @param coseSign1 - channel of CBOR bytes of COSE_Sign1, it is not closed and may be read beyond the COSE_Sign1
+     * @param coseKey - CBOR bytes of COSE_Key, if null the public key from the protected header is used
+     * @return an instance of {@code Cip30VerificationResult}
+     * @throws IOException if the channel cannot be read or the message cannot be spooled
+     */
+    public Cip30VerificationResult verify(ReadableByteChannel coseSign1, @Nullable byte[] coseKey) throws IOException {
+        Objects.requireNonNull(coseSign1, "coseSign1 is required");
+
+        return verify(Channels.newInputStream(coseSign1), coseKey);
+    }
+
+    private Cip30VerificationResult invalid(ValidationError error, FailureReason reason) {
+        var result = Cip30VerificationResult.createInvalid(error, reason);
+        engine.recordResult(result, null);
+
+        return result;
+    }
+
+    private ByteSource readMessage(CborStreamReader reader, long length) throws CborFormatException, IOException {
+        if (length <= memoryThreshold) {
+            return new ArrayByteSource(reader.readBytes((int) length));
+        }
+
+        return SpooledByteSource.spool(reader.stream(), length, spoolDirectory);
+    }
+
+    /**
+     * Encodes COSE_Sign1 with an empty message, so that headers and signature are parsed by the same code
+     * as a COSE_Sign1 held in memory.
+     */
+    private static byte[] skeleton(byte[] protectedHeader, byte[] unprotectedHeader, byte[] signature) {
+        var bytes = new byte[1
+                + CoseSign1Structure.byteStringHeadLength(protectedHeader.length) + protectedHeader.length
+                + unprotectedHeader.length
+                + 1
+                + CoseSign1Structure.byteStringHeadLength(signature.length) + signature.length];
+
+        bytes[0] = (byte) 0x84;
+        var offset = CoseSign1Structure.writeByteStringHead(bytes, 1, protectedHeader.length);
+        System.arraycopy(protectedHeader, 0, bytes, offset, protectedHeader.length);
+        offset += protectedHeader.length;
+        System.arraycopy(unprotectedHeader, 0, bytes, offset, unprotectedHeader.length);
+        offset += unprotectedHeader.length;
+        offset = CoseSign1Structure.writeByteStringHead(bytes, offset, 0);
+        offset = CoseSign1Structure.writeByteStringHead(bytes, offset, signature.length);
+        System.arraycopy(signature, 0, bytes, offset, signature.length);
+
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "CIP30StreamingVerifier{" +
+                "engine=" + engine +
+                ", memoryThreshold=" + memoryThreshold +
+                ", spoolDirectory=" + spoolDirectory +
+                '}';
+    }
+
+}
@@ -1,54 +1,33 @@
 package org.cardanofoundation.cip30;
 
-import co.nstant.in.cbor.CborDecoder;
-import co.nstant.in.cbor.CborException;
-import co.nstant.in.cbor.model.*;
-import com.bloxbean.cardano.client.address.Address;
-import com.bloxbean.cardano.client.cip.cip8.COSEKey;
 import com.bloxbean.cardano.client.util.HexUtil;
-import net.i2p.crypto.eddsa.EdDSAEngine;
-import net.i2p.crypto.eddsa.EdDSAPublicKey;
-import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
-import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
-import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import java.security.MessageDigest;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Optional;
 
-import static co.nstant.in.cbor.CborDecoder.decode;
-import static co.nstant.in.cbor.model.MajorType.ARRAY;
-import static co.nstant.in.cbor.model.MajorType.MAP;
-import static com.bloxbean.cardano.client.address.AddressProvider.verifyAddress;
-import static com.bloxbean.cardano.client.common.cbor.CborSerializationUtil.serialize;
-import static net.i2p.crypto.eddsa.EdDSAEngine.ONE_SHOT_MODE;
-import static net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable.ED_25519;
 import static org.cardanofoundation.cip30.ValidationError.CIP8_FORMAT_ERROR;
-import static org.cardanofoundation.cip30.ValidationError.NO_PUBLIC_KEY;
+import static org.cardanofoundation.cip30.VerificationMetrics.Stage.CBOR_PARSE;
+import static org.cardanofoundation.cip30.VerificationMetrics.Stage.HEX_DECODE;
 
 /**
  * The {@code CIP30Verifier} class is used to verify and parse Data Signature part of the Cardano protocol.
  *
  * Please refer to GLOSSARY.md for definition of the terms and CIP 30 (signData), see: <a href="https://cips.cardano.org/cips/cip30/">
  * https://cips.cardano.org/cips/cip30/</a>.
+ * <p>
+ * Instances are immutable and thread-safe, verification only uses per-thread or thread-safe state of the
+ * {@link Cip30VerificationEngine}, so many verifiers can run concurrently (see also {@link CIP30ParallelVerifier}).
  */
 @ParametersAreNonnullByDefault
 public final class CIP30Verifier {
 
     /**
-     * Static instance of {@code Logger} used for logging.
-     */
-    private static final Logger logger = LoggerFactory.getLogger(CIP30Verifier.class);
-
-    private static final EdDSAParameterSpec ED_DSA_PARAMETER_SPEC = EdDSANamedCurveTable.getByName(ED_25519);
-
-    /**
-     * hex-encoded CBOR bytes of the COSE_Sign1
+     * hex-encoded CBOR bytes of the COSE_Sign1, null if COSE_Sign1 has been supplied as bytes
      */
+    @Nullable
     private final String coseSign1;
 
     /**
@@ -57,6 +36,23 @@ public final class CIP30Verifier {
      */
     private final Optional<String> coseKey;
 
+    /**
+     * Read-only view of CBOR bytes of the COSE_Sign1, null if COSE_Sign1 has been supplied hex-encoded
+     */
+    @Nullable
+    private final ByteBuffer coseSign1Bytes;
+
+    /**
+     * Optional read-only view of CBOR bytes of the COSE_Key, null if COSE_Key has been supplied hex-encoded or not at all
+     */
+    @Nullable
+    private final ByteBuffer coseKeyBytes;
+
+    /**
+     * Engine holding reusable verification state, shared between verifiers
+     */
+    private final Cip30VerificationEngine engine;
+
     /**
      * Creates an {@code CIP30Verifier}.
      *
@@ -76,6 +72,15 @@ public final class CIP30Verifier {
         this(coseSign1, Optional.ofNullable(coseKey));
     }
 
+    /**
+     * Creates an {@code CIP30Verifier}.
+     *
+     * @param dataSignature - CIP-30 DataSignature, COSE_Sign1 and optional COSE_Key
+     */
+    public CIP30Verifier(DataSignature dataSignature) {
+        this(dataSignature.getCOSESign1(), dataSignature.getCoseKey());
+    }
+
     /**
      * Creates an {@code CIP30Verifier}.
      *
@@ -83,187 +88,375 @@ public final class CIP30Verifier {
      * @param coseKey - Optional hex-encoded CBOR bytes of the COSE_Key
      */
     public CIP30Verifier(String coseSign1, Optional<String> coseKey) {
-        Objects.requireNonNull(coseSign1, "signature cannot be null");
-        if (coseSign1.isBlank()) {
-            throw new IllegalArgumentException("signature cannot blank");
-        }
-        this.coseSign1 = coseSign1;
-        this.coseKey = coseKey;
+        this(requireNotBlank(coseSign1), coseKey, null, null, Cip30VerificationEngine.defaultEngine());
     }
 
     /**
-     * In order to check validity of ED 25519 signature we have to verify COSE1 payload using ED 25519 public key
+     * Creates an {@code CIP30Verifier}.
+     * <p>
+     * The array is not copied, it must not be modified while the verifier is in use.
      *
-     * @param cosePayload    - COSE Payload to verify
-     * @param signatureBytes - signed ED 25519 signature - extracted from CIP-30 DataSignature ('signature' field)
-     * @param publicKeyBytes - ED 25519 public key - either extracted from CIP-30 DataSignature ('key' field) or explicitly passed in
+     * @param coseSign1 - CBOR bytes of the COSE_Sign1
+     */
+    public CIP30Verifier(byte[] coseSign1) {
+        this(coseSign1, null);
+    }
+
+    /**
+     * Creates an {@code CIP30Verifier}.
+     * <p>
+     * The arrays are not copied, they must not be modified while the verifier is in use.
      *
-     * @return true if supplied signature is valid according to the supplied ED 25519 public key
+     * @param coseSign1 - CBOR bytes of the COSE_Sign1
+     * @param coseKey - Optional CBOR bytes of the COSE_Key
      */
-    private static boolean verifyMessage(final byte[] cosePayload,
-                                         final byte[] signatureBytes,
-                                         final byte[] publicKeyBytes) {
-        try {
-            var publicKey = new EdDSAPublicKey(new EdDSAPublicKeySpec(publicKeyBytes, ED_DSA_PARAMETER_SPEC));
-            var signature = new EdDSAEngine(MessageDigest.getInstance(ED_DSA_PARAMETER_SPEC.getHashAlgorithm()));
-            signature.initVerify(publicKey);
-            signature.setParameter(ONE_SHOT_MODE);
-            signature.update(cosePayload);
-
-            return signature.verify(signatureBytes);
-        } catch (Exception e) {
-            return false;
-        }
+    public CIP30Verifier(byte[] coseSign1, @Nullable byte[] coseKey) {
+        this(ByteBuffer.wrap(Objects.requireNonNull(coseSign1, "signature cannot be null")),
+                coseKey == null ? null : ByteBuffer.wrap(coseKey));
     }
 
     /**
-     * Parses and verifies the DataSignature part of CIP-30 (signature and key).
+     * Creates an {@code CIP30Verifier}.
+     * <p>
+     * Bytes between position and limit of the buffer are used, heap and direct buffers are supported.
+     * The content is not copied, it must not be modified while the verifier is in use. Position and limit
+     * of the supplied buffer are neither used afterwards nor changed.
      *
-     * @return an instance of {@code Cip30VerificationResult}
-     * that contains all the information of the parsing / verification process
+     * @param coseSign1 - CBOR bytes of the COSE_Sign1
      */
-    public Cip30VerificationResult verify() {
-        try {
-             var signatureAsBytes = HexUtil.decodeHexString(coseSign1);
+    public CIP30Verifier(ByteBuffer coseSign1) {
+        this(coseSign1, null);
+    }
 
-            var coseCbor = decode(signatureAsBytes).get(0);
+    /**
+     * Creates an {@code CIP30Verifier}.
+     * <p>
+     * Bytes between position and limit of the buffers are used, heap and direct buffers are supported.
+     * The content is not copied, it must not be modified while the verifier is in use. Position and limit
+     * of the supplied buffers are neither used afterwards nor changed.
+     *
+     * @param coseSign1 - CBOR bytes of the COSE_Sign1
+     * @param coseKey - Optional CBOR bytes of the COSE_Key
+     */
+    public CIP30Verifier(ByteBuffer coseSign1, @Nullable ByteBuffer coseKey) {
+        this(null, Optional.empty(), requireNotEmpty(coseSign1).asReadOnlyBuffer(),
+                coseKey == null ? null : coseKey.asReadOnlyBuffer(), Cip30VerificationEngine.defaultEngine());
+    }
 
-            if (coseCbor.getMajorType() != ARRAY) {
-                logger.error("Invalid CIP-30 signature. Structure is not an array.");
-                return Cip30VerificationResult.createInvalid(CIP8_FORMAT_ERROR);
-            }
+    private CIP30Verifier(@Nullable String coseSign1,
+                          Optional<String> coseKey,
+                          @Nullable ByteBuffer coseSign1Bytes,
+                          @Nullable ByteBuffer coseKeyBytes,
+                          Cip30VerificationEngine engine) {
+        this.coseSign1 = coseSign1;
+        this.coseKey = coseKey;
+        this.coseSign1Bytes = coseSign1Bytes;
+        this.coseKeyBytes = coseKeyBytes;
+        this.engine = engine;
+    }
 
-            var dataItems = ((Array) coseCbor).getDataItems();
-            var protectedHeader = (ByteString) dataItems.get(0); // 1
+    /**
+     * Builder of {@code CIP30Verifier}, needed to use an engine other than the default one, e.g. with a public key cache.
+     * <p>
+     * COSE_Sign1 and COSE_Key can be supplied either hex-encoded or as bytes, the last supplied form wins.
+     */
+    public static class Builder {
 
-            var unprotectedHeaderMap = (Map) dataItems.get(1); // 2
+        @Nullable
+        private String coseSign1;
 
-            if (unprotectedHeaderMap.getMajorType() != MAP) {
-                logger.error("Invalid CIP-30 signature. unprotected header structure is not a map.");
-                return Cip30VerificationResult.createInvalid(CIP8_FORMAT_ERROR);
-            }
+        private Optional<String> coseKey = Optional.empty();
 
-            var isHashed = unprotectedHeaderMap.get(new UnicodeString("hashed")) == SimpleValue.TRUE;
+        @Nullable
+        private ByteBuffer coseSign1Bytes;
 
-            var messageByteString = (ByteString) dataItems.get(2); // 3
+        @Nullable
+        private ByteBuffer coseKeyBytes;
 
-            var ed25519SignatureByteString = (ByteString) dataItems.get(3); // 4
+        private Cip30VerificationEngine engine = Cip30VerificationEngine.defaultEngine();
 
-            var protectedHeaderDecoded = CborDecoder.decode(protectedHeader.getBytes()).get(0);
+        /**
+         * Creates an object {@code Builder} in charge of building the class {@code CIP30Verifier}.
+         */
+        public static Builder newBuilder() {
+            return new Builder();
+        }
 
-            if (protectedHeaderDecoded.getMajorType() != MAP) {
-                logger.error("Invalid CIP-30 signature. Protected header structure is not a map.");
-                return Cip30VerificationResult.createInvalid(CIP8_FORMAT_ERROR);
-            }
+        /**
+         * @param coseSign1 - hex-encoded CBOR bytes of the COSE_Sign1
+         */
+        public Builder coseSign1(String coseSign1) {
+            this.coseSign1 = requireNotBlank(coseSign1);
+            this.coseSign1Bytes = null;
+            return Builder.this;
+        }
 
-            var protectedHeaderMap = (Map) protectedHeaderDecoded;
+        /**
+         * @param coseSign1 - CBOR bytes of the COSE_Sign1, not copied
+         */
+        public Builder coseSign1(byte[] coseSign1) {
+            return coseSign1(ByteBuffer.wrap(Objects.requireNonNull(coseSign1, "signature cannot be null")));
+        }
 
-            var signatureArray = new Array();
-            signatureArray.add(new UnicodeString("Signature1"));
-            signatureArray.add(protectedHeader);
-            signatureArray.add(new ByteString(new byte[0]));
-            signatureArray.add(messageByteString);
+        /**
+         * @param coseSign1 - CBOR bytes of the COSE_Sign1 between position and limit of the buffer, not copied
+         */
+        public Builder coseSign1(ByteBuffer coseSign1) {
+            this.coseSign1Bytes = requireNotEmpty(coseSign1).asReadOnlyBuffer();
+            this.coseSign1 = null;
+            return Builder.this;
+        }
 
-            var ed25519PublicKeyBytes = deserializeED25519PublicKey(coseKey, protectedHeaderMap);
-            if (ed25519PublicKeyBytes == null) {
-                logger.warn("No public key found.");
-                return Cip30VerificationResult.createInvalid(NO_PUBLIC_KEY);
-            }
+        /**
+         * @param coseKey - Optional hex-encoded CBOR bytes of the COSE_Key
+         */
+        public Builder coseKey(@Nullable String coseKey) {
+            this.coseKey = Optional.ofNullable(coseKey);
+            this.coseKeyBytes = null;
+            return Builder.this;
+        }
 
-            var cosePayload = serialize(signatureArray);
+        /**
+         * @param coseKey - CBOR bytes of the COSE_Key, not copied
+         */
+        public Builder coseKey(byte[] coseKey) {
+            return coseKey(ByteBuffer.wrap(Objects.requireNonNull(coseKey, "coseKey cannot be null")));
+        }
 
-            var isSignatureVerified = verifyMessage(
-                    cosePayload,
-                    ed25519SignatureByteString.getBytes(),
-                    ed25519PublicKeyBytes
-            );
+        /**
+         * @param coseKey - CBOR bytes of the COSE_Key between position and limit of the buffer, not copied
+         */
+        public Builder coseKey(ByteBuffer coseKey) {
+            Objects.requireNonNull(coseKey, "coseKey cannot be null");
+            this.coseKeyBytes = coseKey.asReadOnlyBuffer();
+            this.coseKey = Optional.empty();
+            return Builder.this;
+        }
 
-            var pubKey1 = Optional.ofNullable(deserializeCardanoAddressFromHeaderMap(protectedHeaderMap));
-            var pubKey2 = Optional.ofNullable(getED25519PublicKeyFromCoseKey(coseKey));
+        /**
+         * @param dataSignature - CIP-30 DataSignature, COSE_Sign1 and optional COSE_Key
+         */
+        public Builder dataSignature(DataSignature dataSignature) {
+            Objects.requireNonNull(dataSignature, "dataSignature cannot be null");
+            coseSign1(dataSignature.getCOSESign1());
+            coseKey(dataSignature.getCoseKey().orElse(null));
+            return Builder.this;
+        }
 
-            var isAddressVerified = true;
-            // check if public key from the signature matches with the public key passed in the coseKey
-            if (pubKey1.isPresent() && pubKey2.isPresent()) {
-                isAddressVerified = verifyAddress(new Address(pubKey1.orElseThrow()), pubKey2.orElseThrow());
+        /**
+         * @param engine - engine holding reusable verification state, typically shared by all verifiers,
+         *               by default {@link Cip30VerificationEngine#defaultEngine()}
+         */
+        public Builder engine(Cip30VerificationEngine engine) {
+            Objects.requireNonNull(engine, "engine is required");
+            this.engine = engine;
+            return Builder.this;
+        }
+
+        /**
+         * Creates an instance of the class {@code CIP30Verifier} using the information stored.
+         */
+        public CIP30Verifier build() {
+            if (coseSign1 == null && coseSign1Bytes == null) {
+                throw new IllegalStateException("coseSign1 is required");
             }
 
-            var b = Cip30VerificationResult.Builder.newBuilder();
-            b.isHashed(isHashed);
+            return new CIP30Verifier(coseSign1, coseKey, coseSign1Bytes, coseKeyBytes, engine);
+        }
+    }
 
-            if (isSignatureVerified && isAddressVerified) {
-                b.valid();
-            }
+    private static String requireNotBlank(String coseSign1) {
+        Objects.requireNonNull(coseSign1, "signature cannot be null");
+        if (coseSign1.isBlank()) {
+            throw new IllegalArgumentException("signature cannot blank");
+        }
+
+        return coseSign1;
+    }
+
+    private static ByteBuffer requireNotEmpty(ByteBuffer coseSign1) {
+        Objects.requireNonNull(coseSign1, "signature cannot be null");
+        if (!coseSign1.hasRemaining()) {
+            throw new IllegalArgumentException("signature cannot be empty");
+        }
+
+        return coseSign1;
+    }
+
+    /**
+     * Parses and verifies the DataSignature part of CIP-30 (signature and key).
+     *
+     * @return an instance of {@code Cip30VerificationResult}
+     * that contains all the information of the parsing / verification process
+     */
+    public Cip30VerificationResult verify() {
+        // a cached valid result would accept a replay
+        var resultCache = engine.getReplayGuard().isPresent() ? null : engine.getResultCache().orElse(null);
+        if (resultCache == null || isTooLarge()) {
+            return prepare().complete();
+        }
 
-            Optional.ofNullable(deserializeCardanoAddressFromHeaderMap(protectedHeaderMap)).ifPresent(b::address);
-            Optional.ofNullable(messageByteString.getBytes()).map(b::message);
-            b.ed25519PublicKey(ed25519PublicKeyBytes);
-            b.ed25519Signature(ed25519SignatureByteString.getBytes());
-            b.cosePayload(cosePayload);
+        final ByteBuffer coseSign1;
+        final Optional<ByteBuffer> coseKey;
+        try {
+            var timer = isHex() ? engine.startStage(HEX_DECODE) : null;
+            coseSign1 = coseSign1Buffer();
+            coseKey = coseKeyBuffer();
+            Cip30VerificationEngine.stop(timer);
+        } catch (CborFormatException e) {
+            return prepare().complete();
+        }
+        var key = Cip30VerificationResultCache.key(coseSign1, coseKey);
+        var cached = resultCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
 
-            return b.build();
-        } catch (CborException | ClassCastException e) {
-            return Cip30VerificationResult.createInvalid(CIP8_FORMAT_ERROR);
+        var prepared = parse(coseSign1, coseKey).prepare();
+        var result = prepared.complete();
+        if (prepared.isPending()) {
+            resultCache.put(key, result);
         }
+
+        return result;
+    }
+
+    /**
+     * Parses the DataSignature part of CIP-30 without any cryptographic checks.
+     * <p>
+     * Address, message and public key of the returned view are not verified, they can be used to decide
+     * whether the DataSignature is worth verifying, see {@link Cip30ParsedSignature#verify()}.
+     *
+     * @return an instance of {@code Cip30ParsedSignature}
+     */
+    public Cip30ParsedSignature parse() {
+        if (isTooLarge()) {
+            return Cip30ParsedSignature.invalid(CIP8_FORMAT_ERROR, FailureReason.INPUT_TOO_LARGE, engine);
+        }
+        final ByteBuffer coseSign1;
+        final Optional<ByteBuffer> coseKey;
+        try {
+            var timer = isHex() ? engine.startStage(HEX_DECODE) : null;
+            coseSign1 = coseSign1Buffer();
+            coseKey = coseKeyBuffer();
+            Cip30VerificationEngine.stop(timer);
+        } catch (CborFormatException e) {
+            return Cip30ParsedSignature.invalid(CIP8_FORMAT_ERROR, e.reason(), engine);
+        }
+
+        return parse(coseSign1, coseKey);
+    }
+
+    private Cip30ParsedSignature parse(ByteBuffer coseSign1, Optional<ByteBuffer> coseKey) {
+        try {
+            var timer = engine.startStage(CBOR_PARSE);
+            var parsed = ParsedDataSignature.parse(coseSign1, coseKey, engine.getDecodingLimits());
+            Cip30VerificationEngine.stop(timer);
+
+            return Cip30ParsedSignature.parsed(parsed, engine);
+        } catch (CborFormatException e) {
+            return Cip30ParsedSignature.invalid(CIP8_FORMAT_ERROR, e.reason(), engine);
+        }
+    }
+
+    /**
+     * Parses the DataSignature and performs all the checks except for the ED 25519 signature check.
+     *
+     * @return an instance of {@code PreparedVerification} which completes the verification
+     */
+    PreparedVerification prepare() {
+        return parse().prepare();
     }
 
     /**
      * Returns hex CBOR encoded COSE_Sign1
+     * <p>
+     * If COSE_Sign1 has been supplied as bytes, it is hex-encoded on each call.
      *
      * @return COSE_Sign1
      */
     public String getCOSESign1() {
-        return coseSign1;
+        if (coseSign1 != null) {
+            return coseSign1;
+        }
+
+        return HexUtil.encodeHexString(copy(coseSign1Bytes));
     }
 
     /**
      * Returns an optional of string containing the public key used to sign the message.
+     * <p>
+     * If COSE_Key has been supplied as bytes, it is hex-encoded on each call.
      *
      * @return the public key used to sign the message using CIP 30.
      */
     public Optional<String> getCoseKey() {
+        if (coseKeyBytes != null) {
+            return Optional.of(HexUtil.encodeHexString(copy(coseKeyBytes)));
+        }
+
         return coseKey;
     }
 
     /**
-     * Deserializes ED 25519 public key from supplied COSE_Key.
-     * <p>
-     * Function will first check if ED 25519 public key is available in the COSE_Key's header section (-2 index),
-     * if not it will extract public key from protectedHeaderMap taken from COSE_Sig1 (address key).
-     *
-     * @param coseKey - actual COSE_Key from DataSignature field of CIP-30 signData function
-     * @param protectedHeaderMap - extracted protected header map from COSE_Sig1
-     * @return an array of bytes containing ED 25519 public key or null if neither supplied COSE_Key and protectedHeaderMap
-     * contains ED 25519 public key
+     * @return CBOR bytes of the COSE_Sign1, hex is decoded on each call so that invalid hex surfaces on verification
      */
-    private static @Nullable byte[] deserializeED25519PublicKey(Optional<String> coseKey, Map protectedHeaderMap) {
-        return coseKey.map(hexString -> COSEKey.deserialize(HexUtil.decodeHexString(hexString)).otherHeaderAsBytes(-2))
-                .orElseGet(() -> deserializeCardanoAddressFromHeaderMap(protectedHeaderMap));
+    private ByteBuffer coseSign1Buffer() throws CborFormatException {
+        if (coseSign1Bytes != null) {
+            return coseSign1Bytes;
+        }
+
+        return decodeHex(coseSign1);
     }
 
     /**
-     * Deserialise ED 25519 public key from COSE_Key.
-     *
-     * @param coseKey
-     * @return
+     * @return CBOR bytes of the COSE_Key or empty if COSE_Key has not been supplied
      */
-    @Nullable
-    private static byte[] getED25519PublicKeyFromCoseKey(Optional<String> coseKey) {
-        return coseKey.map(hexString -> COSEKey.deserialize(HexUtil.decodeHexString(hexString)).otherHeaderAsBytes(-2))
-                .orElse(null);
+    private Optional<ByteBuffer> coseKeyBuffer() throws CborFormatException {
+        if (coseKeyBytes != null) {
+            return Optional.of(coseKeyBytes);
+        }
+
+        return coseKey.isPresent() ? Optional.of(decodeHex(coseKey.orElseThrow())) : Optional.empty();
+    }
+
+    private static ByteBuffer decodeHex(String hex) throws CborFormatException {
+        try {
+            return ByteBuffer.wrap(HexUtil.decodeHexString(hex));
+        } catch (IllegalArgumentException e) {
+            throw CborFormatException.of(FailureReason.INVALID_HEX);
+        }
     }
 
     /**
-     * Extracts Cardano address.
+     * Checks sizes of COSE_Sign1 and COSE_Key against the limit before anything is decoded.
      *
-     * @param protectedHeaderMap - protectedHeaderMap stored in signature field of DataSignature.
-     * @return an optional array of bytes containing the deserialized address if there is one,
-     * otherwise an empty optional.
+     * @return true if either of them exceeds the maximum input size
+     */
+    private boolean isTooLarge() {
+        var maxInputSize = engine.getDecodingLimits().getMaxInputSize();
+        var coseSign1Size = coseSign1Bytes != null ? coseSign1Bytes.remaining() : coseSign1.length() / 2;
+        var coseKeySize = coseKeyBytes != null ? coseKeyBytes.remaining() : coseKey.map(String::length).orElse(0) / 2;
+
+        return coseSign1Size > maxInputSize || coseKeySize > maxInputSize;
+    }
+
+    Cip30VerificationEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * @return true if either COSE_Sign1 or COSE_Key has been supplied as hex
      */
-    private static @Nullable byte[] deserializeCardanoAddressFromHeaderMap(Map protectedHeaderMap) {
-        return Optional.ofNullable((ByteString) protectedHeaderMap.get(new UnicodeString("address")))
-                .filter(byteString -> byteString.getBytes().length > 0)
-                .map(ByteString::getBytes)
-                .orElse(null);
+    private boolean isHex() {
+        return coseSign1Bytes == null || (coseKeyBytes == null && coseKey.isPresent());
+    }
+
+    private static byte[] copy(ByteBuffer buffer) {
+        var bytes = new byte[buffer.remaining()];
+        buffer.get(buffer.position(), bytes);
+
+        return bytes;
     }
 
 }
@@ -0,0 +1,38 @@
+package org.cardanofoundation.cip30;
+
+/**
+ * Thrown when CBOR bytes are malformed or do not follow the expected COSE layout.
+ * <p>
+ * Malformed input is an expected outcome rather than a bug, so exceptions carry only a {@link FailureReason}
+ * and no stack trace, a single shared instance is thrown for each reason.
+ */
+final class CborFormatException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final CborFormatException[] INSTANCES;
+
+    static {
+        var reasons = FailureReason.values();
+        INSTANCES = new CborFormatException[reasons.length];
+        for (var reason : reasons) {
+            INSTANCES[reason.ordinal()] = new CborFormatException(reason);
+        }
+    }
+
+    private final FailureReason reason;
+
+    private CborFormatException(FailureReason reason) {
+        super(reason.name(), null, false, false);
+        this.reason = reason;
+    }
+
+    static CborFormatException of(FailureReason reason) {
+        return INSTANCES[reason.ordinal()];
+    }
+
+    FailureReason reason() {
+        return reason;
+    }
+
+}
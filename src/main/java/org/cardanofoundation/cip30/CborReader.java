@@ -0,0 +1,295 @@
+package org.cardanofoundation.cip30;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Minimal streaming CBOR reader working directly on the encoded bytes.
+ * <p>
+ * Reader does not build any object model, it only walks data item heads and reports lengths and offsets
+ * of the contents in the underlying buffer. Only definite-length encodings are supported, which is what
+ * COSE_Sign1 and COSE_Key produced by CIP-30 wallets use.
+ * <p>
+ * Instances are not thread-safe, underlying buffer is never modified and its position and limit are not used.
+ */
+final class CborReader {
+
+    static final int MAJOR_TYPE_UNSIGNED_INTEGER = 0;
+
+    static final int MAJOR_TYPE_NEGATIVE_INTEGER = 1;
+
+    static final int MAJOR_TYPE_BYTE_STRING = 2;
+
+    static final int MAJOR_TYPE_TEXT_STRING = 3;
+
+    static final int MAJOR_TYPE_ARRAY = 4;
+
+    static final int MAJOR_TYPE_MAP = 5;
+
+    static final int MAJOR_TYPE_TAG = 6;
+
+    static final int MAJOR_TYPE_SIMPLE = 7;
+
+    static final int SIMPLE_TRUE = 21;
+
+    private final ByteBuffer buffer;
+
+    private final int limit;
+
+    private final DecodingLimits decodingLimits;
+
+    private int offset;
+
+    /**
+     * Creates a reader for bytes of buffer between offset (inclusive) and limit (exclusive).
+     */
+    CborReader(ByteBuffer buffer, int offset, int limit, DecodingLimits decodingLimits) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.limit = limit;
+        this.decodingLimits = decodingLimits;
+    }
+
+    /**
+     * @return offset of the next data item in the underlying buffer
+     */
+    int offset() {
+        return offset;
+    }
+
+    boolean hasRemaining() {
+        return offset < limit;
+    }
+
+    /**
+     * Skips tags (major type 6) preceding the next data item, COSE allows optional tagging e.g. COSE_Sign1 with tag 18.
+     *
+     * @return major type of the next data item
+     */
+    int peekMajorType() throws CborFormatException {
+        while (true) {
+            var majorType = (getByte(offset) & 0xff) >>> 5;
+            if (majorType != MAJOR_TYPE_TAG) {
+                return majorType;
+            }
+            readHead();
+        }
+    }
+
+    /**
+     * Reads head of an array.
+     *
+     * @return number of items in the array
+     */
+    int readArrayHeader() throws CborFormatException {
+        return readLength(MAJOR_TYPE_ARRAY);
+    }
+
+    /**
+     * Reads head of a map.
+     *
+     * @return number of entries in the map
+     */
+    int readMapHeader() throws CborFormatException {
+        var entries = readLength(MAJOR_TYPE_MAP);
+        if (entries > decodingLimits.getMaxMapEntries()) {
+            throw CborFormatException.of(FailureReason.TOO_MANY_ENTRIES);
+        }
+
+        return entries;
+    }
+
+    /**
+     * Reads head of a byte string, content of the byte string starts at {@link #offset()}.
+     *
+     * @return length of the byte string content
+     */
+    int readByteStringHeader() throws CborFormatException {
+        var length = readLength(MAJOR_TYPE_BYTE_STRING);
+        ensureAvailable(length);
+
+        return length;
+    }
+
+    /**
+     * Skips content of a byte string which head has been read with {@link #readByteStringHeader()}.
+     *
+     * @param length - length of the byte string content
+     */
+    void skipBytes(int length) throws CborFormatException {
+        ensureAvailable(length);
+        offset += length;
+    }
+
+    /**
+     * Reads an unsigned or negative integer fitting in a long.
+     */
+    long readInteger() throws CborFormatException {
+        var majorType = peekMajorType();
+        if (majorType != MAJOR_TYPE_UNSIGNED_INTEGER && majorType != MAJOR_TYPE_NEGATIVE_INTEGER) {
+            throw CborFormatException.of(FailureReason.UNEXPECTED_TYPE);
+        }
+        var value = readHead();
+        if (value < 0) {
+            throw CborFormatException.of(FailureReason.VALUE_OUT_OF_RANGE);
+        }
+
+        return majorType == MAJOR_TYPE_UNSIGNED_INTEGER ? value : -1 - value;
+    }
+
+    /**
+     * Checks if next data item is a simple value (major type 7) equal to the given one, reads it if so.
+     *
+     * @param expected - expected simple value, e.g. {@link #SIMPLE_TRUE}
+     * @return true if simple value has been matched and consumed, false if reader has not moved
+     */
+    boolean readSimpleValueIfEquals(int expected) throws CborFormatException {
+        var start = offset;
+        if (peekMajorType() != MAJOR_TYPE_SIMPLE || (getByte(offset) & 0x1f) > 24 || readHead() != expected) {
+            offset = start;
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if next data item is a text string equal to the given ASCII text, reads it if so.
+     *
+     * @param ascii - expected text encoded in ASCII (thus UTF-8)
+     * @return true if text string has been matched and consumed, false if reader has not moved
+     */
+    boolean readTextStringIfEquals(byte[] ascii) throws CborFormatException {
+        var start = offset;
+        if (peekMajorType() != MAJOR_TYPE_TEXT_STRING) {
+            offset = start;
+            return false;
+        }
+        var length = readLength(MAJOR_TYPE_TEXT_STRING);
+        ensureAvailable(length);
+        if (length != ascii.length) {
+            offset = start;
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(offset + i) != ascii[i]) {
+                offset = start;
+                return false;
+            }
+        }
+        offset += length;
+
+        return true;
+    }
+
+    /**
+     * Checks if next data item is an integer equal to the given value, reads it if so.
+     *
+     * @return true if integer has been matched and consumed, false if reader has not moved
+     */
+    boolean readIntegerIfEquals(long expected) throws CborFormatException {
+        var start = offset;
+        var majorType = peekMajorType();
+        if (majorType != MAJOR_TYPE_UNSIGNED_INTEGER && majorType != MAJOR_TYPE_NEGATIVE_INTEGER) {
+            offset = start;
+            return false;
+        }
+        if (readInteger() != expected) {
+            offset = start;
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Skips next data item including all nested data items.
+     */
+    void skip() throws CborFormatException {
+        skip(0);
+    }
+
+    private void skip(int depth) throws CborFormatException {
+        if (depth > decodingLimits.getMaxNestingDepth()) {
+            throw CborFormatException.of(FailureReason.NESTING_TOO_DEEP);
+        }
+        var majorType = peekMajorType();
+        switch (majorType) {
+            case MAJOR_TYPE_UNSIGNED_INTEGER, MAJOR_TYPE_NEGATIVE_INTEGER, MAJOR_TYPE_SIMPLE -> readHead();
+            case MAJOR_TYPE_BYTE_STRING, MAJOR_TYPE_TEXT_STRING -> {
+                var length = readLength(majorType);
+                ensureAvailable(length);
+                offset += length;
+            }
+            case MAJOR_TYPE_ARRAY -> {
+                var items = readLength(majorType);
+                for (int i = 0; i < items; i++) {
+                    skip(depth + 1);
+                }
+            }
+            case MAJOR_TYPE_MAP -> {
+                var entries = readMapHeader();
+                for (int i = 0; i < entries; i++) {
+                    skip(depth + 1);
+                    skip(depth + 1);
+                }
+            }
+            default -> throw CborFormatException.of(FailureReason.UNEXPECTED_TYPE);
+        }
+    }
+
+    private int readLength(int expectedMajorType) throws CborFormatException {
+        var majorType = peekMajorType();
+        if (majorType != expectedMajorType) {
+            throw CborFormatException.of(FailureReason.UNEXPECTED_TYPE);
+        }
+        var length = readHead();
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw CborFormatException.of(FailureReason.VALUE_OUT_OF_RANGE);
+        }
+
+        return (int) length;
+    }
+
+    /**
+     * Reads head of a data item.
+     *
+     * @return argument of the head, negative if it does not fit in a signed long
+     */
+    private long readHead() throws CborFormatException {
+        var initialByte = getByte(offset++) & 0xff;
+        var additionalInfo = initialByte & 0x1f;
+        if (additionalInfo < 24) {
+            return additionalInfo;
+        }
+
+        var size = switch (additionalInfo) {
+            case 24 -> 1;
+            case 25 -> 2;
+            case 26 -> 4;
+            case 27 -> 8;
+            default -> throw CborFormatException.of(FailureReason.UNSUPPORTED_ENCODING);
+        };
+        ensureAvailable(size);
+        long value = 0;
+        for (int i = 0; i < size; i++) {
+            value = (value << 8) | (buffer.get(offset++) & 0xff);
+        }
+
+        return value;
+    }
+
+    private byte getByte(int index) throws CborFormatException {
+        if (index >= limit) {
+            throw CborFormatException.of(FailureReason.TRUNCATED_INPUT);
+        }
+
+        return buffer.get(index);
+    }
+
+    private void ensureAvailable(long length) throws CborFormatException {
+        if (length > limit - offset) {
+            throw CborFormatException.of(FailureReason.TRUNCATED_INPUT);
+        }
+    }
+
+}
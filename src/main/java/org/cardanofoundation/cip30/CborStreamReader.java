@@ -0,0 +1,221 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Minimal CBOR reader working on a stream, counterpart of {@link CborReader} for input which is not held in memory.
+ * <p>
+ * Reader only consumes data item heads and small contents, large byte strings are left for the caller to consume
+ * straight from {@link #stream()}. Only definite-length encodings are supported.
+ * <p>
+ * Instances are not thread-safe.
+ */
+final class CborStreamReader {
+
+    private final InputStream stream;
+
+    private final DecodingLimits decodingLimits;
+
+    CborStreamReader(InputStream stream, DecodingLimits decodingLimits) {
+        this.stream = stream;
+        this.decodingLimits = decodingLimits;
+    }
+
+    /**
+     * @return underlying stream positioned right after the last data item (or head) read
+     */
+    InputStream stream() {
+        return stream;
+    }
+
+    /**
+     * Skips tags (major type 6) and reads head of an array.
+     *
+     * @return number of items in the array
+     */
+    int readArrayHeader() throws CborFormatException, IOException {
+        var head = readHead(null, true);
+
+        return length(head, CborReader.MAJOR_TYPE_ARRAY);
+    }
+
+    /**
+     * Reads head of a byte string, content of the byte string follows in {@link #stream()}.
+     *
+     * @return length of the byte string content
+     */
+    long readByteStringHeader() throws CborFormatException, IOException {
+        var head = readHead(null, true);
+        if (head.majorType != CborReader.MAJOR_TYPE_BYTE_STRING) {
+            throw CborFormatException.of(FailureReason.UNEXPECTED_TYPE);
+        }
+        if (head.value < 0) {
+            throw CborFormatException.of(FailureReason.VALUE_OUT_OF_RANGE);
+        }
+
+        return head.value;
+    }
+
+    /**
+     * Reads a byte string which is known to be small.
+     *
+     * @param maxLength - maximum accepted length of the content
+     * @return content of the byte string
+     */
+    byte[] readByteString(int maxLength) throws CborFormatException, IOException {
+        var length = readByteStringHeader();
+        if (length > maxLength) {
+            throw CborFormatException.of(FailureReason.ITEM_TOO_LONG);
+        }
+
+        return readBytes((int) length);
+    }
+
+    /**
+     * Reads next data item including all nested data items as it is encoded.
+     *
+     * @param maxLength - maximum accepted length of the encoded data item
+     * @return encoded data item
+     */
+    byte[] readRawItem(int maxLength) throws CborFormatException, IOException {
+        var out = new LimitedOutputStream(maxLength);
+        copyItem(out, 0);
+
+        return out.toByteArray();
+    }
+
+    byte[] readBytes(int length) throws CborFormatException, IOException {
+        var bytes = stream.readNBytes(length);
+        if (bytes.length != length) {
+            throw CborFormatException.of(FailureReason.TRUNCATED_INPUT);
+        }
+
+        return bytes;
+    }
+
+    private void copyItem(LimitedOutputStream out, int depth) throws CborFormatException, IOException {
+        if (depth > decodingLimits.getMaxNestingDepth()) {
+            throw CborFormatException.of(FailureReason.NESTING_TOO_DEEP);
+        }
+        var head = readHead(out, false);
+        switch (head.majorType) {
+            case CborReader.MAJOR_TYPE_UNSIGNED_INTEGER, CborReader.MAJOR_TYPE_NEGATIVE_INTEGER, CborReader.MAJOR_TYPE_SIMPLE -> {
+            }
+            case CborReader.MAJOR_TYPE_BYTE_STRING, CborReader.MAJOR_TYPE_TEXT_STRING -> {
+                var length = length(head, head.majorType);
+                out.ensureCapacity(length);
+                out.write(readBytes(length));
+            }
+            case CborReader.MAJOR_TYPE_ARRAY -> {
+                var items = length(head, head.majorType);
+                for (int i = 0; i < items; i++) {
+                    copyItem(out, depth + 1);
+                }
+            }
+            case CborReader.MAJOR_TYPE_MAP -> {
+                var entries = length(head, head.majorType);
+                if (entries > decodingLimits.getMaxMapEntries()) {
+                    throw CborFormatException.of(FailureReason.TOO_MANY_ENTRIES);
+                }
+                for (int i = 0; i < entries; i++) {
+                    copyItem(out, depth + 1);
+                    copyItem(out, depth + 1);
+                }
+            }
+            case CborReader.MAJOR_TYPE_TAG -> copyItem(out, depth + 1);
+            default -> throw CborFormatException.of(FailureReason.UNEXPECTED_TYPE);
+        }
+    }
+
+    private static int length(Head head, int expectedMajorType) throws CborFormatException {
+        if (head.majorType != expectedMajorType) {
+            throw CborFormatException.of(FailureReason.UNEXPECTED_TYPE);
+        }
+        if (head.value < 0 || head.value > Integer.MAX_VALUE) {
+            throw CborFormatException.of(FailureReason.VALUE_OUT_OF_RANGE);
+        }
+
+        return (int) head.value;
+    }
+
+    /**
+     * Reads head of a data item.
+     *
+     * @param out      - stream the encoded head is copied to, if any
+     * @param skipTags - whether tags preceding the data item should be skipped
+     * @return head with argument negative if it does not fit in a signed long
+     */
+    private Head readHead(@Nullable LimitedOutputStream out, boolean skipTags) throws CborFormatException, IOException {
+        while (true) {
+            var initialByte = readByte(out);
+            var majorType = initialByte >>> 5;
+            var additionalInfo = initialByte & 0x1f;
+
+            long value;
+            if (additionalInfo < 24) {
+                value = additionalInfo;
+            } else {
+                var size = switch (additionalInfo) {
+                    case 24 -> 1;
+                    case 25 -> 2;
+                    case 26 -> 4;
+                    case 27 -> 8;
+                    default -> throw CborFormatException.of(FailureReason.UNSUPPORTED_ENCODING);
+                };
+                value = 0;
+                for (int i = 0; i < size; i++) {
+                    value = (value << 8) | readByte(out);
+                }
+            }
+            if (!skipTags || majorType != CborReader.MAJOR_TYPE_TAG) {
+                return new Head(majorType, value);
+            }
+        }
+    }
+
+    private int readByte(@Nullable LimitedOutputStream out) throws CborFormatException, IOException {
+        var b = stream.read();
+        if (b < 0) {
+            throw CborFormatException.of(FailureReason.TRUNCATED_INPUT);
+        }
+        if (out != null) {
+            out.ensureCapacity(1);
+            out.write(b);
+        }
+
+        return b;
+    }
+
+    private static final class Head {
+
+        private final int majorType;
+
+        private final long value;
+
+        private Head(int majorType, long value) {
+            this.majorType = majorType;
+            this.value = value;
+        }
+
+    }
+
+    private static final class LimitedOutputStream extends ByteArrayOutputStream {
+
+        private final int maxLength;
+
+        private LimitedOutputStream(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        private void ensureCapacity(int length) throws CborFormatException {
+            if (length > maxLength - count) {
+                throw CborFormatException.of(FailureReason.ITEM_TOO_LONG);
+            }
+        }
+
+    }
+
+}
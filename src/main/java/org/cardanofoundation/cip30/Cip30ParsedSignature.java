@@ -0,0 +1,217 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parsed view of a CIP-30 DataSignature, returned by {@link CIP30Verifier#parse()}.
+ * <p>
+ * Parsing only walks the CBOR structures, which is cheap, so address, message and public key are available
+ * without running any cryptography, e.g. for routing or rate limiting by address. The values are extracted
+ * lazily on first access. Values exposed here are NOT verified, ED 25519 signature and address binding
+ * are checked only when {@link #verify()} is called, its result is memoized.
+ * <p>
+ * The view keeps a reference to the inputs of the verifier, they must not be modified while the view is in use.
+ * Instances are thread-safe.
+ */
+@ParametersAreNonnullByDefault
+public final class Cip30ParsedSignature {
+
+    /**
+     * Parsed DataSignature, null if parsing failed.
+     */
+    @Nullable
+    private final ParsedDataSignature parsed;
+
+    /**
+     * Error found during parsing or structural checks, null if DataSignature is worth verifying.
+     */
+    @Nullable
+    private final ValidationError validationError;
+
+    @Nullable
+    private final FailureReason failureReason;
+
+    private final Cip30VerificationEngine engine;
+
+    @Nullable
+    private volatile byte[] message;
+
+    @Nullable
+    private volatile Cip30VerificationResult result;
+
+    private Cip30ParsedSignature(@Nullable ParsedDataSignature parsed,
+                                 @Nullable ValidationError validationError,
+                                 @Nullable FailureReason failureReason,
+                                 Cip30VerificationEngine engine) {
+        this.parsed = parsed;
+        this.validationError = validationError;
+        this.failureReason = failureReason;
+        this.engine = engine;
+    }
+
+    static Cip30ParsedSignature parsed(ParsedDataSignature parsed, Cip30VerificationEngine engine) {
+        var failureReason = parsed.check();
+        if (failureReason != null) {
+            return new Cip30ParsedSignature(parsed, failureReason.validationError(), failureReason, engine);
+        }
+
+        return new Cip30ParsedSignature(parsed, null, null, engine);
+    }
+
+    static Cip30ParsedSignature invalid(ValidationError error, FailureReason reason, Cip30VerificationEngine engine) {
+        return new Cip30ParsedSignature(null, error, reason, engine);
+    }
+
+    /**
+     * Checks if DataSignature could be parsed and passes the structural checks (trailing bytes, algorithm,
+     * presence and lengths of the public key and signature), i.e. if it is worth verifying.
+     *
+     * @return true if there are no parsing errors, it does NOT mean that the DataSignature is valid
+     */
+    public boolean isParsed() {
+        return validationError == null;
+    }
+
+    /**
+     * @return error found during parsing or structural checks, e.g. {@link ValidationError#CIP8_FORMAT_ERROR},
+     * or empty if there is none
+     */
+    public Optional<ValidationError> getValidationError() {
+        return Optional.ofNullable(validationError);
+    }
+
+    /**
+     * @return details of the error found during parsing, or empty if there is none
+     */
+    public Optional<FailureReason> getFailureReason() {
+        return Optional.ofNullable(failureReason);
+    }
+
+    /**
+     * @return whether body of the message is hashed rather than full body
+     */
+    public boolean isHashed() {
+        return parsed != null && parsed.isHashed();
+    }
+
+    /**
+     * @return optionally present, unverified Cardano address
+     */
+    public Optional<byte[]> getAddress() {
+        return parsed == null ? Optional.empty() : Optional.ofNullable(parsed.getAddress());
+    }
+
+    public Optional<String> getAddress(AddressFormat format) {
+        return Cip30VerificationResult.formatAddress(getAddress(), format);
+    }
+
+    /**
+     * @return unverified signed message or null if DataSignature could not be parsed
+     */
+    public @Nullable byte[] getMessage() {
+        if (parsed == null) {
+            return null;
+        }
+        var m = message;
+        if (m == null) {
+            m = parsed.getMessage();
+            message = m;
+        }
+
+        return m;
+    }
+
+    /**
+     * Returns the unverified message in a specific encoding format and {@code UTF_8} charset.
+     *
+     * @param f The encoding format wanted for the returned message.
+     * @return the formatted message or null if DataSignature could not be parsed.
+     */
+    public @Nullable String getMessage(MessageFormat f) {
+        return Cip30VerificationResult.formatter(getMessage(), f, UTF_8);
+    }
+
+    /**
+     * @return ED 25519 public key which the signature is going to be verified with, null if there is none
+     */
+    public @Nullable byte[] getEd25519PublicKey() {
+        return parsed == null ? null : parsed.getEd25519PublicKey();
+    }
+
+    /**
+     * Verifies ED 25519 signature and address binding, the result is computed once and memoized.
+     *
+     * @return an instance of {@code Cip30VerificationResult}
+     */
+    public Cip30VerificationResult verify() {
+        var r = result;
+        if (r == null) {
+            synchronized (this) {
+                r = result;
+                if (r == null) {
+                    r = prepare().complete();
+                    result = r;
+                }
+            }
+        }
+
+        return r;
+    }
+
+    /**
+     * Performs all the checks except for the ED 25519 signature check, which is skipped altogether
+     * if any of these fails.
+     *
+     * @return an instance of {@code PreparedVerification} which completes the verification
+     */
+    PreparedVerification prepare() {
+        // without a public key there is nothing to report but the error, whichever structural check failed first
+        if (parsed == null || parsed.getEd25519PublicKey() == null) {
+            return PreparedVerification.invalid(validationError, failureReason, engine);
+        }
+        var reason = failureReason != null ? failureReason : checkAddress(parsed);
+        var isCompact = engine.isCompactResults();
+        var replayKey = reason == null ? engine.replayKey(parsed.getEd25519Signature(), parsed::getMessage, parsed.isHashed()) : null;
+        if (engine.isReplayed(replayKey)) {
+            reason = FailureReason.REPLAYED;
+        }
+
+        return PreparedVerification.pending(
+                parsed.isHashed(),
+                parsed.getAddress(),
+                isCompact ? null : getMessage(),
+                parsed.getEd25519PublicKey(),
+                parsed.getEd25519Signature(),
+                parsed.getCosePayload(),
+                reason,
+                replayKey,
+                parsed.getKeySource(),
+                isCompact ? parsed : null,
+                engine
+        );
+    }
+
+    @Nullable
+    private FailureReason checkAddress(ParsedDataSignature parsed) {
+        var timer = engine.startStage(VerificationMetrics.Stage.ADDRESS_CHECK);
+        var isAddressVerified = parsed.isAddressVerified();
+        Cip30VerificationEngine.stop(timer);
+
+        return isAddressVerified ? null : FailureReason.ADDRESS_MISMATCH;
+    }
+
+    @Override
+    public String toString() {
+        return "Cip30ParsedSignature{" +
+                "parsed=" + isParsed() +
+                ", validationError=" + validationError +
+                ", address=" + getAddress(AddressFormat.HEX).orElse(null) +
+                ", isHashed=" + isHashed() +
+                '}';
+    }
+
+}
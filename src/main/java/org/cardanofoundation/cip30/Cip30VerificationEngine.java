@@ -0,0 +1,528 @@
+package org.cardanofoundation.cip30;
+
+import com.bloxbean.cardano.client.crypto.Blake2bUtil;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import jdk.jfr.EventType;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.cardanofoundation.cip30.Ed25519.ED_DSA_PARAMETER_SPEC;
+import static org.cardanofoundation.cip30.Ed25519.SIGNATURE_LENGTH;
+import static org.cardanofoundation.cip30.VerificationMetrics.Stage.ED25519_VERIFY;
+import static org.cardanofoundation.cip30.VerificationMetrics.Stage.KEY_RESOLUTION;
+import static org.cardanofoundation.cip30.VerificationMetrics.Stage.REPLAY_CHECK;
+
+/**
+ * The {@code Cip30VerificationEngine} holds long-lived state used to verify CIP-30 DataSignatures.
+ * <p>
+ * ED 25519 engines and SHA-512 digests are expensive to look up through JCA and to allocate, the engine keeps one
+ * of each per thread and resets them between uses, so that short-lived {@link CIP30Verifier} instances do not
+ * rebuild them for every signature. Optional collaborators, e.g. {@link Ed25519PublicKeyCache},
+ * {@link Cip30VerificationResultCache} or {@link VerificationMetrics}, are configured here once and shared
+ * by all verifiers using the engine.
+ * <p>
+ * Instances are immutable and thread-safe. Verifiers which are not given an engine use {@link #defaultEngine()}.
+ */
+@ParametersAreNonnullByDefault
+public final class Cip30VerificationEngine {
+
+    /**
+     * Per thread SHA-512 digest used outside of ED 25519 engine, e.g. by batch verification.
+     */
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(Cip30VerificationEngine::newDigest);
+
+    /**
+     * Types of JFR events, looked up once so that no event is allocated while JFR does not record them.
+     */
+    private static final EventType STAGE_EVENT_TYPE = EventType.getEventType(VerificationStageEvent.class);
+
+    private static final EventType RESULT_EVENT_TYPE = EventType.getEventType(VerificationResultEvent.class);
+
+    /**
+     * Size of chunks in which streamed messages are read.
+     */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Length of Blake2b-224 hashes keying replay guards by message, and of hashed content.
+     */
+    private static final int MESSAGE_HASH_LENGTH = 28;
+
+    private static final Cip30VerificationEngine DEFAULT_ENGINE = Builder.newBuilder().build();
+
+    @Nullable
+    private final Ed25519PublicKeyCache publicKeyCache;
+
+    @Nullable
+    private final Cip30VerificationResultCache resultCache;
+
+    @Nullable
+    private final VerificationMetrics metrics;
+
+    @Nullable
+    private final DiagnosticListener diagnosticListener;
+
+    private final DecodingLimits decodingLimits;
+
+    private final boolean compactResults;
+
+    @Nullable
+    private final ReplayGuard replayGuard;
+
+    private final SignatureVerifierBackend signatureBackend;
+
+    private Cip30VerificationEngine(Builder builder) {
+        this.publicKeyCache = builder.publicKeyCache;
+        this.resultCache = builder.resultCache;
+        this.metrics = builder.metrics;
+        this.diagnosticListener = builder.diagnosticListener;
+        this.decodingLimits = builder.decodingLimits;
+        this.compactResults = builder.compactResults;
+        this.replayGuard = builder.replayGuard;
+        this.signatureBackend = builder.signatureBackend != null ? builder.signatureBackend : SignatureVerifierBackend.defaultBackend();
+    }
+
+    /**
+     * @return shared engine without any optional collaborators
+     */
+    public static Cip30VerificationEngine defaultEngine() {
+        return DEFAULT_ENGINE;
+    }
+
+    public static class Builder {
+
+        @Nullable
+        private Ed25519PublicKeyCache publicKeyCache;
+
+        @Nullable
+        private Cip30VerificationResultCache resultCache;
+
+        @Nullable
+        private VerificationMetrics metrics;
+
+        @Nullable
+        private DiagnosticListener diagnosticListener;
+
+        private DecodingLimits decodingLimits = DecodingLimits.defaultLimits();
+
+        private boolean compactResults;
+
+        @Nullable
+        private ReplayGuard replayGuard;
+
+        @Nullable
+        private SignatureVerifierBackend signatureBackend;
+
+        /**
+         * Creates an object {@code Builder} in charge of building the class {@code Cip30VerificationEngine}.
+         */
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * @param publicKeyCache - cache of decoded ED 25519 public keys
+         */
+        public Builder publicKeyCache(Ed25519PublicKeyCache publicKeyCache) {
+            Objects.requireNonNull(publicKeyCache, "publicKeyCache is required");
+            this.publicKeyCache = publicKeyCache;
+            return Builder.this;
+        }
+
+        /**
+         * @param resultCache - cache of verification results used by {@link CIP30Verifier#verify()}
+         */
+        public Builder resultCache(Cip30VerificationResultCache resultCache) {
+            Objects.requireNonNull(resultCache, "resultCache is required");
+            this.resultCache = resultCache;
+            return Builder.this;
+        }
+
+        /**
+         * @param metrics - receiver of stage durations and result counts, no measurements are taken without it
+         */
+        public Builder metrics(VerificationMetrics metrics) {
+            Objects.requireNonNull(metrics, "metrics is required");
+            this.metrics = metrics;
+            return Builder.this;
+        }
+
+        /**
+         * @param diagnosticListener - listener notified about every invalid DataSignature, usually rate-limited
+         */
+        public Builder diagnosticListener(DiagnosticListener diagnosticListener) {
+            Objects.requireNonNull(diagnosticListener, "diagnosticListener is required");
+            this.diagnosticListener = diagnosticListener;
+            return Builder.this;
+        }
+
+        /**
+         * @param decodingLimits - limits of size and shape of decoded CBOR, by default {@link DecodingLimits#defaultLimits()}
+         */
+        public Builder decodingLimits(DecodingLimits decodingLimits) {
+            Objects.requireNonNull(decodingLimits, "decodingLimits is required");
+            this.decodingLimits = decodingLimits;
+            return Builder.this;
+        }
+
+        /**
+         * @param compactResults - whether results of parsed DataSignatures refer to the verified COSE_Sign1 bytes
+         *                       rather than hold copies of its parts, which are then materialized on access,
+         *                       false by default. Bytes supplied to verifiers must not be modified while
+         *                       compact results are in use.
+         */
+        public Builder compactResults(boolean compactResults) {
+            this.compactResults = compactResults;
+            return Builder.this;
+        }
+
+        /**
+         * @param replayGuard - guard rejecting DataSignatures accepted before with {@link ValidationError#REPLAYED},
+         *                    the result cache is not used with it as a cached valid result would be a replay
+         */
+        public Builder replayGuard(ReplayGuard replayGuard) {
+            Objects.requireNonNull(replayGuard, "replayGuard is required");
+            this.replayGuard = replayGuard;
+            return Builder.this;
+        }
+
+        /**
+         * @param signatureBackend - implementation of ED 25519 checks of individual signatures, by default
+         *                         {@link SignatureVerifierBackend#defaultBackend()}
+         */
+        public Builder signatureBackend(SignatureVerifierBackend signatureBackend) {
+            Objects.requireNonNull(signatureBackend, "signatureBackend is required");
+            this.signatureBackend = signatureBackend;
+            return Builder.this;
+        }
+
+        /**
+         * Creates an instance of the class {@code Cip30VerificationEngine} using the information stored.
+         */
+        public Cip30VerificationEngine build() {
+            return new Cip30VerificationEngine(this);
+        }
+    }
+
+    /**
+     * @return cache of decoded ED 25519 public keys if configured
+     */
+    public Optional<Ed25519PublicKeyCache> getPublicKeyCache() {
+        return Optional.ofNullable(publicKeyCache);
+    }
+
+    /**
+     * @return cache of verification results if configured
+     */
+    public Optional<Cip30VerificationResultCache> getResultCache() {
+        return Optional.ofNullable(resultCache);
+    }
+
+    /**
+     * @return receiver of measurements if configured
+     */
+    public Optional<VerificationMetrics> getMetrics() {
+        return Optional.ofNullable(metrics);
+    }
+
+    /**
+     * @return listener notified about invalid DataSignatures if configured
+     */
+    public Optional<DiagnosticListener> getDiagnosticListener() {
+        return Optional.ofNullable(diagnosticListener);
+    }
+
+    /**
+     * @return limits enforced while decoding COSE_Sign1 and COSE_Key
+     */
+    public DecodingLimits getDecodingLimits() {
+        return decodingLimits;
+    }
+
+    /**
+     * @return true if results refer to the verified COSE_Sign1 bytes rather than hold copies of its parts
+     */
+    public boolean isCompactResults() {
+        return compactResults;
+    }
+
+    /**
+     * @return guard against replays if configured
+     */
+    public Optional<ReplayGuard> getReplayGuard() {
+        return Optional.ofNullable(replayGuard);
+    }
+
+    /**
+     * @return implementation of ED 25519 checks of individual signatures
+     */
+    public SignatureVerifierBackend getSignatureBackend() {
+        return signatureBackend;
+    }
+
+    /**
+     * Computes key of a DataSignature identifying its replays.
+     *
+     * @param message - supplier of the signed message, called only if the guard is keyed by message
+     * @return key, null if no replay guard is configured
+     */
+    @Nullable
+    byte[] replayKey(byte[] ed25519Signature, Supplier<byte[]> message, boolean isHashed) {
+        if (replayGuard == null) {
+            return null;
+        }
+
+        return switch (replayGuard.keyType()) {
+            case SIGNATURE -> ed25519Signature;
+            case MESSAGE_HASH -> {
+                var m = message.get();
+                yield isHashed && m.length == MESSAGE_HASH_LENGTH ? m : Blake2bUtil.blake2bHash224(m);
+            }
+        };
+    }
+
+    /**
+     * Computes key of a streamed DataSignature identifying its replays, equal to the key of the same
+     * DataSignature verified in memory. The message is hashed in chunks, it is never read into memory.
+     *
+     * @param message - signed message, read only if the guard is keyed by message
+     * @return key, null if no replay guard is configured
+     * @throws IOException if the message cannot be read
+     */
+    @Nullable
+    byte[] replayKey(byte[] ed25519Signature, ByteSource message, boolean isHashed) throws IOException {
+        if (replayGuard == null) {
+            return null;
+        }
+        if (replayGuard.keyType() == ReplayGuard.KeyType.SIGNATURE) {
+            return ed25519Signature;
+        }
+        if (isHashed && message.size() == MESSAGE_HASH_LENGTH) {
+            return message.read();
+        }
+
+        var digest = new Blake2bDigest(8 * MESSAGE_HASH_LENGTH);
+        try (var stream = message.openStream()) {
+            var buffer = new byte[(int) Math.min(STREAM_BUFFER_SIZE, Math.max(message.size(), 1))];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        var hash = new byte[MESSAGE_HASH_LENGTH];
+        digest.doFinal(hash, 0);
+
+        return hash;
+    }
+
+    /**
+     * @param replayKey - key of a DataSignature, null if there is no replay guard
+     * @return true if the DataSignature has been accepted before
+     */
+    boolean isReplayed(@Nullable byte[] replayKey) {
+        if (replayKey == null) {
+            return false;
+        }
+        var timer = startStage(REPLAY_CHECK);
+        var isReplayed = replayGuard.contains(replayKey);
+        stop(timer);
+
+        return isReplayed;
+    }
+
+    /**
+     * Records a valid DataSignature so that its replays are rejected.
+     *
+     * @param replayKey - key of the DataSignature, null if there is no replay guard
+     * @return true if recorded, false if it has been accepted before, e.g. by a concurrent verification
+     */
+    boolean recordAccepted(@Nullable byte[] replayKey) {
+        if (replayKey == null) {
+            return true;
+        }
+        var timer = startStage(REPLAY_CHECK);
+        var isRecorded = replayGuard.record(replayKey);
+        stop(timer);
+
+        return isRecorded;
+    }
+
+    /**
+     * Starts measuring a stage of verification.
+     *
+     * @param stage - stage to measure
+     * @return timer to stop when the stage finishes, null if neither metrics nor the JFR event are enabled
+     */
+    @Nullable
+    StageTimer startStage(VerificationMetrics.Stage stage) {
+        var isEventEnabled = STAGE_EVENT_TYPE.isEnabled();
+        if (metrics == null && !isEventEnabled) {
+            return null;
+        }
+
+        return new StageTimer(stage, metrics, isEventEnabled ? new VerificationStageEvent() : null);
+    }
+
+    /**
+     * Reports outcome of a verification to metrics, diagnostic listener and as a JFR event.
+     *
+     * @param result - result of the verification
+     * @param keySource - where the public key has been taken from, null if there is no public key
+     */
+    void recordResult(Cip30VerificationResult result, @Nullable VerificationMetrics.KeySource keySource) {
+        if (metrics != null) {
+            metrics.recordResult(result.getValidationError(), result.isHashed(), Optional.ofNullable(keySource));
+        }
+        if (diagnosticListener != null && !result.isValid()) {
+            diagnosticListener.onFailure(result.getValidationError().orElseThrow(), result.getFailureReason().orElse(null));
+        }
+        if (!RESULT_EVENT_TYPE.isEnabled()) {
+            return;
+        }
+        var event = new VerificationResultEvent();
+        if (event.shouldCommit()) {
+            event.valid = result.isValid();
+            event.validationError = result.getValidationError().map(Enum::name).orElse(null);
+            event.hashed = result.isHashed();
+            event.keySource = keySource != null ? keySource.name() : null;
+            event.commit();
+        }
+    }
+
+    /**
+     * In order to check validity of ED 25519 signature we have to verify COSE1 payload using ED 25519 public key
+     *
+     * @param cosePayload    - COSE Payload to verify
+     * @param signatureBytes - signed ED 25519 signature - extracted from CIP-30 DataSignature ('signature' field)
+     * @param publicKeyBytes - ED 25519 public key - either extracted from CIP-30 DataSignature ('key' field) or explicitly passed in
+     *
+     * @return true if supplied signature is valid according to the supplied ED 25519 public key
+     */
+    boolean verifySignature(final byte[] cosePayload,
+                            final byte[] signatureBytes,
+                            final byte[] publicKeyBytes) {
+        var timer = startStage(ED25519_VERIFY);
+        var isVerified = signatureBackend.verify(cosePayload, signatureBytes, publicKeyBytes, this);
+        stop(timer);
+
+        return isVerified;
+    }
+
+    /**
+     * Checks ED 25519 signature of a COSE payload which is too large to be held in memory, the payload is streamed
+     * through SHA-512 in chunks.
+     * <p>
+     * Performs the same checks as {@link #verifySignature(byte[], byte[], byte[])}: with h = SHA-512(R || A || M)
+     * the signature is valid if encoding of [S]B - [h]A equals R.
+     *
+     * @param cosePayloadHead - start of the COSE payload up to the message content
+     * @param message         - message content which completes the COSE payload
+     * @param signatureBytes  - signed ED 25519 signature
+     * @param publicKeyBytes  - ED 25519 public key
+     * @return true if supplied signature is valid according to the supplied ED 25519 public key
+     * @throws IOException if the message cannot be read
+     */
+    boolean verifySignature(final byte[] cosePayloadHead,
+                            final ByteSource message,
+                            final byte[] signatureBytes,
+                            final byte[] publicKeyBytes) throws IOException {
+        if (signatureBytes.length != SIGNATURE_LENGTH) {
+            return false;
+        }
+        final EdDSAPublicKey publicKey;
+        try {
+            publicKey = resolvePublicKey(publicKeyBytes);
+        } catch (Exception e) {
+            return false;
+        }
+
+        var timer = startStage(ED25519_VERIFY);
+        var encodedPointLength = SIGNATURE_LENGTH / 2;
+        var digest = digest();
+        final byte[] h;
+        try (var stream = message.openStream()) {
+            digest.update(signatureBytes, 0, encodedPointLength);
+            digest.update(publicKey.getAbyte());
+            digest.update(cosePayloadHead);
+            var buffer = new byte[(int) Math.min(STREAM_BUFFER_SIZE, Math.max(message.size(), 1))];
+            int read;
+            while ((read = stream.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+            h = ED_DSA_PARAMETER_SPEC.getScalarOps().reduce(digest.digest());
+        } finally {
+            digest.reset();
+        }
+
+        var s = Arrays.copyOfRange(signatureBytes, encodedPointLength, SIGNATURE_LENGTH);
+        var r = ED_DSA_PARAMETER_SPEC.getB()
+                .doubleScalarMultiplyVariableTime(publicKey.getNegativeA(), h, s)
+                .toByteArray();
+
+        var isVerified = MessageDigest.isEqual(r, Arrays.copyOf(signatureBytes, encodedPointLength));
+        stop(timer);
+
+        return isVerified;
+    }
+
+    static void stop(@Nullable StageTimer timer) {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Decodes ED 25519 public key, or looks it up in the {@link Ed25519PublicKeyCache} if one is configured.
+     *
+     * @throws IllegalArgumentException if bytes are not a valid ED 25519 public key
+     */
+    EdDSAPublicKey resolvePublicKey(byte[] publicKeyBytes) {
+        var timer = startStage(KEY_RESOLUTION);
+        var publicKey = publicKeyCache != null
+                ? publicKeyCache.get(publicKeyBytes)
+                : new EdDSAPublicKey(new EdDSAPublicKeySpec(publicKeyBytes, ED_DSA_PARAMETER_SPEC));
+        stop(timer);
+
+        return publicKey;
+    }
+
+    /**
+     * @return SHA-512 digest of the calling thread, it must be left reset after use
+     */
+    static MessageDigest digest() {
+        return DIGEST.get();
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ED_DSA_PARAMETER_SPEC.getHashAlgorithm());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-512 is not available", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Cip30VerificationEngine{" +
+                "publicKeyCache=" + publicKeyCache +
+                ", resultCache=" + resultCache +
+                ", metrics=" + metrics +
+                ", diagnosticListener=" + diagnosticListener +
+                ", decodingLimits=" + decodingLimits +
+                ", compactResults=" + compactResults +
+                ", replayGuard=" + replayGuard +
+                ", signatureBackend=" + signatureBackend +
+                '}';
+    }
+
+}
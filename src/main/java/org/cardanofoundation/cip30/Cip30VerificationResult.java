@@ -3,15 +3,20 @@ package org.cardanofoundation.cip30;
 import com.bloxbean.cardano.client.address.util.AddressUtil;
 import com.bloxbean.cardano.client.crypto.Blake2bUtil;
 import com.bloxbean.cardano.client.exception.AddressExcepion;
-import com.bloxbean.cardano.client.util.HexUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -19,6 +24,17 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * The Cip30VerificationResult contains validation information after parsing / verifying.
+ * <p>
+ * Instances are immutable and can be safely shared between threads. Byte arrays returned by getters are not copied,
+ * callers must not modify them.
+ * <p>
+ * A compact result (see {@link Cip30VerificationEngine.Builder#compactResults(boolean)}) holds only offsets into
+ * the verified COSE_Sign1 bytes instead of its own copies of message, signature and COSE payload, these are
+ * materialized into new arrays on every access.
+ * <p>
+ * Formatted values (hex, Base64, text, Bech32) are computed once per format and memoized, except for compact results
+ * and messages not held in memory. They can also be appended to an {@link Appendable} or put into a {@link ByteBuffer}
+ * without creating intermediate strings, e.g. when serializing results.
  */
 @ParametersAreNonnullByDefault
 public class Cip30VerificationResult {
@@ -28,40 +44,94 @@ public class Cip30VerificationResult {
      */
     private static final Logger logger = LoggerFactory.getLogger(CIP30Verifier.class);
 
+    private static final int PUBLIC_KEY = 0;
+
+    private static final int SIGNATURE = 1;
+
+    private static final int MESSAGE = 2;
+
+    private static final int COSE_PAYLOAD = 3;
+
+    private static final int FORMATS = MessageFormat.values().length;
+
+    /**
+     * Memoized formatted address follows formatted byte fields, one slot per {@code AddressFormat}.
+     */
+    private static final int ADDRESS_SLOT = 4 * FORMATS;
+
+    /**
+     * Memoized Bech32 of an address which cannot be converted to text.
+     */
+    private static final String NO_TEXT = "";
+
     /**
-     * Provides information in case that the validation of the message fails.
+     * Number of bytes encoded to Base64 at once when appending, a multiple of 3 so that no padding is produced.
      */
-    private Optional<ValidationError> validationError = Optional.of(ValidationError.UNKNOWN);
+    private static final int BASE64_CHUNK_SIZE = 384;
+
+    /**
+     * Provides information in case that the validation of the message fails, null if the DataSignature is valid.
+     */
+    @Nullable
+    private final ValidationError validationError;
+
+    /**
+     * Details why the DataSignature is invalid, null if it is valid or there are no details.
+     */
+    @Nullable
+    private final FailureReason failureReason;
 
     /**
      * Optional Cardano address as byte array
      */
-    private Optional<byte[]> address = Optional.empty();
+    @Nullable
+    private final byte[] address;
 
-    private byte[] ed25519PublicKey;
+    private final byte[] ed25519PublicKey;
 
-    private byte[] ed25519Signature;
+    private final byte[] ed25519Signature;
 
     /**
      * The actual message encoded in signature field of DataSignature.
      */
-    private byte[] message;
+    private final byte[] message;
+
+    /**
+     * The message when it is not held in memory, e.g. spooled by {@link CIP30StreamingVerifier}.
+     */
+    @Nullable
+    private final ByteSource messageSource;
 
     /**
      * This is cose wrapped message (Signature1) that has been directly signed by ED 25519 algorithm.
      */
-    private byte[] cosePayload;
+    private final byte[] cosePayload;
 
     /**
      * whether body of the message is hashed rather than full body
      */
-    private boolean isHashed;
+    private final boolean isHashed;
+
+    /**
+     * Parsed DataSignature of a compact result, which message, signature and COSE payload are taken from.
+     */
+    @Nullable
+    private final ParsedDataSignature parsed;
+
+    /**
+     * Memoized formatted values, allocated on first use. Races only recompute a value, strings are immutable.
+     */
+    @Nullable
+    private volatile String[] formatted;
 
     public static class Builder {
 
 
         private Optional<ValidationError> validationError = Optional.of(ValidationError.UNKNOWN);
 
+        @Nullable
+        private FailureReason failureReason;
+
         private Optional<byte[]> address = Optional.empty();
 
         private byte[] ed25519PublicKey;
@@ -70,10 +140,16 @@ public class Cip30VerificationResult {
 
         private byte[] message;
 
+        @Nullable
+        private ByteSource messageSource;
+
         private byte[] cosePayload;
 
         private boolean isHashed;
 
+        @Nullable
+        private ParsedDataSignature parsed;
+
         /**
          * Creates an object {@code Builder} in charge of building the class
          * {@code Cip30VerificationResult}.
@@ -94,6 +170,13 @@ public class Cip30VerificationResult {
             return Builder.this;
         }
 
+        public Builder failureReason(FailureReason failureReason) {
+            Objects.requireNonNull(failureReason, "failure reason is required");
+
+            this.failureReason = failureReason;
+            return Builder.this;
+        }
+
         public Builder address(byte[] address) {
             Objects.requireNonNull(address, "address is required");
             this.address = Optional.of(address);
@@ -117,6 +200,12 @@ public class Cip30VerificationResult {
             return Builder.this;
         }
 
+        Builder messageSource(ByteSource messageSource) {
+            Objects.requireNonNull(messageSource, "messageSource is required");
+            this.messageSource = messageSource;
+            return Builder.this;
+        }
+
         public Builder cosePayload(byte[] cosePayload) {
             Objects.requireNonNull(cosePayload, "cosePayload is required");
             this.cosePayload = cosePayload;
@@ -128,6 +217,16 @@ public class Cip30VerificationResult {
             return Builder.this;
         }
 
+        /**
+         * Makes the result compact, address, public key, signature, message and COSE payload are taken
+         * from the parsed DataSignature rather than set on the builder.
+         */
+        Builder parsed(ParsedDataSignature parsed) {
+            Objects.requireNonNull(parsed, "parsed is required");
+            this.parsed = parsed;
+            return Builder.this;
+        }
+
         /**
          * Creates an instance of the class {@code Cip30VerificationResult} using the information
          * stored.
@@ -143,13 +242,16 @@ public class Cip30VerificationResult {
      * @param builder
      */
     private Cip30VerificationResult(Builder builder) {
-        this.validationError = builder.validationError;
-        this.address = builder.address;
+        this.validationError = builder.validationError.orElse(null);
+        this.failureReason = builder.validationError.isPresent() ? builder.failureReason : null;
+        this.address = builder.parsed != null ? builder.parsed.getAddress() : builder.address.orElse(null);
         this.ed25519PublicKey = builder.ed25519PublicKey;
         this.ed25519Signature = builder.ed25519Signature;
         this.message = builder.message;
+        this.messageSource = builder.messageSource;
         this.cosePayload = builder.cosePayload;
         this.isHashed = builder.isHashed;
+        this.parsed = builder.parsed;
     }
 
     /**
@@ -158,7 +260,7 @@ public class Cip30VerificationResult {
      * @return true if valid, false otherwise
      */
     public boolean isValid() {
-        return validationError.isEmpty();
+        return validationError == null;
     }
 
     /**
@@ -168,24 +270,73 @@ public class Cip30VerificationResult {
      * if DataSignature is invalid it will return Optional with an actual {@code ValidationError}.
      */
     public Optional<ValidationError> getValidationError() {
-        return validationError;
+        return Optional.ofNullable(validationError);
+    }
+
+    /**
+     * Returns details why the DataSignature is invalid, more specific than {@link #getValidationError()}.
+     *
+     * @return if CIP-30 DataSignature is valid or there are no details returns Optional.empty,
+     * otherwise Optional with an actual {@code FailureReason}.
+     */
+    public Optional<FailureReason> getFailureReason() {
+        return Optional.ofNullable(failureReason);
     }
 
     /**
      * @return optionally present Cardano address
      */
     public Optional<byte[]> getAddress() {
-        return address;
+        return Optional.ofNullable(address);
     }
 
     public Optional<String> getAddress(AddressFormat format) {
+        Objects.requireNonNull(format, "format must be defined");
+        if (address == null) {
+            return Optional.empty();
+        }
+        var slots = slots();
+        var slot = ADDRESS_SLOT + format.ordinal();
+        var value = slots[slot];
+        if (value == null) {
+            value = formatAddress(getAddress(), format).orElse(NO_TEXT);
+            slots[slot] = value;
+        }
+
+        return value.equals(NO_TEXT) ? Optional.empty() : Optional.of(value);
+    }
+
+    /**
+     * Appends the formatted address.
+     *
+     * @param format - format of the address
+     * @param out - appendable to append to
+     * @return true if the address has been appended, false if there is no address or it cannot be formatted
+     * @throws IOException if the appendable fails
+     */
+    public boolean appendAddress(AddressFormat format, Appendable out) throws IOException {
+        Objects.requireNonNull(out, "out is required");
+        if (format == AddressFormat.HEX && address != null) {
+            Hex.encode(address, out);
+            return true;
+        }
+        var value = getAddress(format);
+        if (value.isEmpty()) {
+            return false;
+        }
+        out.append(value.get());
+
+        return true;
+    }
+
+    static Optional<String> formatAddress(Optional<byte[]> address, AddressFormat format) {
         return switch (format) {
-            case HEX -> address.map(HexUtil::encodeHexString);
+            case HEX -> address.map(Hex::encode);
             case TEXT -> address.flatMap(addr -> {
                 try {
                     return Optional.of(AddressUtil.bytesToAddress(addr));
                 } catch (AddressExcepion e) {
-                    logger.error("Error converting address to text", e);
+                    logger.debug("Error converting address to text", e);
                     return Optional.empty();
                 }
             });
@@ -197,6 +348,10 @@ public class Cip30VerificationResult {
      * Returns null in case CIP-30 DataSignature is invalid.
      */
     public @Nullable byte[] getEd25519PublicKey() {
+        if (parsed != null) {
+            return parsed.getEd25519PublicKey();
+        }
+
         return ed25519PublicKey;
     }
 
@@ -205,22 +360,57 @@ public class Cip30VerificationResult {
      * Returns null in case CIP-30 DataSignature is invalid.
      */
     public @Nullable byte[] getEd25519Signature() {
+        if (parsed != null) {
+            return parsed.getEd25519Signature();
+        }
+
         return ed25519Signature;
     }
 
     /**
      * @return actual signed message, which is embedded in signature part of DataSignature (CIP-30).
-     * Returns null in case CIP-30 DataSignature is invalid.
+     * Returns null in case CIP-30 DataSignature is invalid. A message of a compact result or a message which is
+     * not held in memory (see {@link #getMessageSource()}) is read into a new array on every call.
+     * @throws UncheckedIOException if a message which is not held in memory cannot be read
      */
     public @Nullable byte[] getMessage() {
-        return message;
+        if (parsed != null) {
+            return parsed.getMessage();
+        }
+        if (message != null || messageSource == null) {
+            return message;
+        }
+        try {
+            return messageSource.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the signed message as a {@code ByteSource}, which allows reading large messages
+     * without holding them in memory.
+     *
+     * @return optionally present message, empty in case CIP-30 DataSignature is invalid
+     */
+    public Optional<ByteSource> getMessageSource() {
+        if (messageSource != null) {
+            return Optional.of(messageSource);
+        }
+
+        return Optional.ofNullable(getMessage()).map(ByteSource::wrap);
     }
 
     /**
      * @return Signature1 map serialised as bytes, which is embedded in signature part of DataSignature (CIP-30).
-     * It will return null in case CIP-30 DataSignature is invalid.
+     * It will return null in case CIP-30 DataSignature is invalid or the message is not held in memory
+     * (see {@link #getMessageSource()}).
      */
     public @Nullable byte[] getCosePayload() {
+        if (parsed != null) {
+            return parsed.getCosePayload();
+        }
+
         return cosePayload;
     }
 
@@ -243,7 +433,7 @@ public class Cip30VerificationResult {
      * @return the formatted public key or null if CIP-30 DataSignature parsing / validation failed.
      */
     public String getEd25519PublicKey(MessageFormat f, Charset c) {
-        return formatter(ed25519PublicKey, f, c);
+        return format(PUBLIC_KEY, f, c);
     }
 
     /**
@@ -270,7 +460,7 @@ public class Cip30VerificationResult {
      * @return the formatted Ed25519 signature or null if CIP-30 DataSignature parsing / validation failed.
      */
     public @Nullable String getEd25519Signature(MessageFormat f, Charset c) {
-        return formatter(ed25519Signature, f, c);
+        return format(SIGNATURE, f, c);
     }
 
     /**
@@ -298,7 +488,7 @@ public class Cip30VerificationResult {
      * @return the formatted message or null if CIP-30 DataSignature parsing / validation failed.
      */
     public @Nullable String getMessage(MessageFormat f, Charset c) {
-        return formatter(message, f, c);
+        return format(MESSAGE, f, c);
     }
 
     /**
@@ -338,7 +528,179 @@ public class Cip30VerificationResult {
      * @return the COSE payload in the provided encoding format and charset.
      */
     public @Nullable String getCosePayload(MessageFormat f, Charset c) {
-        return formatter(cosePayload, f, c);
+        return format(COSE_PAYLOAD, f, c);
+    }
+
+    /**
+     * Appends the Ed25519 public key in a specific encoding format and {@code UTF_8} charset.
+     *
+     * @param f the encoding format
+     * @param out appendable to append to
+     * @return true if the public key has been appended, false if there is none
+     * @throws IOException if the appendable fails
+     */
+    public boolean appendEd25519PublicKey(MessageFormat f, Appendable out) throws IOException {
+        return append(PUBLIC_KEY, f, out);
+    }
+
+    /**
+     * Appends the Ed25519 signature in a specific encoding format and {@code UTF_8} charset.
+     *
+     * @param f the encoding format
+     * @param out appendable to append to
+     * @return true if the signature has been appended, false if there is none
+     * @throws IOException if the appendable fails
+     */
+    public boolean appendEd25519Signature(MessageFormat f, Appendable out) throws IOException {
+        return append(SIGNATURE, f, out);
+    }
+
+    /**
+     * Appends the message in a specific encoding format and {@code UTF_8} charset.
+     *
+     * @param f the encoding format
+     * @param out appendable to append to
+     * @return true if the message has been appended, false if there is none
+     * @throws IOException if the appendable fails or a message not held in memory cannot be read
+     */
+    public boolean appendMessage(MessageFormat f, Appendable out) throws IOException {
+        return append(MESSAGE, f, out);
+    }
+
+    /**
+     * Appends the COSE payload in a specific encoding format and {@code UTF_8} charset.
+     *
+     * @param f the encoding format
+     * @param out appendable to append to
+     * @return true if the COSE payload has been appended, false if there is none
+     * @throws IOException if the appendable fails
+     */
+    public boolean appendCosePayload(MessageFormat f, Appendable out) throws IOException {
+        return append(COSE_PAYLOAD, f, out);
+    }
+
+    /**
+     * Puts the message encoded in a specific format into a buffer, text is encoded in {@code UTF_8}.
+     *
+     * @param f the encoding format
+     * @param out buffer to put the encoded message into, from its position
+     * @return true if the message has been written, false if there is none
+     * @throws BufferOverflowException if the buffer has not enough room, nothing is written then
+     */
+    public boolean putMessage(MessageFormat f, ByteBuffer out) {
+        return put(getMessage(), f, out);
+    }
+
+    /**
+     * Puts the COSE payload encoded in a specific format into a buffer, text is encoded in {@code UTF_8}.
+     *
+     * @param f the encoding format
+     * @param out buffer to put the encoded COSE payload into, from its position
+     * @return true if the COSE payload has been written, false if there is none
+     * @throws BufferOverflowException if the buffer has not enough room, nothing is written then
+     */
+    public boolean putCosePayload(MessageFormat f, ByteBuffer out) {
+        return put(getCosePayload(), f, out);
+    }
+
+    @Nullable
+    private byte[] bytes(int field) {
+        return switch (field) {
+            case PUBLIC_KEY -> getEd25519PublicKey();
+            case SIGNATURE -> getEd25519Signature();
+            case MESSAGE -> getMessage();
+            default -> getCosePayload();
+        };
+    }
+
+    @Nullable
+    private String format(int field, MessageFormat f, Charset c) {
+        // formatted bytes of compact results and messages not held in memory are not kept either
+        if (f == null || c == null || parsed != null || (field == MESSAGE && messageSource != null)
+                || (f == MessageFormat.TEXT && !UTF_8.equals(c))) {
+            return formatter(bytes(field), f, c);
+        }
+        var slots = slots();
+        var slot = field * FORMATS + f.ordinal();
+        var value = slots[slot];
+        if (value == null) {
+            value = formatter(bytes(field), f, c);
+            slots[slot] = value;
+        }
+
+        return value;
+    }
+
+    private String[] slots() {
+        var slots = formatted;
+        if (slots == null) {
+            slots = new String[ADDRESS_SLOT + AddressFormat.values().length];
+            formatted = slots;
+        }
+
+        return slots;
+    }
+
+    private boolean append(int field, MessageFormat f, Appendable out) throws IOException {
+        Objects.requireNonNull(f, "format must be defined");
+        Objects.requireNonNull(out, "out is required");
+        var memoized = formatted;
+        if (memoized != null && memoized[field * FORMATS + f.ordinal()] != null) {
+            out.append(memoized[field * FORMATS + f.ordinal()]);
+            return true;
+        }
+        final byte[] bytes;
+        try {
+            bytes = bytes(field);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (bytes == null) {
+            return false;
+        }
+        switch (f) {
+            case HEX -> Hex.encode(bytes, out);
+            case TEXT -> out.append(new String(bytes, UTF_8));
+            case BASE64 -> appendBase64(bytes, out);
+        }
+
+        return true;
+    }
+
+    private static void appendBase64(byte[] bytes, Appendable out) throws IOException {
+        var encoder = Base64.getEncoder();
+        var encoded = new byte[4 * BASE64_CHUNK_SIZE / 3];
+        var chars = new char[encoded.length];
+        for (int offset = 0; offset < bytes.length; offset += BASE64_CHUNK_SIZE) {
+            var chunk = Arrays.copyOfRange(bytes, offset, Math.min(bytes.length, offset + BASE64_CHUNK_SIZE));
+            var length = encoder.encode(chunk, encoded);
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) encoded[i];
+            }
+            Hex.append(chars, length, out);
+        }
+    }
+
+    private static boolean put(@Nullable byte[] bytes, MessageFormat f, ByteBuffer out) {
+        Objects.requireNonNull(f, "format must be defined");
+        Objects.requireNonNull(out, "out is required");
+        if (bytes == null) {
+            return false;
+        }
+        switch (f) {
+            case HEX -> Hex.encode(bytes, out);
+            case TEXT -> putAll(new String(bytes, UTF_8).getBytes(UTF_8), out);
+            case BASE64 -> putAll(Base64.getEncoder().encode(bytes), out);
+        }
+
+        return true;
+    }
+
+    private static void putAll(byte[] bytes, ByteBuffer out) {
+        if (out.remaining() < bytes.length) {
+            throw new BufferOverflowException();
+        }
+        out.put(bytes);
     }
 
     /**
@@ -357,6 +719,13 @@ public class Cip30VerificationResult {
                 .build();
     }
 
+    static Cip30VerificationResult createInvalid(ValidationError error, FailureReason reason) {
+        return Builder.newBuilder()
+                .validationError(error)
+                .failureReason(reason)
+                .build();
+    }
+
     /**
      * Changes the format of the information provided.
      * <p>
@@ -369,7 +738,7 @@ public class Cip30VerificationResult {
      * @return array of bytes provided transformed to the encoding and format and
      * charset specified.
      */
-    private String formatter(byte[] bytes, MessageFormat f, Charset c) {
+    static String formatter(byte[] bytes, MessageFormat f, Charset c) {
         if (bytes == null) {
             return null;
         }
@@ -381,7 +750,7 @@ public class Cip30VerificationResult {
         }
 
         return switch (f) {
-            case HEX -> HexUtil.encodeHexString(bytes);
+            case HEX -> Hex.encode(bytes);
             case TEXT -> new String(bytes, c);
             case BASE64 -> Base64.getEncoder().encodeToString(bytes);
         };
@@ -403,19 +772,81 @@ public class Cip30VerificationResult {
     public boolean verifyPayload(String payload) {
         Objects.requireNonNull(payload, "payload cannot be null");
 
+        return verifyPayload(payload.getBytes(UTF_8));
+    }
+
+    /**
+     * Verifies if the provided payload bytes match the message in this signature, see {@link #verifyPayload(String)}.
+     *
+     * @param payload the payload to verify against this signature's message
+     * @return true if the payload matches the message, false otherwise
+     * @throws NullPointerException if payload is null
+     * @throws IllegalStateException if the signature is invalid (message is null)
+     */
+    public boolean verifyPayload(byte[] payload) {
+        Objects.requireNonNull(payload, "payload cannot be null");
+
+        var message = requireMessage();
+        // hashed content (hardware wallet scenario) is compared with the hash of the payload
+        return MessageDigest.isEqual(message, isHashed ? Blake2bUtil.blake2bHash224(payload) : payload);
+    }
+
+    /**
+     * Verifies if the remaining bytes of the provided buffer match the message in this signature,
+     * see {@link #verifyPayload(String)}. The position of the buffer is not changed.
+     *
+     * @param payload the payload to verify against this signature's message
+     * @return true if the payload matches the message, false otherwise
+     * @throws NullPointerException if payload is null
+     * @throws IllegalStateException if the signature is invalid (message is null)
+     */
+    public boolean verifyPayload(ByteBuffer payload) {
+        Objects.requireNonNull(payload, "payload cannot be null");
+        if (!isHashed && payload.remaining() != requireMessage().length) {
+            return false;
+        }
+        var bytes = new byte[payload.remaining()];
+        payload.duplicate().get(bytes);
+
+        return verifyPayload(bytes);
+    }
+
+    /**
+     * Finds which of the candidate payloads matches the message in this signature, e.g. which of the outstanding
+     * nonces of a user has been signed.
+     * <p>
+     * Each candidate is encoded (and hashed for hashed content) once and compared in constant time. To match many
+     * signatures against the same candidates, see {@link PayloadIndex}.
+     *
+     * @param candidates the candidate payloads
+     * @return the first candidate matching the message, empty if none does
+     * @throws NullPointerException if candidates or one of them is null
+     * @throws IllegalStateException if the signature is invalid (message is null)
+     */
+    public Optional<String> matchPayload(Collection<String> candidates) {
+        Objects.requireNonNull(candidates, "candidates cannot be null");
+
+        var message = requireMessage();
+        String match = null;
+        for (var candidate : candidates) {
+            Objects.requireNonNull(candidate, "candidate cannot be null");
+            var bytes = candidate.getBytes(UTF_8);
+            // all candidates are compared, the time taken does not reveal which one matches
+            if (MessageDigest.isEqual(message, isHashed ? Blake2bUtil.blake2bHash224(bytes) : bytes) && match == null) {
+                match = candidate;
+            }
+        }
+
+        return Optional.ofNullable(match);
+    }
+
+    private byte[] requireMessage() {
+        var message = getMessage();
         if (message == null) {
             throw new IllegalStateException("Cannot verify payload: signature is invalid (message is null)");
         }
 
-        if (isHashed) {
-            // For hashed content, hash the payload and compare with message
-            byte[] hashedPayload = Blake2bUtil.blake2bHash224(payload.getBytes(UTF_8));
-            return Arrays.equals(message, hashedPayload);
-        } else {
-            // For unhashed content, compare payload directly with message
-            byte[] payloadBytes = payload.getBytes(UTF_8);
-            return Arrays.equals(message, payloadBytes);
-        }
+        return message;
     }
 
     /**
@@ -427,14 +858,17 @@ public class Cip30VerificationResult {
     @Override
     public String toString() {
         return "Cip30VerificationResult{" +
-                "valid=" + validationError.isEmpty() +
-                ", validationError=" + validationError +
-                ", address=" + address +
+                "valid=" + isValid() +
+                ", validationError=" + getValidationError() +
+                ", failureReason=" + failureReason +
+                ", address=" + getAddress() +
                 ", ed25519PublicKey=" + ed25519PublicKey +
                 ", ed25519Signature=" + ed25519Signature +
                 ", message=" + message +
+                ", messageSource=" + messageSource +
                 ", cosePayload=" + cosePayload +
                 ", isHashed=" + isHashed +
+                ", compact=" + (parsed != null) +
                 '}';
     }
 
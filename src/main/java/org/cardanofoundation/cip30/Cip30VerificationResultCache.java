@@ -0,0 +1,241 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded, time-expiring cache of verification results, keyed by a digest of the COSE_Sign1 and COSE_Key bytes.
+ * <p>
+ * Retried and replayed requests often carry exactly the same DataSignature within seconds, the cache returns
+ * the {@link Cip30VerificationResult} computed the first time instead of checking the ED 25519 signature again.
+ * Only results of cryptographic checks are cached, DataSignatures which cannot be parsed or have no public key
+ * are rejected cheaply anyway. Entries are keyed by the lengths of the input bytes and their SHA-512 digest
+ * truncated to 256 bits, so an entry takes the same memory whatever the size of the DataSignature and finding
+ * another DataSignature with the same key is computationally infeasible.
+ * <p>
+ * The cache is split into segments, each evicting its least recently used entries. Instances are thread-safe
+ * and meant to be shared, see {@link Cip30VerificationEngine.Builder#resultCache(Cip30VerificationResultCache)}.
+ */
+@ParametersAreNonnullByDefault
+public final class Cip30VerificationResultCache {
+
+    private static final int DIGEST_LENGTH = 32;
+
+    private final SegmentedLruCache<Key, Entry> entries;
+
+    private final int maximumSize;
+
+    private final Duration timeToLive;
+
+    private final long timeToLiveNanos;
+
+    private final LongSupplier ticker;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Creates a {@code Cip30VerificationResultCache}.
+     *
+     * @param maximumSize - maximum number of verification results kept in the cache
+     * @param timeToLive  - how long a verification result is returned after it has been computed
+     */
+    public Cip30VerificationResultCache(int maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, System::nanoTime);
+    }
+
+    Cip30VerificationResultCache(int maximumSize, Duration timeToLive, LongSupplier ticker) {
+        Objects.requireNonNull(timeToLive, "timeToLive is required");
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        this.entries = new SegmentedLruCache<>(maximumSize);
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.timeToLiveNanos = saturatedNanos(timeToLive);
+        this.ticker = ticker;
+    }
+
+    /**
+     * Creates a lookup key from the digest of the input bytes, buffers are read between position and limit
+     * and their positions are left unchanged.
+     *
+     * @param coseSign1 - CBOR bytes of COSE_Sign1
+     * @param coseKey   - CBOR bytes of COSE_Key if supplied
+     * @return key to look the verification result up with
+     */
+    static Key key(ByteBuffer coseSign1, Optional<ByteBuffer> coseKey) {
+        var digest = Cip30VerificationEngine.digest();
+        digest.update(coseSign1.duplicate());
+        coseKey.ifPresent(buffer -> digest.update(buffer.duplicate()));
+        // resets the digest
+        var hash = Arrays.copyOf(digest.digest(), DIGEST_LENGTH);
+
+        return new Key(hash, coseSign1.remaining(), coseKey.map(ByteBuffer::remaining).orElse(-1));
+    }
+
+    /**
+     * @return verification result which has not expired yet or null if there is none
+     */
+    @Nullable
+    Cip30VerificationResult get(Key key) {
+        var entry = entries.get(key);
+        if (entry != null && ticker.getAsLong() - entry.expiresAt >= 0) {
+            if (entries.remove(key, entry)) {
+                expirations.increment();
+            }
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+
+        return entry.result;
+    }
+
+    void put(Key key, Cip30VerificationResult result) {
+        entries.put(key, new Entry(result, ticker.getAsLong() + timeToLiveNanos));
+    }
+
+    /**
+     * @return maximum number of verification results kept in the cache
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return how long a verification result is returned after it has been computed
+     */
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * @return current number of entries in the cache, including expired ones which have not been removed yet
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return number of lookups which returned a cached verification result
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups which did not find a verification result or found an expired one
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of verification results evicted because the cache was full
+     */
+    public long evictionCount() {
+        return entries.evictionCount();
+    }
+
+    /**
+     * @return number of verification results removed because they expired
+     */
+    public long expirationCount() {
+        return expirations.sum();
+    }
+
+    /**
+     * Removes all verification results, counters are not reset.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "Cip30VerificationResultCache{" +
+                "maximumSize=" + maximumSize +
+                ", timeToLive=" + timeToLive +
+                ", size=" + size() +
+                ", hitCount=" + hitCount() +
+                ", missCount=" + missCount() +
+                ", evictionCount=" + evictionCount() +
+                ", expirationCount=" + expirationCount() +
+                '}';
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE / 2;
+        }
+    }
+
+    static final class Key {
+
+        private final byte[] digest;
+
+        private final int coseSign1Length;
+
+        /**
+         * -1 if COSE_Key has not been supplied.
+         */
+        private final int coseKeyLength;
+
+        private final int hash;
+
+        private Key(byte[] digest, int coseSign1Length, int coseKeyLength) {
+            this.digest = digest;
+            this.coseSign1Length = coseSign1Length;
+            this.coseKeyLength = coseKeyLength;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            var key = (Key) o;
+
+            return coseSign1Length == key.coseSign1Length && coseKeyLength == key.coseKeyLength && Arrays.equals(digest, key.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final Cip30VerificationResult result;
+
+        /**
+         * Ticker value at which the entry expires.
+         */
+        private final long expiresAt;
+
+        private Entry(Cip30VerificationResult result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+
+    }
+
+}
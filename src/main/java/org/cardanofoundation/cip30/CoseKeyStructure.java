@@ -0,0 +1,114 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of a COSE_Key structure, parsed in a single pass without building a CBOR object graph.
+ * <p>
+ * For an OKP key (RFC 8152, section 13.2) the ED 25519 public key is stored under label -2 (x coordinate),
+ * only its offset in the original buffer is recorded.
+ */
+final class CoseKeyStructure {
+
+    private static final long ALG_LABEL = 3;
+
+    private static final long X_LABEL = -2;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Offset of the public key, -1 if COSE_Key does not contain label -2.
+     */
+    private final int publicKeyOffset;
+
+    private final int publicKeyLength;
+
+    /**
+     * Whether algorithm of the key is EdDSA or not given.
+     */
+    private final boolean isSupportedAlgorithm;
+
+    private final boolean hasTrailingBytes;
+
+    private CoseKeyStructure(ByteBuffer buffer,
+                             int publicKeyOffset,
+                             int publicKeyLength,
+                             boolean isSupportedAlgorithm,
+                             boolean hasTrailingBytes) {
+        this.buffer = buffer;
+        this.publicKeyOffset = publicKeyOffset;
+        this.publicKeyLength = publicKeyLength;
+        this.isSupportedAlgorithm = isSupportedAlgorithm;
+        this.hasTrailingBytes = hasTrailingBytes;
+    }
+
+    /**
+     * Parses CBOR encoded COSE_Key, bytes following the COSE_Key are not parsed, see {@link #hasTrailingBytes()}.
+     *
+     * @param buffer - buffer holding COSE_Key between its position and limit, buffer must not be modified afterwards
+     * @param decodingLimits - limits enforced while parsing
+     * @return layout of the COSE_Key
+     * @throws CborFormatException if bytes are not a COSE_Key or exceed the limits
+     */
+    static CoseKeyStructure parse(ByteBuffer buffer, DecodingLimits decodingLimits) throws CborFormatException {
+        if (buffer.remaining() > decodingLimits.getMaxInputSize()) {
+            throw CborFormatException.of(FailureReason.INPUT_TOO_LARGE);
+        }
+        var reader = new CborReader(buffer, buffer.position(), buffer.limit(), decodingLimits);
+
+        if (reader.peekMajorType() != CborReader.MAJOR_TYPE_MAP) {
+            throw CborFormatException.of(FailureReason.INVALID_COSE_KEY);
+        }
+        var publicKeyOffset = -1;
+        var publicKeyLength = 0;
+        var isSupportedAlgorithm = true;
+        var entries = reader.readMapHeader();
+        for (int i = 0; i < entries; i++) {
+            if (reader.readIntegerIfEquals(X_LABEL)) {
+                publicKeyLength = reader.readByteStringHeader();
+                publicKeyOffset = reader.offset();
+                reader.skipBytes(publicKeyLength);
+            } else if (reader.readIntegerIfEquals(ALG_LABEL)) {
+                isSupportedAlgorithm = reader.readIntegerIfEquals(CoseSign1Structure.ALG_EDDSA);
+                if (!isSupportedAlgorithm) {
+                    reader.skip();
+                }
+            } else {
+                reader.skip();
+                reader.skip();
+            }
+        }
+
+        return new CoseKeyStructure(buffer, publicKeyOffset, publicKeyLength, isSupportedAlgorithm, reader.hasRemaining());
+    }
+
+    /**
+     * @return true if the key declares EdDSA algorithm or does not declare any
+     */
+    boolean isSupportedAlgorithm() {
+        return isSupportedAlgorithm;
+    }
+
+    /**
+     * @return true if the buffer holds more bytes after the COSE_Key
+     */
+    boolean hasTrailingBytes() {
+        return hasTrailingBytes;
+    }
+
+    /**
+     * @return ED 25519 public key (label -2) or null if COSE_Key does not contain one
+     */
+    @Nullable
+    byte[] publicKey() {
+        if (publicKeyOffset < 0) {
+            return null;
+        }
+        var bytes = new byte[publicKeyLength];
+        buffer.get(publicKeyOffset, bytes);
+
+        return bytes;
+    }
+
+}
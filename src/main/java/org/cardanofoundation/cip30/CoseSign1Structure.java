@@ -0,0 +1,335 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Layout of a COSE_Sign1 structure, parsed in a single pass without building a CBOR object graph.
+ * <p>
+ * Only offsets and lengths of the byte strings in the original buffer are recorded:
+ * <pre>
+ * COSE_Sign1 = [
+ *     protected : bstr .cbor { 1: alg, "address": bstr, ... },
+ *     unprotected : { "hashed": bool, ... },
+ *     payload : bstr,
+ *     signature : bstr
+ * ]
+ * </pre>
+ * Contents are copied out of the buffer only when asked for.
+ */
+final class CoseSign1Structure {
+
+    private static final byte[] ADDRESS_LABEL = "address".getBytes(US_ASCII);
+
+    private static final byte[] HASHED_LABEL = "hashed".getBytes(US_ASCII);
+
+    private static final long ALG_LABEL = 1;
+
+    /**
+     * EdDSA algorithm identifier (RFC 8152, section 8.2).
+     */
+    static final long ALG_EDDSA = -8;
+
+    /**
+     * Encoded start of the Sig_structure, array of 4 items followed by text string "Signature1".
+     */
+    private static final byte[] SIG_STRUCTURE_PREFIX = {
+            (byte) 0x84, 0x6a, 'S', 'i', 'g', 'n', 'a', 't', 'u', 'r', 'e', '1'
+    };
+
+    /**
+     * Encoded empty byte string, external_aad is not used by CIP-30.
+     */
+    private static final byte EMPTY_BYTE_STRING = 0x40;
+
+    private final ByteBuffer buffer;
+
+    private final int protectedHeaderOffset;
+
+    private final int protectedHeaderLength;
+
+    /**
+     * Offset of the address in the protected header, -1 if there is no address or it is empty.
+     */
+    private final int addressOffset;
+
+    private final int addressLength;
+
+    private final boolean isHashed;
+
+    /**
+     * Whether algorithm in the protected header is EdDSA or not given.
+     */
+    private final boolean isSupportedAlgorithm;
+
+    private final int messageOffset;
+
+    private final int messageLength;
+
+    private final int signatureOffset;
+
+    private final int signatureLength;
+
+    private final boolean hasTrailingBytes;
+
+    private CoseSign1Structure(ByteBuffer buffer,
+                               int protectedHeaderOffset,
+                               int protectedHeaderLength,
+                               int addressOffset,
+                               int addressLength,
+                               boolean isHashed,
+                               boolean isSupportedAlgorithm,
+                               int messageOffset,
+                               int messageLength,
+                               int signatureOffset,
+                               int signatureLength,
+                               boolean hasTrailingBytes) {
+        this.buffer = buffer;
+        this.protectedHeaderOffset = protectedHeaderOffset;
+        this.protectedHeaderLength = protectedHeaderLength;
+        this.addressOffset = addressOffset;
+        this.addressLength = addressLength;
+        this.isHashed = isHashed;
+        this.isSupportedAlgorithm = isSupportedAlgorithm;
+        this.messageOffset = messageOffset;
+        this.messageLength = messageLength;
+        this.signatureOffset = signatureOffset;
+        this.signatureLength = signatureLength;
+        this.hasTrailingBytes = hasTrailingBytes;
+    }
+
+    /**
+     * Parses CBOR encoded COSE_Sign1, bytes following the COSE_Sign1 are not parsed, see {@link #hasTrailingBytes()}.
+     *
+     * @param buffer - buffer holding COSE_Sign1 between its position and limit, buffer must not be modified afterwards
+     * @param decodingLimits - limits enforced while parsing
+     * @return layout of the COSE_Sign1
+     * @throws CborFormatException if bytes are not a COSE_Sign1 or exceed the limits
+     */
+    static CoseSign1Structure parse(ByteBuffer buffer, DecodingLimits decodingLimits) throws CborFormatException {
+        if (buffer.remaining() > decodingLimits.getMaxInputSize()) {
+            throw CborFormatException.of(FailureReason.INPUT_TOO_LARGE);
+        }
+        var reader = new CborReader(buffer, buffer.position(), buffer.limit(), decodingLimits);
+
+        if (reader.peekMajorType() != CborReader.MAJOR_TYPE_ARRAY) {
+            throw CborFormatException.of(FailureReason.INVALID_COSE_SIGN1);
+        }
+        if (reader.readArrayHeader() != 4) {
+            throw CborFormatException.of(FailureReason.INVALID_COSE_SIGN1);
+        }
+
+        var protectedHeaderLength = reader.readByteStringHeader();
+        var protectedHeaderOffset = reader.offset();
+
+        var headerReader = new CborReader(buffer, protectedHeaderOffset, protectedHeaderOffset + protectedHeaderLength, decodingLimits);
+        if (headerReader.peekMajorType() != CborReader.MAJOR_TYPE_MAP) {
+            throw CborFormatException.of(FailureReason.INVALID_PROTECTED_HEADER);
+        }
+        var addressOffset = -1;
+        var addressLength = 0;
+        var isSupportedAlgorithm = true;
+        var protectedEntries = headerReader.readMapHeader();
+        for (int i = 0; i < protectedEntries; i++) {
+            if (headerReader.readTextStringIfEquals(ADDRESS_LABEL)) {
+                var length = headerReader.readByteStringHeader();
+                // empty address is the same as no address, last entry wins as with any map
+                addressOffset = length > 0 ? headerReader.offset() : -1;
+                addressLength = length;
+                headerReader.skipBytes(length);
+            } else if (headerReader.readIntegerIfEquals(ALG_LABEL)) {
+                isSupportedAlgorithm = headerReader.readIntegerIfEquals(ALG_EDDSA);
+                if (!isSupportedAlgorithm) {
+                    headerReader.skip();
+                }
+            } else {
+                headerReader.skip();
+                headerReader.skip();
+            }
+        }
+        reader.skipBytes(protectedHeaderLength);
+
+        if (reader.peekMajorType() != CborReader.MAJOR_TYPE_MAP) {
+            throw CborFormatException.of(FailureReason.INVALID_UNPROTECTED_HEADER);
+        }
+        var isHashed = false;
+        var unprotectedEntries = reader.readMapHeader();
+        for (int i = 0; i < unprotectedEntries; i++) {
+            if (reader.readTextStringIfEquals(HASHED_LABEL)) {
+                isHashed = reader.readSimpleValueIfEquals(CborReader.SIMPLE_TRUE);
+                if (!isHashed) {
+                    reader.skip();
+                }
+            } else {
+                reader.skip();
+                reader.skip();
+            }
+        }
+
+        var messageLength = reader.readByteStringHeader();
+        if (messageLength > decodingLimits.getMaxMessageLength()) {
+            throw CborFormatException.of(FailureReason.ITEM_TOO_LONG);
+        }
+        var messageOffset = reader.offset();
+        reader.skipBytes(messageLength);
+
+        var signatureLength = reader.readByteStringHeader();
+        var signatureOffset = reader.offset();
+        reader.skipBytes(signatureLength);
+
+        return new CoseSign1Structure(buffer,
+                protectedHeaderOffset, protectedHeaderLength,
+                addressOffset, addressLength,
+                isHashed, isSupportedAlgorithm,
+                messageOffset, messageLength,
+                signatureOffset, signatureLength,
+                reader.hasRemaining());
+    }
+
+    boolean isHashed() {
+        return isHashed;
+    }
+
+    /**
+     * @return true if the protected header declares EdDSA algorithm or does not declare any
+     */
+    boolean isSupportedAlgorithm() {
+        return isSupportedAlgorithm;
+    }
+
+    /**
+     * @return true if the buffer holds more bytes after the COSE_Sign1
+     */
+    boolean hasTrailingBytes() {
+        return hasTrailingBytes;
+    }
+
+    int signatureLength() {
+        return signatureLength;
+    }
+
+    boolean hasAddress() {
+        return addressOffset >= 0;
+    }
+
+    /**
+     * @return address from the protected header or null if there is none
+     */
+    @Nullable
+    byte[] address() {
+        return hasAddress() ? copy(addressOffset, addressLength) : null;
+    }
+
+    byte[] message() {
+        return copy(messageOffset, messageLength);
+    }
+
+    byte[] signature() {
+        return copy(signatureOffset, signatureLength);
+    }
+
+    /**
+     * Encodes the Sig_structure signed by ED 25519 (RFC 8152, section 4.4):
+     * <pre>
+     * Sig_structure = [ "Signature1", body_protected : bstr, external_aad : bstr, payload : bstr ]
+     * </pre>
+     * Protected header and payload are copied from the original buffer as they are, without re-encoding,
+     * straight into an array of the exact size.
+     *
+     * @return CBOR encoded Sig_structure (COSE payload)
+     */
+    byte[] sigStructure() {
+        var bytes = new byte[SIG_STRUCTURE_PREFIX.length
+                + byteStringHeadLength(protectedHeaderLength) + protectedHeaderLength
+                + 1
+                + byteStringHeadLength(messageLength) + messageLength];
+
+        System.arraycopy(SIG_STRUCTURE_PREFIX, 0, bytes, 0, SIG_STRUCTURE_PREFIX.length);
+        var offset = writeByteStringHead(bytes, SIG_STRUCTURE_PREFIX.length, protectedHeaderLength);
+        buffer.get(protectedHeaderOffset, bytes, offset, protectedHeaderLength);
+        offset += protectedHeaderLength;
+        bytes[offset++] = EMPTY_BYTE_STRING;
+        offset = writeByteStringHead(bytes, offset, messageLength);
+        buffer.get(messageOffset, bytes, offset, messageLength);
+
+        return bytes;
+    }
+
+    /**
+     * Encodes the Sig_structure up to the payload content, for the payload to be streamed separately.
+     *
+     * @param messageLength - length of the payload which follows
+     * @return CBOR encoded start of the Sig_structure (COSE payload)
+     */
+    byte[] sigStructureHead(long messageLength) {
+        var bytes = new byte[SIG_STRUCTURE_PREFIX.length
+                + byteStringHeadLength(protectedHeaderLength) + protectedHeaderLength
+                + 1
+                + byteStringHeadLength(messageLength)];
+
+        System.arraycopy(SIG_STRUCTURE_PREFIX, 0, bytes, 0, SIG_STRUCTURE_PREFIX.length);
+        var offset = writeByteStringHead(bytes, SIG_STRUCTURE_PREFIX.length, protectedHeaderLength);
+        buffer.get(protectedHeaderOffset, bytes, offset, protectedHeaderLength);
+        offset += protectedHeaderLength;
+        bytes[offset++] = EMPTY_BYTE_STRING;
+        writeByteStringHead(bytes, offset, messageLength);
+
+        return bytes;
+    }
+
+    static int byteStringHeadLength(long length) {
+        if (length < 24) {
+            return 1;
+        }
+        if (length < 0x100) {
+            return 2;
+        }
+        if (length < 0x10000) {
+            return 3;
+        }
+
+        return length < 0x100000000L ? 5 : 9;
+    }
+
+    /**
+     * Writes the shortest head of a byte string of the given length.
+     *
+     * @return offset following the head
+     */
+    static int writeByteStringHead(byte[] bytes, int offset, long length) {
+        var majorType = CborReader.MAJOR_TYPE_BYTE_STRING << 5;
+        if (length < 24) {
+            bytes[offset++] = (byte) (majorType | length);
+        } else if (length < 0x100) {
+            bytes[offset++] = (byte) (majorType | 24);
+            bytes[offset++] = (byte) length;
+        } else if (length < 0x10000) {
+            bytes[offset++] = (byte) (majorType | 25);
+            bytes[offset++] = (byte) (length >>> 8);
+            bytes[offset++] = (byte) length;
+        } else if (length < 0x100000000L) {
+            bytes[offset++] = (byte) (majorType | 26);
+            bytes[offset++] = (byte) (length >>> 24);
+            bytes[offset++] = (byte) (length >>> 16);
+            bytes[offset++] = (byte) (length >>> 8);
+            bytes[offset++] = (byte) length;
+        } else {
+            bytes[offset++] = (byte) (majorType | 27);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[offset++] = (byte) (length >>> shift);
+            }
+        }
+
+        return offset;
+    }
+
+    private byte[] copy(int offset, int length) {
+        var bytes = new byte[length];
+        buffer.get(offset, bytes);
+
+        return bytes;
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The {@code DataSignature} class represents CIP-30 DataSignature returned by signData function,
+ * i.e. a pair of COSE_Sign1 and an optional COSE_Key.
+ *
+ * Please refer to GLOSSARY.md for definition of the terms.
+ */
+@ParametersAreNonnullByDefault
+public final class DataSignature {
+
+    /**
+     * hex-encoded CBOR bytes of the COSE_Sign1
+     */
+    private final String coseSign1;
+
+    /**
+     * Optional hex-encoded CBOR bytes of the COSE_Key.
+     */
+    private final Optional<String> coseKey;
+
+    /**
+     * Creates a {@code DataSignature}.
+     *
+     * @param coseSign1 - hex-encoded CBOR bytes of the COSE_Sign1
+     */
+    public DataSignature(String coseSign1) {
+        this(coseSign1, Optional.empty());
+    }
+
+    /**
+     * Creates a {@code DataSignature}.
+     *
+     * @param coseSign1 - hex-encoded CBOR bytes of the COSE_Sign1
+     * @param coseKey - Optional hex-encoded CBOR bytes of the COSE_Key
+     */
+    public DataSignature(String coseSign1, @Nullable String coseKey) {
+        this(coseSign1, Optional.ofNullable(coseKey));
+    }
+
+    /**
+     * Creates a {@code DataSignature}.
+     *
+     * @param coseSign1 - hex-encoded CBOR bytes of the COSE_Sign1
+     * @param coseKey - Optional hex-encoded CBOR bytes of the COSE_Key
+     */
+    public DataSignature(String coseSign1, Optional<String> coseKey) {
+        Objects.requireNonNull(coseSign1, "signature cannot be null");
+        Objects.requireNonNull(coseKey, "key cannot be null");
+        this.coseSign1 = coseSign1;
+        this.coseKey = coseKey;
+    }
+
+    /**
+     * Returns hex CBOR encoded COSE_Sign1
+     *
+     * @return COSE_Sign1
+     */
+    public String getCOSESign1() {
+        return coseSign1;
+    }
+
+    /**
+     * Returns hex CBOR encoded COSE_Key if it has been supplied.
+     *
+     * @return optional COSE_Key
+     */
+    public Optional<String> getCoseKey() {
+        return coseKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DataSignature)) {
+            return false;
+        }
+        var that = (DataSignature) o;
+
+        return coseSign1.equals(that.coseSign1) && coseKey.equals(that.coseKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(coseSign1, coseKey);
+    }
+
+    @Override
+    public String toString() {
+        return "DataSignature{" +
+                "coseSign1='" + coseSign1 + '\'' +
+                ", coseKey=" + coseKey +
+                '}';
+    }
+
+}
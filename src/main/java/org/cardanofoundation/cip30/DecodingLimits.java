@@ -0,0 +1,152 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Limits enforced while decoding COSE_Sign1 and COSE_Key, protecting verifiers exposed to untrusted input
+ * from payloads crafted to exhaust memory or CPU.
+ * <p>
+ * Limits are checked as heads of data items are read, before any content is copied, so an input exceeding
+ * a limit is rejected with {@link ValidationError#CIP8_FORMAT_ERROR} after reading at most a few bytes past
+ * the offending head. Input size is checked before hex decoding.
+ * <p>
+ * Limits are configured on the engine, see {@link Cip30VerificationEngine.Builder#decodingLimits(DecodingLimits)}.
+ * Instances are immutable and thread-safe.
+ */
+@ParametersAreNonnullByDefault
+public final class DecodingLimits {
+
+    public static final int DEFAULT_MAX_INPUT_SIZE = 16 * 1024 * 1024;
+
+    public static final int DEFAULT_MAX_NESTING_DEPTH = 64;
+
+    public static final int DEFAULT_MAX_MAP_ENTRIES = 256;
+
+    /**
+     * Bounds memory and disk used by a streamed message, other messages are bounded by the input size already.
+     */
+    public static final long DEFAULT_MAX_MESSAGE_LENGTH = 256L * 1024 * 1024;
+
+    private static final DecodingLimits DEFAULT_LIMITS = Builder.newBuilder().build();
+
+    private final int maxInputSize;
+
+    private final int maxNestingDepth;
+
+    private final int maxMapEntries;
+
+    private final long maxMessageLength;
+
+    private DecodingLimits(Builder builder) {
+        this.maxInputSize = builder.maxInputSize;
+        this.maxNestingDepth = builder.maxNestingDepth;
+        this.maxMapEntries = builder.maxMapEntries;
+        this.maxMessageLength = builder.maxMessageLength;
+    }
+
+    /**
+     * @return limits used unless configured otherwise, 16 MiB of input, nesting depth of 64, 256 map entries
+     * and 256 MiB of message
+     */
+    public static DecodingLimits defaultLimits() {
+        return DEFAULT_LIMITS;
+    }
+
+    public static class Builder {
+
+        private int maxInputSize = DEFAULT_MAX_INPUT_SIZE;
+
+        private int maxNestingDepth = DEFAULT_MAX_NESTING_DEPTH;
+
+        private int maxMapEntries = DEFAULT_MAX_MAP_ENTRIES;
+
+        private long maxMessageLength = DEFAULT_MAX_MESSAGE_LENGTH;
+
+        /**
+         * Creates an object {@code Builder} in charge of building the class {@code DecodingLimits}.
+         */
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * @param maxInputSize - maximum number of bytes of COSE_Sign1 and of COSE_Key each,
+         *                     not applied to streamed COSE_Sign1 (see {@link CIP30StreamingVerifier})
+         */
+        public Builder maxInputSize(int maxInputSize) {
+            this.maxInputSize = requirePositive(maxInputSize, "maxInputSize");
+            return Builder.this;
+        }
+
+        /**
+         * @param maxNestingDepth - maximum depth of arrays, maps and tags nested in a header or COSE_Key
+         */
+        public Builder maxNestingDepth(int maxNestingDepth) {
+            this.maxNestingDepth = requirePositive(maxNestingDepth, "maxNestingDepth");
+            return Builder.this;
+        }
+
+        /**
+         * @param maxMapEntries - maximum number of entries of any map, e.g. headers and COSE_Key
+         */
+        public Builder maxMapEntries(int maxMapEntries) {
+            this.maxMapEntries = requirePositive(maxMapEntries, "maxMapEntries");
+            return Builder.this;
+        }
+
+        /**
+         * @param maxMessageLength - maximum length of the signed message (COSE_Sign1 payload), the only limit
+         *                         of the size of streamed COSE_Sign1, which may be spooled to disk whole, so raising it
+         *                         lets untrusted senders use that much disk space per verification
+         */
+        public Builder maxMessageLength(long maxMessageLength) {
+            if (maxMessageLength < 0) {
+                throw new IllegalArgumentException("maxMessageLength cannot be negative");
+            }
+            this.maxMessageLength = maxMessageLength;
+            return Builder.this;
+        }
+
+        /**
+         * Creates an instance of the class {@code DecodingLimits} using the information stored.
+         */
+        public DecodingLimits build() {
+            return new DecodingLimits(this);
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+
+            return value;
+        }
+    }
+
+    public int getMaxInputSize() {
+        return maxInputSize;
+    }
+
+    public int getMaxNestingDepth() {
+        return maxNestingDepth;
+    }
+
+    public int getMaxMapEntries() {
+        return maxMapEntries;
+    }
+
+    public long getMaxMessageLength() {
+        return maxMessageLength;
+    }
+
+    @Override
+    public String toString() {
+        return "DecodingLimits{" +
+                "maxInputSize=" + maxInputSize +
+                ", maxNestingDepth=" + maxNestingDepth +
+                ", maxMapEntries=" + maxMapEntries +
+                ", maxMessageLength=" + maxMessageLength +
+                '}';
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.cardanofoundation.cip30;
+
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ServiceConfigurationError;
+
+/**
+ * Holder of {@link SignatureVerifierBackend#defaultBackend()}, resolved once when first used, so that engines built
+ * later neither repeat the {@link java.util.ServiceLoader} lookup nor log the same warning again.
+ */
+@ParametersAreNonnullByDefault
+final class DefaultSignatureVerifierBackend {
+
+    static final SignatureVerifierBackend INSTANCE =
+            resolve(System.getProperty(SignatureVerifierBackend.SYSTEM_PROPERTY, I2pSignatureVerifierBackend.NAME));
+
+    private DefaultSignatureVerifierBackend() {
+    }
+
+    /**
+     * @param name - name of the backend, the value of the system property
+     * @return backend of the given name, {@code i2p} (and a warning logged) if it cannot be loaded
+     */
+    static SignatureVerifierBackend resolve(String name) {
+        try {
+            return SignatureVerifierBackend.named(name);
+        } catch (IllegalArgumentException | ServiceConfigurationError e) {
+            LoggerFactory.getLogger(SignatureVerifierBackend.class)
+                    .warn("Signature backend {} set by {} is not available ({}), using {}",
+                            name, SignatureVerifierBackend.SYSTEM_PROPERTY, e.getMessage(), I2pSignatureVerifierBackend.NAME);
+
+            return I2pSignatureVerifierBackend.INSTANCE;
+        }
+    }
+
+}
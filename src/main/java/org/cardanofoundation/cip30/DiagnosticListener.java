@@ -0,0 +1,54 @@
+package org.cardanofoundation.cip30;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Listener notified about every invalid DataSignature, configured on a {@link Cip30VerificationEngine}.
+ * <p>
+ * The library does not log failed verifications, invalid input is an expected outcome which an attacker can trigger
+ * at will. Applications which want to see failures, e.g. in logs, plug in a listener, usually wrapped by
+ * {@link #rateLimited(DiagnosticListener, int)}. Listeners are called on the verifying threads, they must be
+ * thread-safe, cheap and must not throw.
+ */
+@ParametersAreNonnullByDefault
+@FunctionalInterface
+public interface DiagnosticListener {
+
+    /**
+     * Called when a DataSignature is found invalid.
+     *
+     * @param validationError - validation error of the result
+     * @param failureReason - details of the validation error, null if there are none
+     */
+    void onFailure(ValidationError validationError, @Nullable FailureReason failureReason);
+
+    /**
+     * Wraps a listener so that it is notified at most a given number of times per second, further failures
+     * are only counted.
+     *
+     * @param delegate - listener to notify
+     * @param permitsPerSecond - maximum number of notifications per second
+     * @return rate-limited listener
+     */
+    static RateLimitedDiagnosticListener rateLimited(DiagnosticListener delegate, int permitsPerSecond) {
+        return new RateLimitedDiagnosticListener(delegate, permitsPerSecond);
+    }
+
+    /**
+     * @return listener logging failures at debug level
+     */
+    static DiagnosticListener logging() {
+        Logger logger = LoggerFactory.getLogger(CIP30Verifier.class);
+
+        return (validationError, failureReason) -> {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Invalid CIP-30 signature: {} ({})", validationError, failureReason);
+            }
+        };
+    }
+
+}
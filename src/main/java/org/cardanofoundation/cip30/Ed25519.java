@@ -0,0 +1,22 @@
+package org.cardanofoundation.cip30;
+
+import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
+import net.i2p.crypto.eddsa.spec.EdDSAParameterSpec;
+
+import static net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable.ED_25519;
+
+/**
+ * ED 25519 parameters used by CIP-30 verifiers.
+ */
+final class Ed25519 {
+
+    static final EdDSAParameterSpec ED_DSA_PARAMETER_SPEC = EdDSANamedCurveTable.getByName(ED_25519);
+
+    static final int PUBLIC_KEY_LENGTH = 32;
+
+    static final int SIGNATURE_LENGTH = 64;
+
+    private Ed25519() {
+    }
+
+}
@@ -0,0 +1,336 @@
+package org.cardanofoundation.cip30;
+
+import net.i2p.crypto.eddsa.math.Curve;
+import net.i2p.crypto.eddsa.math.GroupElement;
+import net.i2p.crypto.eddsa.math.ScalarOps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.cardanofoundation.cip30.Ed25519.ED_DSA_PARAMETER_SPEC;
+import static org.cardanofoundation.cip30.Ed25519.PUBLIC_KEY_LENGTH;
+import static org.cardanofoundation.cip30.Ed25519.SIGNATURE_LENGTH;
+
+/**
+ * Randomized batch verification of ED 25519 signatures.
+ * <p>
+ * For signatures (R_i, S_i) over messages M_i by public keys A_i, with h_i = SHA-512(R_i || A_i || M_i) mod L,
+ * the batch equation checked is:
+ * <pre>
+ *     (sum z_i * S_i) * B = sum z_i * R_i + sum (z_i * h_i) * A_i
+ * </pre>
+ * where z_i are random 128-bit scalars. The right-hand side is computed with a single interleaved (Straus)
+ * multi-scalar multiplication, so doublings are shared by all the points in the batch, and the base point term
+ * is computed once for the whole batch.
+ * <p>
+ * A batch that verifies means that every signature in it is valid (with overwhelming probability), a batch that fails
+ * means that at least one signature is invalid, individual signatures then have to be checked one by one.
+ * <p>
+ * Only signatures with a canonical R encoding and S lower than the group order are accepted into a batch,
+ * for such signatures the batch equation is the same as the one checked by single verification, up to the small-order
+ * subgroup. Neither equation is multiplied by the cofactor 8, single verification rejects a signature whose error
+ * T = [S]B - R - [h]A is a non-zero point of small order, while the batch scales T by z_i and would accept it whenever
+ * the order of T divides z_i. The small-order part of T is the one of R + [h]A, hence a signature is accepted into
+ * a batch only if R + [h mod 8]A has no small-order component, i.e. [L](R + [h mod 8]A) = 0. The error of every
+ * batched signature then lies in the prime-order subgroup, where the batch fails unless all of them are zero,
+ * so the result of a batch is the same as the one of single verification. Honest signers never produce
+ * small-order components, the check only keeps crafted signatures out of batches.
+ * <p>
+ * Instances are not thread-safe.
+ */
+final class Ed25519Batch {
+
+    /**
+     * Group order L = 2^252 + 27742317777372353535851937790883648493, little-endian.
+     */
+    private static final byte[] GROUP_ORDER = {
+            (byte) 0xed, (byte) 0xd3, (byte) 0xf5, (byte) 0x5c, (byte) 0x1a, (byte) 0x63, (byte) 0x12, (byte) 0x58,
+            (byte) 0xd6, (byte) 0x9c, (byte) 0xf7, (byte) 0xa2, (byte) 0xde, (byte) 0xf9, (byte) 0xde, (byte) 0x14,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, (byte) 0x10
+    };
+
+    private static final byte[] ZERO = new byte[32];
+
+    private static final byte[] GROUP_ORDER_DIGITS = slide(GROUP_ORDER);
+
+    /**
+     * Number of random bytes in each z_i scalar.
+     */
+    private static final int RANDOM_SCALAR_LENGTH = 16;
+
+    private static final byte[] ZERO_RANDOM_SCALAR = new byte[RANDOM_SCALAR_LENGTH];
+
+    /**
+     * Number of odd multiples (P, 3P, ... 15P) precomputed per point for a sliding window of width 5.
+     */
+    private static final int TABLE_SIZE = 8;
+
+    private final Curve curve = ED_DSA_PARAMETER_SPEC.getCurve();
+
+    private final ScalarOps scalarOps = ED_DSA_PARAMETER_SPEC.getScalarOps();
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Adds a signature to the batch.
+     *
+     * @param message - signed message (COSE payload)
+     * @param signatureBytes - ED 25519 signature
+     * @param publicKeyBytes - ED 25519 public key
+     * @return false if signature cannot take part in batch verification and has to be verified on its own,
+     * e.g. because of wrong lengths, non-canonical encoding, undecodable points or small-order components
+     */
+    boolean add(byte[] message, byte[] signatureBytes, byte[] publicKeyBytes) {
+        if (signatureBytes.length != SIGNATURE_LENGTH || publicKeyBytes.length != PUBLIC_KEY_LENGTH) {
+            return false;
+        }
+        var rBytes = Arrays.copyOfRange(signatureBytes, 0, 32);
+        var sBytes = Arrays.copyOfRange(signatureBytes, 32, 64);
+        if (!isCanonicalPoint(rBytes) || !isLowerThanGroupOrder(sBytes)) {
+            return false;
+        }
+
+        final GroupElement r;
+        final GroupElement a;
+        try {
+            r = new GroupElement(curve, rBytes);
+            a = new GroupElement(curve, publicKeyBytes);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        var digest = Cip30VerificationEngine.digest();
+        digest.update(rBytes);
+        digest.update(publicKeyBytes);
+        digest.update(message);
+        var h = scalarOps.reduce(digest.digest());
+        if (hasSmallOrderComponent(r, a, h[0] & 7)) {
+            return false;
+        }
+
+        entries.add(new Entry(r, a, sBytes, h));
+
+        return true;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Verifies all signatures added to the batch at once.
+     *
+     * @param random - source of the random scalars, it has to be unpredictable to the signers
+     * @return true if all signatures in the batch are valid
+     */
+    boolean verify(Random random) {
+        if (entries.isEmpty()) {
+            return true;
+        }
+
+        var points = new GroupElement[entries.size() * 2][];
+        var digits = new byte[entries.size() * 2][];
+        var sSum = ZERO;
+
+        var z = new byte[32];
+        for (int i = 0; i < entries.size(); i++) {
+            var entry = entries.get(i);
+            randomScalar(random, z);
+
+            sSum = scalarOps.multiplyAndAdd(z, entry.s, sSum);
+
+            points[2 * i] = oddMultiples(entry.r);
+            digits[2 * i] = slide(z);
+            points[2 * i + 1] = oddMultiples(entry.a);
+            digits[2 * i + 1] = slide(scalarOps.multiplyAndAdd(z, entry.h, ZERO));
+        }
+
+        var left = ED_DSA_PARAMETER_SPEC.getB().scalarMultiply(sSum);
+        var right = multiScalarMultiply(points, digits);
+
+        return Arrays.equals(left.toByteArray(), right.toByteArray());
+    }
+
+    /**
+     * Interleaved sliding window multi-scalar multiplication, sum of digits[j] * points[j].
+     */
+    private GroupElement multiScalarMultiply(GroupElement[][] points, byte[][] digits) {
+        int i = 255;
+        for (; i >= 0; i--) {
+            if (hasDigit(digits, i)) {
+                break;
+            }
+        }
+
+        var r = curve.getZero(GroupElement.Representation.P2);
+        for (; i >= 0; i--) {
+            var t = r.dbl();
+            for (int j = 0; j < points.length; j++) {
+                var d = digits[j][i];
+                if (d > 0) {
+                    t = t.toP3().add(points[j][d / 2]);
+                } else if (d < 0) {
+                    t = t.toP3().sub(points[j][-d / 2]);
+                }
+            }
+            r = t.toP2();
+        }
+
+        return r;
+    }
+
+    /**
+     * Checks if R + [k]A lies outside of the prime-order subgroup, i.e. [L](R + [k]A) is not the neutral element.
+     */
+    private boolean hasSmallOrderComponent(GroupElement r, GroupElement a, int k) {
+        var p = r;
+        if (k > 0) {
+            var cachedA = a.toCached();
+            for (int i = 0; i < k; i++) {
+                p = p.add(cachedA).toP3();
+            }
+        }
+        var multiple = multiScalarMultiply(new GroupElement[][]{oddMultiples(p)}, new byte[][]{GROUP_ORDER_DIGITS});
+
+        // projective X = 0 and Y = Z, without the inversion of an encoding
+        return multiple.getX().isNonZero() || !multiple.getY().equals(multiple.getZ());
+    }
+
+    private static boolean hasDigit(byte[][] digits, int i) {
+        for (var d : digits) {
+            if (d[i] != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Precomputes P, 3P, 5P, ... 15P in the CACHED representation.
+     */
+    private static GroupElement[] oddMultiples(GroupElement p) {
+        var table = new GroupElement[TABLE_SIZE];
+        table[0] = p.toCached();
+        var twoP = p.dbl().toP3();
+        for (int k = 1; k < TABLE_SIZE; k++) {
+            table[k] = twoP.add(table[k - 1]).toP3().toCached();
+        }
+
+        return table;
+    }
+
+    private static void randomScalar(Random random, byte[] z) {
+        var bytes = new byte[RANDOM_SCALAR_LENGTH];
+        do {
+            random.nextBytes(bytes);
+        } while (Arrays.equals(bytes, ZERO_RANDOM_SCALAR));
+        Arrays.fill(z, (byte) 0);
+        System.arraycopy(bytes, 0, z, 0, RANDOM_SCALAR_LENGTH);
+    }
+
+    /**
+     * Sliding window (width 5) signed digit representation of a 256-bit little-endian scalar,
+     * each digit is either 0 or odd in range [-15, 15].
+     */
+    static byte[] slide(byte[] a) {
+        var r = new byte[256];
+        for (int i = 0; i < 256; ++i) {
+            r[i] = (byte) (1 & (a[i >> 3] >> (i & 7)));
+        }
+
+        for (int i = 0; i < 256; ++i) {
+            if (r[i] != 0) {
+                for (int b = 1; b <= 6 && i + b < 256; ++b) {
+                    if (r[i + b] != 0) {
+                        if (r[i] + (r[i + b] << b) <= 15) {
+                            r[i] += r[i + b] << b;
+                            r[i + b] = 0;
+                        } else if (r[i] - (r[i + b] << b) >= -15) {
+                            r[i] -= r[i + b] << b;
+                            for (int k = i + b; k < 256; ++k) {
+                                if (r[k] == 0) {
+                                    r[k] = 1;
+                                    break;
+                                }
+                                r[k] = 0;
+                            }
+                        } else {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        return r;
+    }
+
+    /**
+     * Checks if scalar (little-endian) is lower than the group order L.
+     */
+    static boolean isLowerThanGroupOrder(byte[] s) {
+        for (int i = 31; i >= 0; i--) {
+            var a = s[i] & 0xff;
+            var l = GROUP_ORDER[i] & 0xff;
+            if (a != l) {
+                return a < l;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if point encoding is canonical, i.e. y coordinate is lower than the field prime p = 2^255 - 19
+     * and sign bit is not set for points with x = 0.
+     */
+    static boolean isCanonicalPoint(byte[] encoded) {
+        // y >= p only if all bits from 4 to 254 are set and lowest byte >= 0xed
+        var allOnes = (encoded[31] & 0x7f) == 0x7f;
+        for (int i = 30; i > 0 && allOnes; i--) {
+            allOnes = encoded[i] == (byte) 0xff;
+        }
+        if (allOnes && (encoded[0] & 0xff) >= 0xed) {
+            return false;
+        }
+
+        var signBit = (encoded[31] & 0x80) != 0;
+        if (!signBit) {
+            return true;
+        }
+
+        // x = 0 for y = 1 (neutral element) and y = p - 1, negative zero is not canonical
+        var isOne = encoded[0] == 1;
+        var isMinusOne = allOnes && (encoded[0] & 0xff) == 0xec;
+        for (int i = 1; i < 31 && isOne; i++) {
+            isOne = encoded[i] == 0;
+        }
+        isOne = isOne && (encoded[31] & 0x7f) == 0;
+
+        return !isOne && !isMinusOne;
+    }
+
+    private static final class Entry {
+
+        private final GroupElement r;
+
+        private final GroupElement a;
+
+        private final byte[] s;
+
+        private final byte[] h;
+
+        private Entry(GroupElement r, GroupElement a, byte[] s, byte[] h) {
+            this.r = r;
+            this.a = a;
+            this.s = s;
+            this.h = h;
+        }
+
+    }
+
+}
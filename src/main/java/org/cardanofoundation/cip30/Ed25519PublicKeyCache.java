@@ -0,0 +1,123 @@
+package org.cardanofoundation.cip30;
+
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.cardanofoundation.cip30.Ed25519.ED_DSA_PARAMETER_SPEC;
+import static org.cardanofoundation.cip30.Ed25519.PUBLIC_KEY_LENGTH;
+
+/**
+ * Size-bounded cache of decoded ED 25519 public keys, keyed by the 32 public key bytes.
+ * <p>
+ * Decoding a public key decompresses the curve point and precomputes tables used by signature verification,
+ * which is a considerable part of the cost of verifying a signature. When the same wallets sign repeatedly,
+ * sharing a cache between verifiers skips this work for returning signers.
+ * <p>
+ * The cache is split into segments, each evicting its least recently used keys, so that concurrent verifiers
+ * rarely contend on the same lock. Instances are thread-safe and meant to be shared by the whole application,
+ * see {@link Cip30VerificationEngine.Builder#publicKeyCache(Ed25519PublicKeyCache)}.
+ */
+@ParametersAreNonnullByDefault
+public final class Ed25519PublicKeyCache {
+
+    private final SegmentedLruCache<ByteBuffer, EdDSAPublicKey> entries;
+
+    private final int maximumSize;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates an {@code Ed25519PublicKeyCache}.
+     *
+     * @param maximumSize - maximum number of decoded public keys kept in the cache
+     */
+    public Ed25519PublicKeyCache(int maximumSize) {
+        this.entries = new SegmentedLruCache<>(maximumSize);
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns decoded public key, decoding and caching it on a miss.
+     *
+     * @param publicKeyBytes - ED 25519 public key
+     * @return decoded public key
+     * @throws IllegalArgumentException if bytes are not a valid ED 25519 public key
+     */
+    EdDSAPublicKey get(byte[] publicKeyBytes) {
+        if (publicKeyBytes.length != PUBLIC_KEY_LENGTH) {
+            throw new IllegalArgumentException("public key length is wrong");
+        }
+        var publicKey = entries.get(ByteBuffer.wrap(publicKeyBytes));
+        if (publicKey != null) {
+            hits.increment();
+            return publicKey;
+        }
+        misses.increment();
+
+        // decoded outside the lock, concurrent misses for the same key may decode it more than once
+        publicKey = new EdDSAPublicKey(new EdDSAPublicKeySpec(publicKeyBytes, ED_DSA_PARAMETER_SPEC));
+        entries.put(ByteBuffer.wrap(publicKeyBytes.clone()), publicKey);
+
+        return publicKey;
+    }
+
+    /**
+     * @return maximum number of decoded public keys kept in the cache
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return current number of decoded public keys in the cache
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return number of lookups which found a decoded public key
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of lookups which had to decode the public key
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of decoded public keys evicted because the cache was full
+     */
+    public long evictionCount() {
+        return entries.evictionCount();
+    }
+
+    /**
+     * Removes all decoded public keys, counters are not reset.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "Ed25519PublicKeyCache{" +
+                "maximumSize=" + maximumSize +
+                ", size=" + size() +
+                ", hitCount=" + hitCount() +
+                ", missCount=" + missCount() +
+                ", evictionCount=" + evictionCount() +
+                '}';
+    }
+
+}
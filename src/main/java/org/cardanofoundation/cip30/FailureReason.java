@@ -0,0 +1,130 @@
+package org.cardanofoundation.cip30;
+
+/**
+ * {@code FailureReason} is an enum detailing why a CIP-30 DataSignature is invalid, it refines {@link ValidationError}.
+ */
+public enum FailureReason {
+
+    /**
+     * CBOR ends in the middle of a data item.
+     */
+    TRUNCATED_INPUT,
+
+    /**
+     * CBOR uses an encoding which is not supported, e.g. indefinite length or reserved additional info.
+     */
+    UNSUPPORTED_ENCODING,
+
+    /**
+     * Length or integer does not fit the supported range.
+     */
+    VALUE_OUT_OF_RANGE,
+
+    /**
+     * CBOR data items are nested too deep.
+     */
+    NESTING_TOO_DEEP,
+
+    /**
+     * Data item is longer than accepted.
+     */
+    ITEM_TOO_LONG,
+
+    /**
+     * COSE_Sign1 or COSE_Key is larger than accepted, see {@link DecodingLimits#getMaxInputSize()}.
+     */
+    INPUT_TOO_LARGE,
+
+    /**
+     * Map has more entries than accepted, see {@link DecodingLimits#getMaxMapEntries()}.
+     */
+    TOO_MANY_ENTRIES,
+
+    /**
+     * Data item is of an unexpected CBOR major type.
+     */
+    UNEXPECTED_TYPE,
+
+    /**
+     * COSE_Sign1 is not an array of 4 items.
+     */
+    INVALID_COSE_SIGN1,
+
+    /**
+     * Protected header of COSE_Sign1 is not a map.
+     */
+    INVALID_PROTECTED_HEADER,
+
+    /**
+     * Unprotected header of COSE_Sign1 is not a map.
+     */
+    INVALID_UNPROTECTED_HEADER,
+
+    /**
+     * COSE_Key is not a map.
+     */
+    INVALID_COSE_KEY,
+
+    /**
+     * Protected header or COSE_Key declares an algorithm (label 1 and 3 respectively) other than EdDSA (-8).
+     */
+    UNSUPPORTED_ALGORITHM,
+
+    /**
+     * COSE_Sign1 or COSE_Key is followed by bytes which are not part of it.
+     */
+    TRAILING_BYTES,
+
+    /**
+     * Neither COSE_Key nor protected header contains a public key.
+     */
+    NO_PUBLIC_KEY,
+
+    /**
+     * Public key is not 32 bytes long.
+     */
+    INVALID_PUBLIC_KEY_LENGTH,
+
+    /**
+     * Signature is not 64 bytes long.
+     */
+    INVALID_SIGNATURE_LENGTH,
+
+    /**
+     * Address from the protected header does not belong to the public key from COSE_Key.
+     */
+    ADDRESS_MISMATCH,
+
+    /**
+     * ED 25519 signature does not match the COSE payload and public key.
+     */
+    INVALID_SIGNATURE,
+
+    /**
+     * Signature or message has already been accepted within the replay window.
+     */
+    REPLAYED,
+
+    /**
+     * COSE_Sign1 or COSE_Key supplied as a string is not valid hex, e.g. has an odd length or a non-hex character.
+     */
+    INVALID_HEX;
+
+    /**
+     * @return category of the failure reported as the validation error
+     */
+    ValidationError validationError() {
+        return switch (this) {
+            case UNSUPPORTED_ALGORITHM -> ValidationError.UNSUPPORTED_ALGORITHM;
+            case TRAILING_BYTES -> ValidationError.TRAILING_BYTES;
+            case NO_PUBLIC_KEY -> ValidationError.NO_PUBLIC_KEY;
+            case INVALID_PUBLIC_KEY_LENGTH -> ValidationError.INVALID_PUBLIC_KEY_LENGTH;
+            case INVALID_SIGNATURE_LENGTH -> ValidationError.INVALID_SIGNATURE_LENGTH;
+            case ADDRESS_MISMATCH -> ValidationError.ADDRESS_MISMATCH;
+            case INVALID_SIGNATURE -> ValidationError.INVALID_SIGNATURE;
+            case REPLAYED -> ValidationError.REPLAYED;
+            default -> ValidationError.CIP8_FORMAT_ERROR;
+        };
+    }
+
+}
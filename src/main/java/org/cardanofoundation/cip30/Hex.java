@@ -0,0 +1,149 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * Table-driven lower case hex encoder and case-insensitive decoder.
+ * <p>
+ * Each byte is encoded by a single lookup of its two digits, output is written straight into a string,
+ * an {@link Appendable} or a {@link ByteBuffer} without intermediate strings.
+ */
+final class Hex {
+
+    private static final byte[] DIGITS = "0123456789abcdef".getBytes(ISO_8859_1);
+
+    /**
+     * Both digits of every byte value, high digit at index 2 * value, low digit at 2 * value + 1.
+     */
+    private static final byte[] PAIRS = new byte[512];
+
+    /**
+     * Value of every ASCII hex digit, -1 for other characters.
+     */
+    private static final byte[] VALUES = new byte[128];
+
+    /**
+     * Number of characters buffered before appending them to an {@code Appendable}.
+     */
+    private static final int CHUNK_SIZE = 512;
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            PAIRS[2 * i] = DIGITS[i >>> 4];
+            PAIRS[2 * i + 1] = DIGITS[i & 0x0f];
+        }
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            VALUES[DIGITS[i]] = (byte) i;
+            VALUES[Character.toUpperCase(DIGITS[i])] = (byte) i;
+        }
+    }
+
+    private Hex() {
+    }
+
+    static String encode(byte[] bytes) {
+        var digits = new byte[2 * bytes.length];
+        encode(bytes, 0, bytes.length, digits, 0);
+
+        // ISO-8859-1 maps bytes to chars one to one, the string is created without decoding
+        return new String(digits, ISO_8859_1);
+    }
+
+    /**
+     * @throws BufferOverflowException if the buffer has not enough room, nothing is written then
+     */
+    static void encode(byte[] bytes, ByteBuffer out) {
+        if (out.remaining() < 2 * bytes.length) {
+            throw new BufferOverflowException();
+        }
+        if (out.hasArray()) {
+            var offset = out.arrayOffset() + out.position();
+            encode(bytes, 0, bytes.length, out.array(), offset);
+            out.position(out.position() + 2 * bytes.length);
+            return;
+        }
+        for (var b : bytes) {
+            var i = 2 * (b & 0xff);
+            out.put(PAIRS[i]);
+            out.put(PAIRS[i + 1]);
+        }
+    }
+
+    static void encode(byte[] bytes, Appendable out) throws IOException {
+        var chunk = new char[Math.min(CHUNK_SIZE, 2 * bytes.length)];
+        var length = 0;
+        for (var b : bytes) {
+            if (length == chunk.length) {
+                append(chunk, length, out);
+                length = 0;
+            }
+            var i = 2 * (b & 0xff);
+            chunk[length++] = (char) PAIRS[i];
+            chunk[length++] = (char) PAIRS[i + 1];
+        }
+        append(chunk, length, out);
+    }
+
+    /**
+     * Decodes ASCII hex digits of a buffer, the position of the buffer is left unchanged.
+     *
+     * @param buffer - buffer holding hex digits
+     * @param from - index of the first digit
+     * @param to - index after the last digit
+     * @return decoded bytes or null if bytes between from and to are not a non-empty, even number of hex digits
+     */
+    @Nullable
+    static byte[] decode(ByteBuffer buffer, int from, int to) {
+        var length = to - from;
+        if (length == 0 || length % 2 != 0) {
+            return null;
+        }
+        var bytes = new byte[length / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            var high = value(buffer.get(from + 2 * i));
+            var low = value(buffer.get(from + 2 * i + 1));
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+
+        return bytes;
+    }
+
+    private static int value(byte digit) {
+        return digit >= 0 ? VALUES[digit] : -1;
+    }
+
+    /**
+     * Appends characters using bulk methods of well-known appendables, one by one otherwise.
+     */
+    static void append(char[] chars, int length, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(chars, 0, length);
+        } else if (out instanceof Writer) {
+            ((Writer) out).write(chars, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                out.append(chars[i]);
+            }
+        }
+    }
+
+    private static void encode(byte[] bytes, int offset, int length, byte[] out, int outOffset) {
+        for (int i = offset; i < offset + length; i++) {
+            var pair = 2 * (bytes[i] & 0xff);
+            out[outOffset++] = PAIRS[pair];
+            out[outOffset++] = PAIRS[pair + 1];
+        }
+    }
+
+}
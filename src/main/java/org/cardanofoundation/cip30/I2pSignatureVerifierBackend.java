@@ -0,0 +1,84 @@
+package org.cardanofoundation.cip30;
+
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static net.i2p.crypto.eddsa.EdDSAEngine.ONE_SHOT_MODE;
+import static org.cardanofoundation.cip30.Ed25519.ED_DSA_PARAMETER_SPEC;
+
+/**
+ * {@link SignatureVerifierBackend} of the {@code net.i2p.crypto:eddsa} library, used unless configured otherwise.
+ * <p>
+ * Engines using it look decoded public keys up in their {@link Ed25519PublicKeyCache} if one is configured.
+ * Unlike {@link JdkSignatureVerifierBackend}, it does not check that S of the signature is below the group order,
+ * so it also accepts the non-canonical encoding S + L of a valid signature.
+ */
+@ParametersAreNonnullByDefault
+public final class I2pSignatureVerifierBackend implements SignatureVerifierBackend {
+
+    static final String NAME = "i2p";
+
+    static final I2pSignatureVerifierBackend INSTANCE = new I2pSignatureVerifierBackend();
+
+    /**
+     * Per thread ED 25519 engine, state of the engine is reset by each {@code initVerify}.
+     */
+    private static final ThreadLocal<EdDSAEngine> ED_DSA_ENGINE = ThreadLocal.withInitial(() -> new EdDSAEngine(Cip30VerificationEngine.newDigest()));
+
+    /**
+     * Creates the backend, {@link SignatureVerifierBackend#named(String)} returns a shared instance.
+     */
+    public I2pSignatureVerifierBackend() {
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean verify(byte[] message, byte[] signature, byte[] publicKey) {
+        try {
+            return verify(message, signature, new EdDSAPublicKey(new EdDSAPublicKeySpec(publicKey, ED_DSA_PARAMETER_SPEC)));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Takes the decoded public key from the {@link Ed25519PublicKeyCache} of the engine, if it has one.
+     */
+    @Override
+    public boolean verify(byte[] message, byte[] signature, byte[] publicKey, Cip30VerificationEngine engine) {
+        try {
+            return verify(message, signature, engine.resolvePublicKey(publicKey));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks a signature with a decoded public key.
+     */
+    private boolean verify(byte[] message, byte[] signature, EdDSAPublicKey publicKey) {
+        try {
+            var engine = ED_DSA_ENGINE.get();
+            engine.initVerify(publicKey);
+            engine.setParameter(ONE_SHOT_MODE);
+            engine.update(message);
+
+            return engine.verify(signature);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return NAME;
+    }
+
+}
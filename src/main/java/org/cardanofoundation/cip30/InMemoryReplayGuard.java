@@ -0,0 +1,115 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process {@link ReplayGuard} remembering keys of accepted DataSignatures for a time window.
+ * <p>
+ * Keys are held exactly, a false positive would reject a fresh login, in a {@link ConcurrentHashMap} with their
+ * expiry time, recording a key is a single atomic update of its bin. Expired keys are no longer reported and are
+ * swept at most twice per window by the thread recording a key. Only keys of valid DataSignatures are recorded,
+ * so memory is bounded by the genuine traffic of one window rather than by what clients send.
+ * <p>
+ * Instances are thread-safe and meant to be shared by all verifiers of an application instance. Replays across
+ * instances need a shared guard implementing {@link ReplayGuard}.
+ */
+@ParametersAreNonnullByDefault
+public final class InMemoryReplayGuard implements ReplayGuard {
+
+    private final KeyType keyType;
+
+    private final Duration window;
+
+    private final long windowNanos;
+
+    private final LongSupplier ticker;
+
+    private final ConcurrentHashMap<ByteBuffer, Long> expiries = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextSweep;
+
+    /**
+     * Creates a guard remembering keys for the given window.
+     *
+     * @param keyType - what identifies a DataSignature
+     * @param window - how long keys are remembered, at least the validity of challenges
+     */
+    public InMemoryReplayGuard(KeyType keyType, Duration window) {
+        this(keyType, window, System::nanoTime);
+    }
+
+    InMemoryReplayGuard(KeyType keyType, Duration window, LongSupplier ticker) {
+        Objects.requireNonNull(keyType, "keyType is required");
+        Objects.requireNonNull(window, "window is required");
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        this.keyType = keyType;
+        this.window = window;
+        this.windowNanos = window.toNanos();
+        this.ticker = ticker;
+        this.nextSweep = new AtomicLong(ticker.getAsLong() + windowNanos / 2);
+    }
+
+    @Override
+    public KeyType keyType() {
+        return keyType;
+    }
+
+    @Override
+    public boolean contains(byte[] key) {
+        Objects.requireNonNull(key, "key is required");
+        var expiry = expiries.get(ByteBuffer.wrap(key));
+
+        return expiry != null && expiry - ticker.getAsLong() > 0;
+    }
+
+    @Override
+    public boolean record(byte[] key) {
+        Objects.requireNonNull(key, "key is required");
+        var now = ticker.getAsLong();
+        var recorded = new boolean[1];
+        expiries.compute(ByteBuffer.wrap(Arrays.copyOf(key, key.length)), (k, expiry) -> {
+            if (expiry != null && expiry - now > 0) {
+                return expiry;
+            }
+            recorded[0] = true;
+            return now + windowNanos;
+        });
+        sweep(now);
+
+        return recorded[0];
+    }
+
+    /**
+     * @return number of remembered keys, including expired ones not swept yet
+     */
+    public int size() {
+        return expiries.size();
+    }
+
+    private void sweep(long now) {
+        var next = nextSweep.get();
+        if (now - next < 0 || !nextSweep.compareAndSet(next, now + windowNanos / 2)) {
+            return;
+        }
+        expiries.values().removeIf(expiry -> expiry - now <= 0);
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryReplayGuard{" +
+                "keyType=" + keyType +
+                ", window=" + window +
+                ", size=" + size() +
+                '}';
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.EdECPoint;
+import java.security.spec.EdECPublicKeySpec;
+import java.security.spec.NamedParameterSpec;
+
+import static org.cardanofoundation.cip30.Ed25519.PUBLIC_KEY_LENGTH;
+import static org.cardanofoundation.cip30.Ed25519.SIGNATURE_LENGTH;
+
+/**
+ * {@link SignatureVerifierBackend} of the {@code Ed25519} signature of the JDK (SunEC provider), which rejects
+ * non-canonical signatures. It was measured slower than {@link I2pSignatureVerifierBackend} with JDK 17
+ * (see {@code SignatureBackendBenchmark}), compare both on the target JVM before switching.
+ * <p>
+ * Public keys are decoded by the JDK for every signature, {@link Ed25519PublicKeyCache} is not used.
+ */
+@ParametersAreNonnullByDefault
+public final class JdkSignatureVerifierBackend implements SignatureVerifierBackend {
+
+    static final String NAME = "jdk";
+
+    private static final String ALGORITHM = "Ed25519";
+
+    private static final ThreadLocal<Signature> SIGNATURE = ThreadLocal.withInitial(() -> {
+        try {
+            return Signature.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Ed25519 is not available", e);
+        }
+    });
+
+    private static final ThreadLocal<KeyFactory> KEY_FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return KeyFactory.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Ed25519 is not available", e);
+        }
+    });
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean verify(byte[] message, byte[] signature, byte[] publicKey) {
+        if (signature.length != SIGNATURE_LENGTH || publicKey.length != PUBLIC_KEY_LENGTH) {
+            return false;
+        }
+        try {
+            var verifier = SIGNATURE.get();
+            verifier.initVerify(publicKey(publicKey));
+            verifier.update(message);
+
+            return verifier.verify(signature);
+        } catch (GeneralSecurityException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Decodes an encoded point (RFC 8032, 5.1.3): y little-endian, the most significant bit is the parity of x.
+     */
+    private static PublicKey publicKey(byte[] encoded) throws GeneralSecurityException {
+        var y = new byte[PUBLIC_KEY_LENGTH];
+        for (int i = 0; i < PUBLIC_KEY_LENGTH; i++) {
+            y[i] = encoded[PUBLIC_KEY_LENGTH - 1 - i];
+        }
+        var isXOdd = (y[0] & 0x80) != 0;
+        y[0] &= 0x7f;
+        var point = new EdECPoint(isXOdd, new BigInteger(1, y));
+
+        return KEY_FACTORY.get().generatePublic(new EdECPublicKeySpec(NamedParameterSpec.ED25519, point));
+    }
+
+    @Override
+    public String toString() {
+        return NAME;
+    }
+
+}
@@ -0,0 +1,85 @@
+package org.cardanofoundation.cip30;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link VerificationMetrics} publishing to a Micrometer {@link MeterRegistry}:
+ * <ul>
+ *     <li>{@code cip30.verification.stage} - timer tagged with {@code stage}</li>
+ *     <li>{@code cip30.verification.results} - counter tagged with {@code result} ({@code VALID} or validation error),
+ *     {@code hashed} and {@code key.source} ({@code COSE_KEY}, {@code ADDRESS} or {@code NONE})</li>
+ * </ul>
+ * Micrometer is an optional dependency of this library, it has to be on the classpath to use this class.
+ * All meters are registered upfront, recording does not look them up.
+ */
+@ParametersAreNonnullByDefault
+public final class MicrometerVerificationMetrics implements VerificationMetrics {
+
+    private static final String NONE = "NONE";
+
+    private static final String VALID = "VALID";
+
+    private static final int NO_KEY_SOURCE = KeySource.values().length;
+
+    private final Timer[] stageTimers;
+
+    /**
+     * Counters indexed by result (valid first, then validation errors), hashed and key source (none last).
+     */
+    private final Counter[][][] resultCounters;
+
+    /**
+     * Creates a {@code MicrometerVerificationMetrics} registering its meters.
+     *
+     * @param registry - registry of the meters
+     */
+    public MicrometerVerificationMetrics(MeterRegistry registry) {
+        Objects.requireNonNull(registry, "registry is required");
+
+        var stages = Stage.values();
+        this.stageTimers = new Timer[stages.length];
+        for (var stage : stages) {
+            stageTimers[stage.ordinal()] = Timer.builder("cip30.verification.stage")
+                    .description("Duration of a stage of CIP-30 DataSignature verification")
+                    .tag("stage", stage.name())
+                    .register(registry);
+        }
+
+        var errors = ValidationError.values();
+        var keySources = KeySource.values();
+        this.resultCounters = new Counter[errors.length + 1][2][keySources.length + 1];
+        for (int result = 0; result <= errors.length; result++) {
+            for (int hashed = 0; hashed < 2; hashed++) {
+                for (int keySource = 0; keySource <= keySources.length; keySource++) {
+                    resultCounters[result][hashed][keySource] = Counter.builder("cip30.verification.results")
+                            .description("Number of verified CIP-30 DataSignatures")
+                            .tag("result", result == 0 ? VALID : errors[result - 1].name())
+                            .tag("hashed", Boolean.toString(hashed == 1))
+                            .tag("key.source", keySource == keySources.length ? NONE : keySources[keySource].name())
+                            .register(registry);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void recordStage(Stage stage, long durationNanos) {
+        stageTimers[stage.ordinal()].record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordResult(Optional<ValidationError> validationError, boolean isHashed, Optional<KeySource> keySource) {
+        var result = validationError.isPresent() ? validationError.get().ordinal() + 1 : 0;
+        var source = keySource.isPresent() ? keySource.get().ordinal() : NO_KEY_SOURCE;
+
+        resultCounters[result][isHashed ? 1 : 0][source].increment();
+    }
+
+}
@@ -0,0 +1,174 @@
+package org.cardanofoundation.cip30;
+
+import com.bloxbean.cardano.client.address.Address;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+import static com.bloxbean.cardano.client.address.AddressProvider.verifyAddress;
+import static org.cardanofoundation.cip30.Ed25519.PUBLIC_KEY_LENGTH;
+import static org.cardanofoundation.cip30.Ed25519.SIGNATURE_LENGTH;
+
+/**
+ * DataSignature parsed once into the form used by all later verification stages:
+ * key resolution, address binding and result building.
+ * <p>
+ * COSE_Sign1 and COSE_Key are each parsed exactly once, the address and the public key from COSE_Key
+ * are extracted once and shared by the stages.
+ */
+@ParametersAreNonnullByDefault
+final class ParsedDataSignature {
+
+    private final CoseSign1Structure coseSign1;
+
+    /**
+     * COSE_Key, null if it has not been supplied.
+     */
+    @Nullable
+    private final CoseKeyStructure coseKey;
+
+    /**
+     * Address from the protected header, null if there is none or it is empty.
+     */
+    @Nullable
+    private final byte[] address;
+
+    /**
+     * ED 25519 public key from COSE_Key, null if COSE_Key has not been supplied or does not contain one.
+     */
+    @Nullable
+    private final byte[] coseKeyPublicKey;
+
+    private ParsedDataSignature(CoseSign1Structure coseSign1,
+                                @Nullable CoseKeyStructure coseKey,
+                                @Nullable byte[] address,
+                                @Nullable byte[] coseKeyPublicKey) {
+        this.coseSign1 = coseSign1;
+        this.coseKey = coseKey;
+        this.address = address;
+        this.coseKeyPublicKey = coseKeyPublicKey;
+    }
+
+    /**
+     * Parses DataSignature.
+     *
+     * @param coseSign1 - CBOR bytes of the COSE_Sign1
+     * @param coseKey - optional CBOR bytes of the COSE_Key
+     * @param decodingLimits - limits enforced while parsing
+     * @return parsed DataSignature
+     * @throws CborFormatException if either COSE_Sign1 or COSE_Key is malformed or exceeds the limits
+     */
+    static ParsedDataSignature parse(ByteBuffer coseSign1,
+                                     Optional<ByteBuffer> coseKey,
+                                     DecodingLimits decodingLimits) throws CborFormatException {
+        var coseSign1Structure = CoseSign1Structure.parse(coseSign1, decodingLimits);
+        var coseKeyStructure = coseKey.isPresent() ? CoseKeyStructure.parse(coseKey.orElseThrow(), decodingLimits) : null;
+        var coseKeyPublicKey = coseKeyStructure != null ? coseKeyStructure.publicKey() : null;
+
+        return new ParsedDataSignature(coseSign1Structure, coseKeyStructure, coseSign1Structure.address(), coseKeyPublicKey);
+    }
+
+    /**
+     * Runs the structural checks, which need no cryptography, cheapest first.
+     *
+     * @return reason of the first failed check or null if DataSignature is worth verifying
+     */
+    @Nullable
+    FailureReason check() {
+        if (coseSign1.hasTrailingBytes() || (coseKey != null && coseKey.hasTrailingBytes())) {
+            return FailureReason.TRAILING_BYTES;
+        }
+        if (!coseSign1.isSupportedAlgorithm() || (coseKey != null && !coseKey.isSupportedAlgorithm())) {
+            return FailureReason.UNSUPPORTED_ALGORITHM;
+        }
+        var ed25519PublicKey = getEd25519PublicKey();
+        if (ed25519PublicKey == null) {
+            return FailureReason.NO_PUBLIC_KEY;
+        }
+        if (ed25519PublicKey.length != PUBLIC_KEY_LENGTH) {
+            return FailureReason.INVALID_PUBLIC_KEY_LENGTH;
+        }
+        if (coseSign1.signatureLength() != SIGNATURE_LENGTH) {
+            return FailureReason.INVALID_SIGNATURE_LENGTH;
+        }
+
+        return null;
+    }
+
+    boolean isHashed() {
+        return coseSign1.isHashed();
+    }
+
+    /**
+     * @return address from the protected header or null if there is none
+     */
+    @Nullable
+    byte[] getAddress() {
+        return address;
+    }
+
+    byte[] getMessage() {
+        return coseSign1.message();
+    }
+
+    byte[] getEd25519Signature() {
+        return coseSign1.signature();
+    }
+
+    /**
+     * @return CBOR encoded Sig_structure (COSE payload)
+     */
+    byte[] getCosePayload() {
+        return coseSign1.sigStructure();
+    }
+
+    /**
+     * @return where the public key is taken from, null if there is no public key
+     */
+    @Nullable
+    VerificationMetrics.KeySource getKeySource() {
+        if (getEd25519PublicKey() == null) {
+            return null;
+        }
+
+        return coseKeyPublicKey != null ? VerificationMetrics.KeySource.COSE_KEY : VerificationMetrics.KeySource.ADDRESS;
+    }
+
+    /**
+     * @param messageLength - length of the payload which follows
+     * @return start of the COSE payload (Sig_structure) up to the payload content
+     */
+    byte[] getCosePayloadHead(long messageLength) {
+        return coseSign1.sigStructureHead(messageLength);
+    }
+
+    /**
+     * Resolves ED 25519 public key.
+     * <p>
+     * If COSE_Key has been supplied and contains the public key (-2 index) the public key is taken from it,
+     * otherwise the address key from the protected header of the COSE_Sign1 is used.
+     *
+     * @return an array of bytes containing ED 25519 public key or null if neither supplied COSE_Key nor protected header
+     * contains ED 25519 public key
+     */
+    @Nullable
+    byte[] getEd25519PublicKey() {
+        return coseKeyPublicKey != null ? coseKeyPublicKey : address;
+    }
+
+    /**
+     * Checks if public key from the COSE_Key matches the address from the protected header.
+     *
+     * @return true if address has been derived from the public key or if there is nothing to compare
+     */
+    boolean isAddressVerified() {
+        if (address == null || coseKeyPublicKey == null) {
+            return true;
+        }
+
+        return verifyAddress(new Address(address), coseKeyPublicKey);
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.cardanofoundation.cip30;
+
+import com.bloxbean.cardano.client.crypto.Blake2bUtil;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Precomputed index of candidate payloads, e.g. outstanding challenge nonces, matched against signed messages.
+ * <p>
+ * Candidates are encoded in {@code UTF_8} and hashed with Blake2b-224 once, when the index is created. Matching a
+ * {@link Cip30VerificationResult} then costs a hash lookup by message (or by message hash for hashed content,
+ * hardware wallet scenario) instead of encoding and hashing every candidate. The candidate found is confirmed
+ * by a constant-time comparison.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+@ParametersAreNonnullByDefault
+public final class PayloadIndex {
+
+    private final Map<ByteBuffer, Entry> byPayload;
+
+    private final Map<ByteBuffer, Entry> byHash;
+
+    private PayloadIndex(Map<ByteBuffer, Entry> byPayload, Map<ByteBuffer, Entry> byHash) {
+        this.byPayload = byPayload;
+        this.byHash = byHash;
+    }
+
+    /**
+     * Creates an index of candidate payloads.
+     *
+     * @param candidates - candidate payloads, duplicates are indexed once
+     * @return index of the candidates
+     * @throws NullPointerException if candidates or one of them is null
+     */
+    public static PayloadIndex of(Collection<String> candidates) {
+        Objects.requireNonNull(candidates, "candidates cannot be null");
+
+        var byPayload = new HashMap<ByteBuffer, Entry>(2 * candidates.size());
+        var byHash = new HashMap<ByteBuffer, Entry>(2 * candidates.size());
+        for (var candidate : candidates) {
+            Objects.requireNonNull(candidate, "candidate cannot be null");
+            var bytes = candidate.getBytes(UTF_8);
+            var hash = Blake2bUtil.blake2bHash224(bytes);
+            byPayload.putIfAbsent(ByteBuffer.wrap(bytes), new Entry(candidate, bytes));
+            byHash.putIfAbsent(ByteBuffer.wrap(hash), new Entry(candidate, hash));
+        }
+
+        return new PayloadIndex(Map.copyOf(byPayload), Map.copyOf(byHash));
+    }
+
+    /**
+     * Finds the candidate payload matching the message of the given result, see
+     * {@link Cip30VerificationResult#verifyPayload(String)}.
+     *
+     * @param result - result of a verification
+     * @return candidate matching the message, empty if none does
+     * @throws IllegalStateException if the signature is invalid (message is null)
+     */
+    public Optional<String> match(Cip30VerificationResult result) {
+        Objects.requireNonNull(result, "result cannot be null");
+
+        var message = result.getMessage();
+        if (message == null) {
+            throw new IllegalStateException("Cannot verify payload: signature is invalid (message is null)");
+        }
+        var entry = (result.isHashed() ? byHash : byPayload).get(ByteBuffer.wrap(message));
+        if (entry == null || !MessageDigest.isEqual(message, entry.key)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(entry.candidate);
+    }
+
+    /**
+     * @return number of distinct candidates
+     */
+    public int size() {
+        return byPayload.size();
+    }
+
+    @Override
+    public String toString() {
+        return "PayloadIndex{" +
+                "size=" + size() +
+                '}';
+    }
+
+    private static final class Entry {
+
+        private final String candidate;
+
+        private final byte[] key;
+
+        private Entry(String candidate, byte[] key) {
+            this.candidate = candidate;
+            this.key = key;
+        }
+
+    }
+
+}
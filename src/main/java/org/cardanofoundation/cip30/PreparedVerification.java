@@ -0,0 +1,198 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Optional;
+
+/**
+ * Outcome of parsing and structural checks of a DataSignature, before the ED 25519 signature check.
+ * <p>
+ * Separating the signature check allows verifying many DataSignatures together (see {@code CIP30BatchVerifier}).
+ */
+@ParametersAreNonnullByDefault
+final class PreparedVerification {
+
+    /**
+     * Result known already at the preparation stage, e.g. format error or missing public key.
+     */
+    @Nullable
+    private final Cip30VerificationResult result;
+
+    private final boolean isHashed;
+
+    @Nullable
+    private final byte[] address;
+
+    @Nullable
+    private final byte[] message;
+
+    @Nullable
+    private final byte[] ed25519PublicKey;
+
+    @Nullable
+    private final byte[] ed25519Signature;
+
+    @Nullable
+    private final byte[] cosePayload;
+
+    /**
+     * Key recorded in the replay guard once the signature is verified, null if there is no replay guard.
+     */
+    @Nullable
+    private final byte[] replayKey;
+
+    @Nullable
+    private final VerificationMetrics.KeySource keySource;
+
+    /**
+     * Parsed DataSignature which a compact result refers to, null if the result holds its own copies.
+     */
+    @Nullable
+    private final ParsedDataSignature compactSource;
+
+    private final Cip30VerificationEngine engine;
+
+    private PreparedVerification(@Nullable Cip30VerificationResult result,
+                                 boolean isHashed,
+                                 @Nullable byte[] address,
+                                 @Nullable byte[] message,
+                                 @Nullable byte[] ed25519PublicKey,
+                                 @Nullable byte[] ed25519Signature,
+                                 @Nullable byte[] cosePayload,
+                                 @Nullable byte[] replayKey,
+                                 @Nullable VerificationMetrics.KeySource keySource,
+                                 @Nullable ParsedDataSignature compactSource,
+                                 Cip30VerificationEngine engine) {
+        this.result = result;
+        this.isHashed = isHashed;
+        this.address = address;
+        this.message = message;
+        this.ed25519PublicKey = ed25519PublicKey;
+        this.ed25519Signature = ed25519Signature;
+        this.cosePayload = cosePayload;
+        this.replayKey = replayKey;
+        this.keySource = keySource;
+        this.compactSource = compactSource;
+        this.engine = engine;
+    }
+
+    static PreparedVerification invalid(ValidationError error, @Nullable FailureReason reason, Cip30VerificationEngine engine) {
+        var result = reason != null ? Cip30VerificationResult.createInvalid(error, reason) : Cip30VerificationResult.createInvalid(error);
+
+        return new PreparedVerification(result, false, null, null, null, null, null, null, null, null, engine);
+    }
+
+    /**
+     * Creates verification of a parsed DataSignature, which is pending the ED 25519 signature check unless
+     * a cheaper check has failed already.
+     *
+     * @param failureReason - reason of a failed structural, address or replay check, null if all passed
+     * @param replayKey - key recorded in the replay guard once the signature is verified, null without replay guard
+     * @param compactSource - parsed DataSignature which a compact result refers to, null for a result holding copies
+     */
+    static PreparedVerification pending(boolean isHashed,
+                                        @Nullable byte[] address,
+                                        @Nullable byte[] message,
+                                        byte[] ed25519PublicKey,
+                                        byte[] ed25519Signature,
+                                        byte[] cosePayload,
+                                        @Nullable FailureReason failureReason,
+                                        @Nullable byte[] replayKey,
+                                        VerificationMetrics.KeySource keySource,
+                                        @Nullable ParsedDataSignature compactSource,
+                                        Cip30VerificationEngine engine) {
+        var pending = new PreparedVerification(null, isHashed, address, message, ed25519PublicKey, ed25519Signature,
+                cosePayload, replayKey, keySource, compactSource, engine);
+        if (failureReason == null) {
+            return pending;
+        }
+
+        // fail fast, the ED 25519 signature is never checked
+        return new PreparedVerification(pending.buildResult(failureReason), isHashed, address, message, ed25519PublicKey,
+                ed25519Signature, cosePayload, null, keySource, compactSource, engine);
+    }
+
+    /**
+     * @return result if it is known without checking ED 25519 signature
+     */
+    Optional<Cip30VerificationResult> getResult() {
+        return Optional.ofNullable(result);
+    }
+
+    byte[] getEd25519PublicKey() {
+        return ed25519PublicKey;
+    }
+
+    byte[] getEd25519Signature() {
+        return ed25519Signature;
+    }
+
+    byte[] getCosePayload() {
+        return cosePayload;
+    }
+
+    /**
+     * @return true if the result depends on the ED 25519 signature check, false if it is already known
+     */
+    boolean isPending() {
+        return result == null;
+    }
+
+    /**
+     * Checks ED 25519 signature on its own and builds the result.
+     *
+     * @return an instance of {@code Cip30VerificationResult}
+     */
+    Cip30VerificationResult complete() {
+        if (result != null) {
+            engine.recordResult(result, keySource);
+            return result;
+        }
+
+        return complete(engine.verifySignature(cosePayload, ed25519Signature, ed25519PublicKey));
+    }
+
+    /**
+     * Builds the result given outcome of the ED 25519 signature check done elsewhere.
+     *
+     * @param isSignatureVerified - whether ED 25519 signature is valid
+     * @return an instance of {@code Cip30VerificationResult}
+     */
+    Cip30VerificationResult complete(boolean isSignatureVerified) {
+        if (result != null) {
+            return complete();
+        }
+
+        var failureReason = !isSignatureVerified ? FailureReason.INVALID_SIGNATURE
+                // recorded atomically, only one of concurrent verifications of the same DataSignature is valid
+                : engine.recordAccepted(replayKey) ? null : FailureReason.REPLAYED;
+        var verificationResult = buildResult(failureReason);
+        engine.recordResult(verificationResult, keySource);
+
+        return verificationResult;
+    }
+
+    private Cip30VerificationResult buildResult(@Nullable FailureReason failureReason) {
+        var b = Cip30VerificationResult.Builder.newBuilder();
+        b.isHashed(isHashed);
+
+        if (failureReason != null) {
+            b.validationError(failureReason.validationError());
+            b.failureReason(failureReason);
+        } else {
+            b.valid();
+        }
+
+        if (compactSource != null) {
+            return b.parsed(compactSource).build();
+        }
+        Optional.ofNullable(address).ifPresent(b::address);
+        b.message(message);
+        b.ed25519PublicKey(ed25519PublicKey);
+        b.ed25519Signature(ed25519Signature);
+        b.cosePayload(cosePayload);
+
+        return b.build();
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link DiagnosticListener} forwarding at most a given number of failures per second to another listener,
+ * see {@link DiagnosticListener#rateLimited(DiagnosticListener, int)}. Failures above the limit are counted.
+ * <p>
+ * Instances are thread-safe.
+ */
+@ParametersAreNonnullByDefault
+public final class RateLimitedDiagnosticListener implements DiagnosticListener {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final DiagnosticListener delegate;
+
+    private final int permitsPerSecond;
+
+    private final LongSupplier ticker;
+
+    private final AtomicLong windowStart;
+
+    private final AtomicInteger windowCount = new AtomicInteger();
+
+    private final LongAdder suppressed = new LongAdder();
+
+    RateLimitedDiagnosticListener(DiagnosticListener delegate, int permitsPerSecond) {
+        this(delegate, permitsPerSecond, System::nanoTime);
+    }
+
+    RateLimitedDiagnosticListener(DiagnosticListener delegate, int permitsPerSecond, LongSupplier ticker) {
+        Objects.requireNonNull(delegate, "delegate is required");
+        if (permitsPerSecond < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.delegate = delegate;
+        this.permitsPerSecond = permitsPerSecond;
+        this.ticker = ticker;
+        this.windowStart = new AtomicLong(ticker.getAsLong());
+    }
+
+    @Override
+    public void onFailure(ValidationError validationError, @Nullable FailureReason failureReason) {
+        var now = ticker.getAsLong();
+        var start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            windowCount.set(0);
+        }
+        if (windowCount.incrementAndGet() > permitsPerSecond) {
+            suppressed.increment();
+            return;
+        }
+
+        delegate.onFailure(validationError, failureReason);
+    }
+
+    /**
+     * @return number of failures which have not been forwarded because of the limit
+     */
+    public long suppressedCount() {
+        return suppressed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitedDiagnosticListener{" +
+                "permitsPerSecond=" + permitsPerSecond +
+                ", suppressedCount=" + suppressedCount() +
+                '}';
+    }
+
+}
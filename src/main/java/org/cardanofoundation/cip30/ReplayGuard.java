@@ -0,0 +1,70 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.time.Duration;
+
+/**
+ * Guard against replays of DataSignatures, e.g. the same signed login challenge being accepted twice.
+ * <p>
+ * When configured on the engine (see {@link Cip30VerificationEngine.Builder#replayGuard(ReplayGuard)}), the key of
+ * a DataSignature is looked up after the structural and address checks, a known key is rejected with
+ * {@link ValidationError#REPLAYED} before any ED 25519 work. Keys of valid DataSignatures are then recorded,
+ * atomically, so that of concurrent verifications of the same DataSignature only one is valid.
+ * <p>
+ * Implementations must be thread-safe, see {@link InMemoryReplayGuard} for an in-process one.
+ */
+@ParametersAreNonnullByDefault
+public interface ReplayGuard {
+
+    /**
+     * What identifies a DataSignature.
+     */
+    enum KeyType {
+
+        /**
+         * ED 25519 signature bytes of COSE_Sign1.
+         */
+        SIGNATURE,
+
+        /**
+         * Blake2b-224 hash of the signed message, the message itself for hashed content (a 28 bytes long hash
+         * already). The same message signed again, or with another key, is a replay. Streamed messages are hashed
+         * in chunks.
+         */
+        MESSAGE_HASH
+
+    }
+
+    /**
+     * @return what identifies a DataSignature
+     */
+    KeyType keyType();
+
+    /**
+     * Checks whether a key has been recorded and is not expired yet.
+     *
+     * @param key - key of a DataSignature, it must not be modified
+     * @return true if the key is known
+     */
+    boolean contains(byte[] key);
+
+    /**
+     * Records a key of a valid DataSignature, unless it is known already.
+     *
+     * @param key - key of a DataSignature, it must not be modified
+     * @return true if the key has been recorded, false if it is known, i.e. the DataSignature is a replay
+     */
+    boolean record(byte[] key);
+
+    /**
+     * Creates an in-process guard remembering keys for the given window.
+     *
+     * @param keyType - what identifies a DataSignature
+     * @param window - how long keys are remembered, at least the validity of challenges
+     * @return replay guard
+     */
+    static ReplayGuard inMemory(KeyType keyType, Duration window) {
+        return new InMemoryReplayGuard(keyType, window);
+    }
+
+}
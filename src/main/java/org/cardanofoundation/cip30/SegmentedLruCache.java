@@ -0,0 +1,142 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded map backing the caches of the library.
+ * <p>
+ * The map is split into segments, each evicting its least recently used entries, so that concurrent callers
+ * rarely contend on the same lock. Instances are thread-safe.
+ *
+ * @param <K> - type of keys, with {@code equals} and {@code hashCode}
+ * @param <V> - type of values
+ */
+@ParametersAreNonnullByDefault
+final class SegmentedLruCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final List<Segment> segments;
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maximumSize - maximum number of entries kept in all the segments together
+     */
+    SegmentedLruCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        var segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize));
+        this.segments = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            // distribute remainder so that segment capacities add up to maximumSize
+            var capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+            segments.add(new Segment(capacity));
+        }
+    }
+
+    /**
+     * @return value of the key, marked as the most recently used, or null if there is none
+     */
+    @Nullable
+    V get(K key) {
+        return segment(key).get(key);
+    }
+
+    /**
+     * Puts the value, evicting the least recently used entry of the segment if it is full.
+     */
+    void put(K key, V value) {
+        segment(key).put(key, value);
+    }
+
+    /**
+     * Removes the entry only if the key still has the given value, e.g. an expired one not replaced in the meantime.
+     *
+     * @return true if the entry has been removed
+     */
+    boolean remove(K key, V value) {
+        return segment(key).remove(key, value);
+    }
+
+    /**
+     * @return current number of entries
+     */
+    int size() {
+        var size = 0;
+        for (var segment : segments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * @return number of entries evicted because their segment was full
+     */
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Removes all entries, the eviction counter is not reset.
+     */
+    void clear() {
+        for (var segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private Segment segment(K key) {
+        return segments.get((key.hashCode() & Integer.MAX_VALUE) % segments.size());
+    }
+
+    private final class Segment {
+
+        private final LinkedHashMap<K, V> entries;
+
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    var evict = size() > capacity;
+                    if (evict) {
+                        evictions.increment();
+                    }
+
+                    return evict;
+                }
+            };
+        }
+
+        @Nullable
+        private synchronized V get(K key) {
+            return entries.get(key);
+        }
+
+        private synchronized void put(K key, V value) {
+            entries.put(key, value);
+        }
+
+        private synchronized boolean remove(K key, V value) {
+            return entries.remove(key, value);
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+        private synchronized void clear() {
+            entries.clear();
+        }
+
+    }
+
+}
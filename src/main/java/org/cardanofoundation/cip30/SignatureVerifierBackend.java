@@ -0,0 +1,105 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.ServiceLoader;
+
+/**
+ * Service provider of ED 25519 checks of individual signatures, so that the fastest correct implementation for
+ * the JVM at hand can be chosen. Built-in backends:
+ * <ul>
+ *     <li>{@code i2p} - {@link I2pSignatureVerifierBackend}, the default, using {@link Ed25519PublicKeyCache} if configured</li>
+ *     <li>{@code jdk} - {@link JdkSignatureVerifierBackend}, the {@code Ed25519} signature of the JDK</li>
+ * </ul>
+ * Backends are discovered with {@link ServiceLoader}, further ones are registered in
+ * {@code META-INF/services/org.cardanofoundation.cip30.SignatureVerifierBackend}. A backend is selected on the engine,
+ * see {@link Cip30VerificationEngine.Builder#signatureBackend(SignatureVerifierBackend)}, or by name with the system
+ * property {@value #SYSTEM_PROPERTY}.
+ * <p>
+ * Batch verification (see {@link CIP30BatchVerifier}) and verification of streamed messages
+ * (see {@link CIP30StreamingVerifier}) combine signatures with curve arithmetic of their own, a backend checks
+ * signatures verified one by one, including signatures of batches which failed.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+@ParametersAreNonnullByDefault
+public interface SignatureVerifierBackend {
+
+    /**
+     * System property holding name of the backend used by engines which are not configured otherwise.
+     */
+    String SYSTEM_PROPERTY = "cip30.signatureBackend";
+
+    /**
+     * @return unique name of the backend, e.g. {@code jdk}
+     */
+    String name();
+
+    /**
+     * Checks ED 25519 signature (RFC 8032) of a message.
+     *
+     * @param message - signed message, the COSE payload
+     * @param signature - 64 bytes long ED 25519 signature
+     * @param publicKey - 32 bytes long ED 25519 public key
+     * @return true if the signature is valid, false if it is not or if the signature or public key is malformed
+     */
+    boolean verify(byte[] message, byte[] signature, byte[] publicKey);
+
+    /**
+     * Checks ED 25519 signature (RFC 8032) of a message on behalf of an engine, this is what engines call.
+     * <p>
+     * Backends able to reuse state of the engine override it, e.g. {@link I2pSignatureVerifierBackend} takes decoded
+     * public keys from the engine's {@link Ed25519PublicKeyCache}. Backends wrapping another one should delegate
+     * this method too. The default implementation ignores the engine.
+     *
+     * @param message - signed message, the COSE payload
+     * @param signature - 64 bytes long ED 25519 signature
+     * @param publicKey - 32 bytes long ED 25519 public key
+     * @param engine - engine verifying the signature
+     * @return true if the signature is valid, false if it is not or if the signature or public key is malformed
+     */
+    default boolean verify(byte[] message, byte[] signature, byte[] publicKey, Cip30VerificationEngine engine) {
+        return verify(message, signature, publicKey);
+    }
+
+    /**
+     * @return all backends found by {@link ServiceLoader}
+     */
+    static List<SignatureVerifierBackend> available() {
+        var backends = new ArrayList<SignatureVerifierBackend>();
+        ServiceLoader.load(SignatureVerifierBackend.class, SignatureVerifierBackend.class.getClassLoader()).forEach(backends::add);
+
+        return backends;
+    }
+
+    /**
+     * @param name - name of the backend
+     * @return backend of the given name
+     * @throws IllegalArgumentException if there is no such backend
+     */
+    static SignatureVerifierBackend named(String name) {
+        Objects.requireNonNull(name, "name is required");
+        if (I2pSignatureVerifierBackend.NAME.equals(name)) {
+            return I2pSignatureVerifierBackend.INSTANCE;
+        }
+
+        return available().stream()
+                .filter(backend -> backend.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown signature backend: " + name));
+    }
+
+    /**
+     * Never fails, a misspelled system property must not break every engine of the JVM, so the {@code i2p} backend
+     * is used (and a warning logged) if the named backend cannot be loaded. The system property is read once,
+     * when the default backend is first needed.
+     *
+     * @return backend named by the system property {@value #SYSTEM_PROPERTY}, {@code i2p} if it is not set
+     */
+    static SignatureVerifierBackend defaultBackend() {
+        return DefaultSignatureVerifierBackend.INSTANCE;
+    }
+
+}
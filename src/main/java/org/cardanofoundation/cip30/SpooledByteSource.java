@@ -0,0 +1,101 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@link ByteSource} backed by a temporary file, the file is deleted once the source is no longer reachable.
+ */
+final class SpooledByteSource implements ByteSource {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+
+    private final long size;
+
+    private SpooledByteSource(Path file, long size) {
+        this.file = file;
+        this.size = size;
+        CLEANER.register(this, new Deletion(file));
+    }
+
+    /**
+     * Copies exactly {@code size} bytes of the stream into a new temporary file.
+     *
+     * @param stream    - stream to copy the bytes from, it is not closed
+     * @param size      - number of bytes to copy
+     * @param directory - directory of the temporary file, default temporary-file directory if null
+     * @return byte source of the copied bytes
+     * @throws CborFormatException if stream ends before all the bytes have been copied
+     */
+    static SpooledByteSource spool(InputStream stream, long size, @Nullable Path directory) throws IOException, CborFormatException {
+        var file = directory != null
+                ? Files.createTempFile(directory, "cip30-", ".spool")
+                : Files.createTempFile("cip30-", ".spool");
+        try (var out = Files.newOutputStream(file)) {
+            var buffer = new byte[(int) Math.min(BUFFER_SIZE, Math.max(size, 1))];
+            var remaining = size;
+            while (remaining > 0) {
+                var read = stream.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw CborFormatException.of(FailureReason.TRUNCATED_INPUT);
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        } catch (IOException | CborFormatException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        return new SpooledByteSource(file, size);
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        return Files.newInputStream(file);
+    }
+
+    @Override
+    public String toString() {
+        return "SpooledByteSource{" +
+                "file=" + file +
+                ", size=" + size +
+                '}';
+    }
+
+    /**
+     * Must not reference the source, otherwise it would never become unreachable.
+     */
+    private static final class Deletion implements Runnable {
+
+        private final Path file;
+
+        private Deletion(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+        }
+
+    }
+
+}
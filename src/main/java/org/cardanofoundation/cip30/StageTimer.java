@@ -0,0 +1,46 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.Nullable;
+
+/**
+ * Measures a single stage of verification, reporting it to {@link VerificationMetrics} and as a JFR event.
+ * Timers are only created when the engine has metrics or the JFR event is enabled.
+ */
+final class StageTimer {
+
+    private final VerificationMetrics.Stage stage;
+
+    @Nullable
+    private final VerificationMetrics metrics;
+
+    @Nullable
+    private final VerificationStageEvent event;
+
+    private final long start;
+
+    StageTimer(VerificationMetrics.Stage stage, @Nullable VerificationMetrics metrics, @Nullable VerificationStageEvent event) {
+        this.stage = stage;
+        this.metrics = metrics;
+        this.event = event;
+        if (event != null) {
+            event.begin();
+        }
+        this.start = System.nanoTime();
+    }
+
+    void stop() {
+        var duration = System.nanoTime() - start;
+        if (metrics != null) {
+            metrics.recordStage(stage, duration);
+        }
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = stage.name();
+            event.commit();
+        }
+    }
+
+}
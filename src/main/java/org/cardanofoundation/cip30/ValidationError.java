@@ -3,22 +3,74 @@ package org.cardanofoundation.cip30;
 /**
  * {@code ValidationError} is an enum representing different errors that can occur
  * during the process of validation of a CIP-30 DataSignature returned by signData function.
+ * <p>
+ * Every error has a stable numeric {@link #getCode() code}, which never changes and is never reused,
+ * new errors get new codes. Codes are meant for persisted results, e.g. the output of {@link CIP30FileVerifier},
+ * while the order of the constants may change.
  */
 public enum ValidationError {
 
     /**
      * The instance when the reason why the signature is invalid is unknown.
      */
-    UNKNOWN,
+    UNKNOWN(1),
 
     /**
      * The instance when the signature do not comply with the CIP 30 specification format.
      */
-    CIP8_FORMAT_ERROR,
+    CIP8_FORMAT_ERROR(2),
 
     /**
      * The instance when the signature do not contain a public key.
      */
-    NO_PUBLIC_KEY
+    NO_PUBLIC_KEY(3),
+
+    /**
+     * The instance when the protected header or COSE_Key declares an algorithm other than EdDSA.
+     */
+    UNSUPPORTED_ALGORITHM(4),
+
+    /**
+     * The instance when COSE_Sign1 or COSE_Key is followed by unexpected bytes.
+     */
+    TRAILING_BYTES(5),
+
+    /**
+     * The instance when the public key is not a 32 bytes long ED 25519 public key.
+     */
+    INVALID_PUBLIC_KEY_LENGTH(6),
+
+    /**
+     * The instance when the signature is not a 64 bytes long ED 25519 signature.
+     */
+    INVALID_SIGNATURE_LENGTH(7),
+
+    /**
+     * The instance when the address from the protected header does not belong to the public key from COSE_Key.
+     */
+    ADDRESS_MISMATCH(8),
+
+    /**
+     * The instance when the ED 25519 signature does not match the signed message and public key.
+     */
+    INVALID_SIGNATURE(9),
+
+    /**
+     * The instance when a valid DataSignature has already been accepted, see {@link ReplayGuard}.
+     */
+    REPLAYED(10);
+
+    private final int code;
+
+    ValidationError(int code) {
+        this.code = code;
+    }
+
+    /**
+     * @return stable code of the error, between 1 and 127
+     */
+    public int getCode() {
+        return code;
+    }
 
 }
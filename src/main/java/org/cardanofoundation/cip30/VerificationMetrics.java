@@ -0,0 +1,86 @@
+package org.cardanofoundation.cip30;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import java.util.Optional;
+
+/**
+ * Receiver of measurements taken while verifying CIP-30 DataSignatures, e.g. {@link MicrometerVerificationMetrics}.
+ * <p>
+ * Metrics are configured on a {@link Cip30VerificationEngine}, when none are configured no measurements are taken
+ * at all. Implementations are called on the verifying threads, they must be thread-safe and cheap.
+ * Stages are additionally reported as JFR events, see {@link VerificationStageEvent}.
+ */
+@ParametersAreNonnullByDefault
+public interface VerificationMetrics {
+
+    /**
+     * Timed stages of verification.
+     */
+    enum Stage {
+
+        /**
+         * Decoding hex COSE_Sign1 and COSE_Key into bytes.
+         */
+        HEX_DECODE,
+
+        /**
+         * Parsing COSE_Sign1 and COSE_Key CBOR structures.
+         */
+        CBOR_PARSE,
+
+        /**
+         * Decoding ED 25519 public key into a curve point, or looking it up in {@link Ed25519PublicKeyCache}.
+         */
+        KEY_RESOLUTION,
+
+        /**
+         * Checking ED 25519 signature, individually or as a batch.
+         */
+        ED25519_VERIFY,
+
+        /**
+         * Checking that the address in the protected header belongs to the public key from COSE_Key.
+         */
+        ADDRESS_CHECK,
+
+        /**
+         * Looking up and recording the DataSignature in {@link ReplayGuard}.
+         */
+        REPLAY_CHECK
+
+    }
+
+    /**
+     * Where the ED 25519 public key has been taken from.
+     */
+    enum KeySource {
+
+        COSE_KEY,
+
+        /**
+         * Address in the protected header of COSE_Sign1.
+         */
+        ADDRESS
+
+    }
+
+    /**
+     * Called when a stage of verification has finished.
+     *
+     * @param stage - finished stage
+     * @param durationNanos - duration of the stage in nanoseconds
+     */
+    default void recordStage(Stage stage, long durationNanos) {
+    }
+
+    /**
+     * Called once for each verified DataSignature.
+     *
+     * @param validationError - validation error, empty if DataSignature is valid
+     * @param isHashed - whether message is hashed
+     * @param keySource - where the public key has been taken from, empty if there is no public key
+     */
+    default void recordResult(Optional<ValidationError> validationError, boolean isHashed, Optional<KeySource> keySource) {
+    }
+
+}
@@ -0,0 +1,29 @@
+package org.cardanofoundation.cip30;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for each verified DataSignature.
+ */
+@Name("org.cardanofoundation.cip30.VerificationResult")
+@Label("CIP-30 Verification Result")
+@Description("Outcome of CIP-30 DataSignature verification")
+@Category("CIP-30")
+final class VerificationResultEvent extends jdk.jfr.Event {
+
+    @Label("Valid")
+    boolean valid;
+
+    @Label("Validation Error")
+    String validationError;
+
+    @Label("Hashed")
+    boolean hashed;
+
+    @Label("Key Source")
+    String keySource;
+
+}
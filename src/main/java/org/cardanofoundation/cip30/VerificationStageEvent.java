@@ -0,0 +1,20 @@
+package org.cardanofoundation.cip30;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering a stage of verification, see {@link VerificationMetrics.Stage}.
+ */
+@Name("org.cardanofoundation.cip30.VerificationStage")
+@Label("CIP-30 Verification Stage")
+@Description("Stage of CIP-30 DataSignature verification")
+@Category("CIP-30")
+final class VerificationStageEvent extends jdk.jfr.Event {
+
+    @Label("Stage")
+    String stage;
+
+}
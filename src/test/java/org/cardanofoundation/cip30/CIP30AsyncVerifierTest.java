@@ -0,0 +1,167 @@
+package org.cardanofoundation.cip30;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.cardanofoundation.cip30.CIP30BatchVerifierTest.DATA_SIGNATURES;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CIP30AsyncVerifierTest {
+
+    @Test
+    void concurrencyIsBounded() {
+        // tasks are run by the test one at a time
+        var submitted = new ArrayDeque<Runnable>();
+        var verifier = CIP30AsyncVerifier.Builder.newBuilder()
+                .executor(submitted::add)
+                .maxConcurrency(2)
+                .build();
+
+        var futures = new ArrayList<CompletableFuture<Cip30VerificationResult>>();
+        DATA_SIGNATURES.forEach(dataSignature -> futures.add(verifier.verify(dataSignature)));
+
+        assertEquals(2, submitted.size());
+        // a finished task starts the next queued one
+        submitted.poll().run();
+        assertEquals(2, submitted.size());
+        assertTrue(futures.get(0).isDone());
+        assertFalse(futures.get(2).isDone());
+
+        while (!submitted.isEmpty()) {
+            submitted.poll().run();
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            var expected = new CIP30Verifier(DATA_SIGNATURES.get(i)).verify();
+            assertEquals(expected.getValidationError(), futures.get(i).join().getValidationError());
+        }
+    }
+
+    @Test
+    void longQueueOnCallingThreadDoesNotGrowStack() {
+        // the first task is held until the queue is long, then all tasks run on the calling thread
+        var held = new ArrayDeque<Runnable>();
+        var holding = new boolean[] { true };
+        var verifier = CIP30AsyncVerifier.Builder.newBuilder()
+                .executor(task -> {
+                    if (holding[0]) {
+                        held.add(task);
+                    } else {
+                        task.run();
+                    }
+                })
+                .maxConcurrency(1)
+                .build();
+
+        var futures = new ArrayList<CompletableFuture<Cip30VerificationResult>>();
+        for (int i = 0; i < 100_000; i++) {
+            futures.add(verifier.verify(new DataSignature("a0")));
+        }
+        holding[0] = false;
+        held.poll().run();
+
+        assertTrue(futures.stream().allMatch(future -> future.isDone() && !future.isCompletedExceptionally()));
+    }
+
+    @Test
+    void rejectedTaskFailsFuture() {
+        var verifier = CIP30AsyncVerifier.Builder.newBuilder()
+                .executor(task -> {
+                    throw new RejectedExecutionException("shut down");
+                })
+                .build();
+
+        var future = verifier.verify(DATA_SIGNATURES.get(0));
+
+        var e = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+
+    @Test
+    void publisherKeepsOrderAndHonoursDemand() throws Exception {
+        var verifier = CIP30AsyncVerifier.Builder.newBuilder()
+                .maxConcurrency(3)
+                .build();
+        var results = new CopyOnWriteArrayList<Cip30VerificationResult>();
+        var completed = new CompletableFuture<Void>();
+        var subscription = new CompletableFuture<Flow.Subscription>();
+
+        try (var publisher = new SubmissionPublisher<DataSignature>()) {
+            verifier.verify(publisher).subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    subscription.complete(s);
+                    s.request(2);
+                }
+
+                @Override
+                public void onNext(Cip30VerificationResult item) {
+                    results.add(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    completed.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.complete(null);
+                }
+            });
+            DATA_SIGNATURES.forEach(publisher::submit);
+
+            // no more results than requested
+            Thread.sleep(200);
+            assertEquals(2, results.size());
+
+            subscription.get(5, TimeUnit.SECONDS).request(Long.MAX_VALUE);
+        }
+        completed.get(10, TimeUnit.SECONDS);
+
+        var expected = DATA_SIGNATURES.stream()
+                .map(dataSignature -> new CIP30Verifier(dataSignature).verify().getValidationError())
+                .toList();
+        assertEquals(expected, results.stream().map(Cip30VerificationResult::getValidationError).toList());
+    }
+
+    @Test
+    void invalidRequestFailsSubscription() throws Exception {
+        var failed = new CompletableFuture<Throwable>();
+
+        try (var publisher = new SubmissionPublisher<DataSignature>()) {
+            CIP30AsyncVerifier.Builder.newBuilder().build().verify(publisher).subscribe(new Flow.Subscriber<>() {
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    s.request(0);
+                }
+
+                @Override
+                public void onNext(Cip30VerificationResult item) {
+                    fail("no result has been requested");
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    failed.complete(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    fail("subscription has failed");
+                }
+            });
+        }
+
+        assertInstanceOf(IllegalArgumentException.class, failed.get(5, TimeUnit.SECONDS));
+    }
+
+}
@@ -0,0 +1,219 @@
+package org.cardanofoundation.cip30;
+
+import com.bloxbean.cardano.client.util.HexUtil;
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import net.i2p.crypto.eddsa.math.GroupElement;
+import net.i2p.crypto.eddsa.spec.EdDSAPrivateKeySpec;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.cardanofoundation.cip30.Ed25519.ED_DSA_PARAMETER_SPEC;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CIP30BatchVerifierTest {
+
+    static final List<DataSignature> DATA_SIGNATURES = List.of(
+            // valid
+            new DataSignature("84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e",
+                    "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4"),
+            // valid, empty address
+            new DataSignature("844ca20127676164647265737340a166686173686564f4565468697320697320612074657374206d6573736167655840a6cec002ecec0c7140a029feb9152edb444bbd8a58c6a0a4eceac6a0e30943e53f9ebe029d766a08b4198aaae71d656319fff25780eab816ab0937e6704bb001",
+                    "a401010327200621582052b92d51dc638d085f8663103d5509f0da29bbee418d75f1f2dc7025d69c9643"),
+            // invalid, no public key in kid 4
+            new DataSignature("84582aa201276761646472657373581de19090058641fa866e47d656f62be510cb10a90d48b0aafc868f25291ea166686173686564f458ae7b2270726f706f73616c223a2231366436623066393930663563353266393765323338363235623464356362633138333866326439353334313138313664323466643362613234363364666462222c227265717565737465644174223a223734363935373136222c22766f746572223a227374616b6531757867667170767867386167766d6a383665743076326c397a72393370326764667a6332346c797833756a6a6a3873663678763376227d5840ae514d8d246790d728855f69a0ae32b0c5e59f44e00183b20bf110a42d83fa7c209a290b60a65571648220fc36c4efcb9d472e319bf0afdae42fb078085e4206"),
+            // valid, hashed
+            new DataSignature("84582aa201276761646472657373581de103d205532089ad2f7816892e2ef42849b7b52788e41b3fd43a6e01cfa166686173686564f5581c1c1afc33a1ed48205eadcbbda2fc8e61442af2e04673616f21b7d0385840954858f672e9ca51975655452d79a8f106011e9535a2ebfb909f7bbcce5d10d246ae62df2da3a7790edd8f93723cbdfdffc5341d08135b1a40e7a998e8b2ed06",
+                    "a4010103272006215820c13745be35c2dfc3fa9523140030dda5b5346634e405662b1aae5c61389c55b3"),
+            // invalid, tampered address
+            new DataSignature("84582aa201276761646472657373581de1b8344f370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e",
+                    "a401010327200621582052b92d51dc638d085f8663103d5509f0da29bbee418d75f1f2dc7025d69c9643"),
+            // invalid, public keys mismatch
+            new DataSignature("84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e",
+                    "a4010103272006215820a5f73966e73d0bb9eadc75c5857eafd054a0202d716ac6dde00303ee9c0019e3"),
+            // invalid, not a COSE_Sign1
+            new DataSignature("a0")
+    );
+
+    @Test
+    void batchResultsMatchIndividualResults() {
+        var results = new CIP30BatchVerifier(DATA_SIGNATURES).verify();
+
+        assertEquals(DATA_SIGNATURES.size(), results.size());
+        for (int i = 0; i < DATA_SIGNATURES.size(); i++) {
+            var expected = new CIP30Verifier(DATA_SIGNATURES.get(i)).verify();
+            var actual = results.get(i);
+
+            assertEquals(expected.isValid(), actual.isValid(), "result mismatch at index: " + i);
+            assertEquals(expected.getValidationError(), actual.getValidationError());
+            assertEquals(expected.getAddress(AddressFormat.HEX), actual.getAddress(AddressFormat.HEX));
+            assertArrayEquals(expected.getMessage(), actual.getMessage());
+            assertArrayEquals(expected.getCosePayload(), actual.getCosePayload());
+            assertEquals(expected.isHashed(), actual.isHashed());
+        }
+    }
+
+    @Test
+    void validSignaturesOnlyAcrossSeveralBatches() {
+        var valid = List.of(DATA_SIGNATURES.get(0), DATA_SIGNATURES.get(1), DATA_SIGNATURES.get(3));
+        var dataSignatures = new ArrayList<DataSignature>();
+        for (int i = 0; i < 10; i++) {
+            dataSignatures.addAll(valid);
+        }
+
+        var results = new CIP30BatchVerifier(dataSignatures, 4).verify();
+
+        assertEquals(30, results.size());
+        assertTrue(results.stream().allMatch(Cip30VerificationResult::isValid));
+    }
+
+    @Test
+    void invalidHexDoesNotFailOtherSignatures() {
+        var dataSignatures = List.of(DATA_SIGNATURES.get(0), new DataSignature("zz"), DATA_SIGNATURES.get(1), new DataSignature("a"));
+
+        var results = new CIP30BatchVerifier(dataSignatures).verify();
+
+        assertTrue(results.get(0).isValid());
+        assertEquals(ValidationError.CIP8_FORMAT_ERROR, results.get(1).getValidationError().orElseThrow());
+        assertTrue(results.get(2).isValid());
+        assertEquals(ValidationError.CIP8_FORMAT_ERROR, results.get(3).getValidationError().orElseThrow());
+    }
+
+    @Test
+    void emptyBatch() {
+        assertTrue(new CIP30BatchVerifier(List.of()).verify().isEmpty());
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CIP30BatchVerifier(DATA_SIGNATURES, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CIP30BatchVerifier(List.of(new DataSignature(" "))));
+    }
+
+    @Test
+    void ed25519BatchDetectsSingleInvalidSignature() throws GeneralSecurityException {
+        var random = new Random(7);
+        var messages = new ArrayList<byte[]>();
+        var signatures = new ArrayList<byte[]>();
+        var publicKeys = new ArrayList<byte[]>();
+        for (int i = 0; i < 16; i++) {
+            var seed = new byte[32];
+            random.nextBytes(seed);
+            var privateKey = new EdDSAPrivateKey(new EdDSAPrivateKeySpec(seed, ED_DSA_PARAMETER_SPEC));
+            var message = ("message " + i).getBytes(UTF_8);
+            var engine = new EdDSAEngine(MessageDigest.getInstance(ED_DSA_PARAMETER_SPEC.getHashAlgorithm()));
+            engine.initSign(privateKey);
+            engine.update(message);
+
+            messages.add(message);
+            signatures.add(engine.sign());
+            publicKeys.add(privateKey.getAbyte());
+        }
+
+        var batch = new Ed25519Batch();
+        for (int i = 0; i < messages.size(); i++) {
+            assertTrue(batch.add(messages.get(i), signatures.get(i), publicKeys.get(i)));
+        }
+        assertTrue(batch.verify(random));
+
+        var tampered = new Ed25519Batch();
+        for (int i = 0; i < messages.size(); i++) {
+            var message = i == 11 ? "tampered".getBytes(UTF_8) : messages.get(i);
+            assertTrue(tampered.add(message, signatures.get(i), publicKeys.get(i)));
+        }
+        assertFalse(tampered.verify(random));
+
+        // wrong public key for a signature
+        var swapped = new Ed25519Batch();
+        assertTrue(swapped.add(messages.get(0), signatures.get(0), publicKeys.get(1)));
+        assertFalse(swapped.verify(random));
+    }
+
+    @Test
+    void smallOrderErrorIsRejectedAsByIndividualVerification() throws Exception {
+        var seed = new byte[32];
+        new Random(11).nextBytes(seed);
+        var privateKey = new EdDSAPrivateKey(new EdDSAPrivateKeySpec(seed, ED_DSA_PARAMETER_SPEC));
+        var scalarOps = ED_DSA_PARAMETER_SPEC.getScalarOps();
+        var message = "message".getBytes(UTF_8);
+        // [ "Signature1", h'a10127', h'', message ]
+        var sigStructure = concat(HexUtil.decodeHexString("846a5369676e61747572653143a101274047"), message);
+
+        // R = [r]B + T, where T = (0, -1) has order 2, so that [S]B - R - [h]A = -T
+        var nonce = new byte[64];
+        new Random(13).nextBytes(nonce);
+        var r = scalarOps.reduce(nonce);
+        var order2 = new byte[32];
+        Arrays.fill(order2, (byte) 0xff);
+        order2[0] = (byte) 0xec;
+        order2[31] = 0x7f;
+        var t = new GroupElement(ED_DSA_PARAMETER_SPEC.getCurve(), order2);
+        var rBytes = ED_DSA_PARAMETER_SPEC.getB().scalarMultiply(r).add(t.toCached()).toP3().toByteArray();
+        var digest = MessageDigest.getInstance(ED_DSA_PARAMETER_SPEC.getHashAlgorithm());
+        digest.update(rBytes);
+        digest.update(privateKey.getAbyte());
+        digest.update(sigStructure);
+        var h = scalarOps.reduce(digest.digest());
+        var signature = concat(rBytes, scalarOps.multiplyAndAdd(h, privateKey.geta(), r));
+
+        assertFalse(new Ed25519Batch().add(sigStructure, signature, privateKey.getAbyte()));
+
+        var crafted = new DataSignature(
+                "8443a10127a047" + HexUtil.encodeHexString(message) + "5840" + HexUtil.encodeHexString(signature),
+                "a4010103272006215820" + HexUtil.encodeHexString(privateKey.getAbyte()));
+        var expected = new CIP30Verifier(crafted).verify();
+        assertFalse(expected.isValid());
+        // without the check the batch would accept it whenever z is even
+        for (int i = 0; i < 32; i++) {
+            var results = new CIP30BatchVerifier(List.of(DATA_SIGNATURES.get(0), crafted)).verify();
+
+            assertTrue(results.get(0).isValid());
+            assertEquals(expected.getValidationError(), results.get(1).getValidationError());
+            assertEquals(expected.getFailureReason(), results.get(1).getFailureReason());
+        }
+    }
+
+    @Test
+    void ed25519BatchRejectsNonCanonicalSignatures() {
+        var signature = new byte[64];
+        var publicKey = new byte[32];
+        publicKey[0] = 1; // neutral element
+
+        // S >= L
+        signature[0] = 1;
+        signature[63] = (byte) 0xff;
+        assertFalse(new Ed25519Batch().add(new byte[0], signature, publicKey));
+
+        // R with y >= p
+        var nonCanonicalR = new byte[32];
+        Arrays.fill(nonCanonicalR, (byte) 0xff);
+        nonCanonicalR[31] = 0x7f;
+        assertFalse(Ed25519Batch.isCanonicalPoint(nonCanonicalR));
+
+        // negative zero
+        var negativeZero = new byte[32];
+        negativeZero[0] = 1;
+        negativeZero[31] = (byte) 0x80;
+        assertFalse(Ed25519Batch.isCanonicalPoint(negativeZero));
+
+        negativeZero[31] = 0;
+        assertTrue(Ed25519Batch.isCanonicalPoint(negativeZero));
+
+        assertFalse(new Ed25519Batch().add(new byte[0], new byte[63], publicKey));
+        assertFalse(new Ed25519Batch().add(new byte[0], new byte[64], new byte[31]));
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        var result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+}
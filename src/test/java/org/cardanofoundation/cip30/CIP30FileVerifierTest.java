@@ -0,0 +1,118 @@
+package org.cardanofoundation.cip30;
+
+import com.bloxbean.cardano.client.util.HexUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.cardanofoundation.cip30.CIP30BatchVerifierTest.DATA_SIGNATURES;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CIP30FileVerifierTest {
+
+    @Test
+    void hexLines(@TempDir Path directory) throws IOException {
+        var lines = new StringBuilder();
+        for (var dataSignature : DATA_SIGNATURES) {
+            lines.append(dataSignature.getCOSESign1());
+            dataSignature.getCoseKey().ifPresent(key -> lines.append(',').append(key));
+            lines.append("\r\n\n");
+        }
+        var first = DATA_SIGNATURES.get(0);
+        lines.append((first.getCOSESign1() + " " + first.getCoseKey().orElseThrow()).toUpperCase()).append('\n');
+        lines.append("not hex");
+        var file = Files.writeString(directory.resolve("signatures.txt"), lines, US_ASCII);
+
+        var results = new ArrayList<Cip30VerificationResult>();
+        CIP30FileVerifier.Builder.newBuilder()
+                .chunkSize(2)
+                .windowSize(1024)
+                .build()
+                .verify(file, results::add);
+
+        assertEquals(DATA_SIGNATURES.size() + 2, results.size());
+        for (int i = 0; i < DATA_SIGNATURES.size(); i++) {
+            var expected = new CIP30Verifier(DATA_SIGNATURES.get(i)).verify();
+
+            assertEquals(expected.getValidationError(), results.get(i).getValidationError(), "result mismatch at index: " + i);
+            assertArrayEquals(expected.getMessage(), results.get(i).getMessage(), "result mismatch at index: " + i);
+        }
+        assertTrue(results.get(DATA_SIGNATURES.size()).isValid());
+        assertEquals(ValidationError.CIP8_FORMAT_ERROR, results.get(DATA_SIGNATURES.size() + 1).getValidationError().orElseThrow());
+    }
+
+    @Test
+    void validationErrorCodesAreStable() {
+        // codes are persisted in output files, they must never change
+        var codes = new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        var errors = new ValidationError[] {
+                ValidationError.UNKNOWN, ValidationError.CIP8_FORMAT_ERROR, ValidationError.NO_PUBLIC_KEY,
+                ValidationError.UNSUPPORTED_ALGORITHM, ValidationError.TRAILING_BYTES, ValidationError.INVALID_PUBLIC_KEY_LENGTH,
+                ValidationError.INVALID_SIGNATURE_LENGTH, ValidationError.ADDRESS_MISMATCH, ValidationError.INVALID_SIGNATURE,
+                ValidationError.REPLAYED
+        };
+
+        assertEquals(ValidationError.values().length, errors.length);
+        for (int i = 0; i < errors.length; i++) {
+            assertEquals(codes[i], errors[i].getCode(), errors[i].name());
+        }
+    }
+
+    @Test
+    void lengthPrefixedToOutputFile(@TempDir Path directory) throws IOException {
+        var file = Files.write(directory.resolve("signatures.bin"), lengthPrefixed());
+        var output = directory.resolve("results.bin");
+
+        var count = CIP30FileVerifier.Builder.newBuilder()
+                .format(CIP30FileVerifier.RecordFormat.LENGTH_PREFIXED)
+                .windowSize(300)
+                .build()
+                .verify(file, output);
+
+        var codes = Files.readAllBytes(output);
+        assertEquals(DATA_SIGNATURES.size(), count);
+        assertEquals(DATA_SIGNATURES.size(), codes.length);
+        for (int i = 0; i < DATA_SIGNATURES.size(); i++) {
+            var expected = new CIP30Verifier(DATA_SIGNATURES.get(i)).verify();
+            var expectedCode = expected.getValidationError().map(ValidationError::getCode).orElse((int) CIP30FileVerifier.VALID);
+
+            assertEquals(expectedCode, codes[i], "result mismatch at index: " + i);
+        }
+    }
+
+    @Test
+    void truncatedLengthPrefixedFile(@TempDir Path directory) throws IOException {
+        var bytes = lengthPrefixed();
+        var file = Files.write(directory.resolve("signatures.bin"), Arrays.copyOf(bytes, bytes.length - 1));
+
+        var verifier = CIP30FileVerifier.Builder.newBuilder()
+                .format(CIP30FileVerifier.RecordFormat.LENGTH_PREFIXED)
+                .build();
+
+        assertThrows(IOException.class, () -> verifier.verify(file, result -> {}));
+    }
+
+    private static byte[] lengthPrefixed() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        for (var dataSignature : DATA_SIGNATURES) {
+            var coseSign1 = HexUtil.decodeHexString(dataSignature.getCOSESign1());
+            var coseKey = dataSignature.getCoseKey().map(HexUtil::decodeHexString).orElse(new byte[0]);
+            out.writeInt(coseSign1.length);
+            out.write(coseSign1);
+            out.writeInt(coseKey.length);
+            out.write(coseKey);
+        }
+
+        return bytes.toByteArray();
+    }
+
+}
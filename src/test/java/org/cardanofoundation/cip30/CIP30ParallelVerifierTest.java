@@ -0,0 +1,100 @@
+package org.cardanofoundation.cip30;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.cardanofoundation.cip30.CIP30BatchVerifierTest.DATA_SIGNATURES;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CIP30ParallelVerifierTest {
+
+    @Test
+    void resultsAreInInputOrder() {
+        var dataSignatures = new ArrayList<DataSignature>();
+        for (int i = 0; i < 20; i++) {
+            dataSignatures.addAll(DATA_SIGNATURES);
+        }
+        var expected = dataSignatures.stream()
+                .map(dataSignature -> new CIP30Verifier(dataSignature).verify().getValidationError())
+                .toList();
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var verifier = CIP30ParallelVerifier.Builder.newBuilder()
+                    .executor(executor)
+                    .chunkSize(3)
+                    .maxInFlight(2)
+                    .build();
+
+            var results = verifier.verify(dataSignatures);
+
+            assertEquals(expected, results.stream().map(Cip30VerificationResult::getValidationError).toList());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void dataSignaturesArePulledOnlyWhenThereIsRoomInFlight() {
+        var pulled = new AtomicInteger();
+        var maxAhead = new AtomicInteger();
+        var consumed = new AtomicInteger();
+        Iterator<DataSignature> source = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return pulled.get() < 100;
+            }
+
+            @Override
+            public DataSignature next() {
+                maxAhead.accumulateAndGet(pulled.incrementAndGet() - consumed.get(), Math::max);
+                return DATA_SIGNATURES.get(pulled.get() % DATA_SIGNATURES.size());
+            }
+        };
+
+        var verifier = CIP30ParallelVerifier.Builder.newBuilder()
+                .chunkSize(5)
+                .maxInFlight(2)
+                .build();
+
+        var results = new ArrayList<Cip30VerificationResult>();
+        verifier.verify(source, result -> {
+            consumed.incrementAndGet();
+            results.add(result);
+        });
+
+        assertEquals(100, results.size());
+        // at most maxInFlight chunks, including the chunk being assembled
+        assertTrue(maxAhead.get() <= 2 * 5, "too many DataSignatures pulled ahead: " + maxAhead.get());
+    }
+
+    @Test
+    void invalidHexFailsOnlyItsOwnResult() {
+        var dataSignatures = List.of(DATA_SIGNATURES.get(0), new DataSignature("zz"), DATA_SIGNATURES.get(1));
+
+        var results = CIP30ParallelVerifier.Builder.newBuilder().chunkSize(3).build().verify(dataSignatures);
+
+        assertTrue(results.get(0).isValid());
+        assertEquals(FailureReason.INVALID_HEX, results.get(1).getFailureReason().orElseThrow());
+        assertTrue(results.get(2).isValid());
+    }
+
+    @Test
+    void emptyInput() {
+        assertTrue(CIP30ParallelVerifier.Builder.newBuilder().build().verify(List.of()).isEmpty());
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> CIP30ParallelVerifier.Builder.newBuilder().chunkSize(0));
+        assertThrows(IllegalArgumentException.class, () -> CIP30ParallelVerifier.Builder.newBuilder().maxInFlight(0));
+        var verifier = CIP30ParallelVerifier.Builder.newBuilder().build();
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify(List.of(new DataSignature(""))));
+    }
+
+}
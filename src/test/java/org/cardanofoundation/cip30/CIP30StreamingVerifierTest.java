@@ -0,0 +1,170 @@
+package org.cardanofoundation.cip30;
+
+import com.bloxbean.cardano.client.util.HexUtil;
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import net.i2p.crypto.eddsa.spec.EdDSAPrivateKeySpec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static com.bloxbean.cardano.client.util.HexUtil.decodeHexString;
+import static org.cardanofoundation.cip30.Ed25519.ED_DSA_PARAMETER_SPEC;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CIP30StreamingVerifierTest {
+
+    @Test
+    void resultsMatchCip30Verifier() throws Exception {
+        var verifier = CIP30StreamingVerifier.Builder.newBuilder().build();
+
+        for (var dataSignature : CIP30BatchVerifierTest.DATA_SIGNATURES) {
+            var expected = new CIP30Verifier(dataSignature).verify();
+            var coseSign1 = dataSignature.getCOSESign1();
+            var coseKey = dataSignature.getCoseKey().map(HexUtil::decodeHexString).orElse(null);
+            var actual = verifier.verify(new ByteArrayInputStream(decodeHexString(coseSign1)), coseKey);
+
+            assertEquals(expected.isValid(), actual.isValid(), coseSign1);
+            assertEquals(expected.getValidationError(), actual.getValidationError(), coseSign1);
+            assertArrayEquals(expected.getMessage(), actual.getMessage(), coseSign1);
+            assertArrayEquals(expected.getCosePayload(), actual.getCosePayload(), coseSign1);
+        }
+    }
+
+    @Test
+    void structuralErrorsWithoutPublicKeyAreReported() throws Exception {
+        var verifier = CIP30StreamingVerifier.Builder.newBuilder().build();
+        var coseSign1 = decodeHexString("8443a10126a04568656c6c6f5840" + "00".repeat(64));
+
+        var result = verifier.verify(new ByteArrayInputStream(coseSign1));
+        assertEquals(ValidationError.UNSUPPORTED_ALGORITHM, result.getValidationError().orElseThrow());
+
+        // COSE_Key with a trailing byte and without public key (-2)
+        coseSign1 = decodeHexString("8443a10127a04568656c6c6f5840" + "00".repeat(64));
+        result = verifier.verify(new ByteArrayInputStream(coseSign1), decodeHexString("a301010327200600"));
+        assertEquals(ValidationError.TRAILING_BYTES, result.getValidationError().orElseThrow());
+    }
+
+    @Test
+    void largeMessageIsSpooled(@TempDir Path spoolDirectory) throws Exception {
+        var privateKey = new EdDSAPrivateKey(new EdDSAPrivateKeySpec(new byte[32], ED_DSA_PARAMETER_SPEC));
+        var message = new byte[300_000];
+        Arrays.fill(message, (byte) 'a');
+        var coseSign1 = largeCoseSign1(privateKey, message);
+        var coseKey = decodeHexString("a4010103272006215820" + HexUtil.encodeHexString(privateKey.getAbyte()));
+
+        var verifier = CIP30StreamingVerifier.Builder.newBuilder()
+                .memoryThreshold(64 * 1024)
+                .spoolDirectory(spoolDirectory)
+                .build();
+
+        var result = verifier.verify(Channels.newChannel(new ByteArrayInputStream(coseSign1)), coseKey);
+
+        assertTrue(result.isValid());
+        assertNull(result.getCosePayload());
+        assertEquals(message.length, result.getMessageSource().orElseThrow().size());
+        assertArrayEquals(message, result.getMessage());
+        try (var files = Files.list(spoolDirectory)) {
+            assertEquals(1, files.count());
+        }
+
+        var tampered = coseSign1.clone();
+        tampered[1000] = 'b';
+
+        assertFalse(verifier.verify(new ByteArrayInputStream(tampered), coseKey).isValid());
+    }
+
+    @Test
+    void spooledMessageIsKeyedByHash(@TempDir Path spoolDirectory) throws Exception {
+        var privateKey = new EdDSAPrivateKey(new EdDSAPrivateKeySpec(new byte[32], ED_DSA_PARAMETER_SPEC));
+        var message = new byte[300_000];
+        Arrays.fill(message, (byte) 'a');
+        var coseSign1 = largeCoseSign1(privateKey, message);
+        var coseKey = decodeHexString("a4010103272006215820" + HexUtil.encodeHexString(privateKey.getAbyte()));
+
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .replayGuard(ReplayGuard.inMemory(ReplayGuard.KeyType.MESSAGE_HASH, Duration.ofMinutes(5)))
+                .build();
+        var verifier = CIP30StreamingVerifier.Builder.newBuilder()
+                .memoryThreshold(64 * 1024)
+                .spoolDirectory(spoolDirectory)
+                .engine(engine)
+                .build();
+
+        var result = verifier.verify(new ByteArrayInputStream(coseSign1), coseKey);
+        assertTrue(result.isValid());
+        assertNull(result.getCosePayload());
+
+        // the key of the spooled message is the same as the key of the message verified in memory
+        var replay = CIP30Verifier.Builder.newBuilder()
+                .coseSign1(coseSign1)
+                .coseKey(coseKey)
+                .engine(engine)
+                .build()
+                .verify();
+        assertEquals(ValidationError.REPLAYED, replay.getValidationError().orElseThrow());
+    }
+
+    @Test
+    void messageLongerThanLimitIsNotSpooled(@TempDir Path spoolDirectory) throws Exception {
+        // COSE_Sign1 announcing a message of 2^32 bytes, only its head is sent
+        var coseSign1 = decodeHexString("8443a10127a05b0000000100000000");
+        var verifier = CIP30StreamingVerifier.Builder.newBuilder()
+                .spoolDirectory(spoolDirectory)
+                .build();
+
+        var result = verifier.verify(new ByteArrayInputStream(coseSign1));
+
+        assertEquals(ValidationError.CIP8_FORMAT_ERROR, result.getValidationError().orElseThrow());
+        assertEquals(FailureReason.ITEM_TOO_LONG, result.getFailureReason().orElseThrow());
+        try (var files = Files.list(spoolDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void truncatedStream() throws Exception {
+        var sig = decodeHexString("84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e");
+        var verifier = CIP30StreamingVerifier.Builder.newBuilder().build();
+
+        var result = verifier.verify(new ByteArrayInputStream(Arrays.copyOf(sig, sig.length - 1)));
+
+        assertEquals(ValidationError.CIP8_FORMAT_ERROR, result.getValidationError().orElseThrow());
+    }
+
+    /**
+     * @return COSE_Sign1 of a message whose length needs 4 bytes, with an empty unprotected header
+     */
+    private static byte[] largeCoseSign1(EdDSAPrivateKey privateKey, byte[] message) throws Exception {
+        var length = HexUtil.encodeHexString(new byte[] {
+                (byte) (message.length >>> 24), (byte) (message.length >>> 16), (byte) (message.length >>> 8), (byte) message.length
+        });
+
+        // [ "Signature1", h'a10127', h'', message ]
+        var sigStructure = new ByteArrayOutputStream();
+        sigStructure.write(decodeHexString("846a5369676e61747572653143a10127405a" + length));
+        sigStructure.write(message);
+
+        var engine = new EdDSAEngine(MessageDigest.getInstance(ED_DSA_PARAMETER_SPEC.getHashAlgorithm()));
+        engine.initSign(privateKey);
+        engine.update(sigStructure.toByteArray());
+        var signature = engine.sign();
+
+        var coseSign1 = new ByteArrayOutputStream();
+        coseSign1.write(decodeHexString("d28443a10127a05a" + length));
+        coseSign1.write(message);
+        coseSign1.write(decodeHexString("5840"));
+        coseSign1.write(signature);
+
+        return coseSign1.toByteArray();
+    }
+
+}
@@ -2,12 +2,27 @@ package org.cardanofoundation.cip30;
 
 import com.bloxbean.cardano.client.crypto.Blake2bUtil;
 import com.bloxbean.cardano.client.util.HexUtil;
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import net.i2p.crypto.eddsa.spec.EdDSAPrivateKeySpec;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
 import static com.bloxbean.cardano.client.util.HexUtil.decodeHexString;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.cardanofoundation.cip30.Ed25519.ED_DSA_PARAMETER_SPEC;
 import static org.cardanofoundation.cip30.MessageFormat.BASE64;
 import static org.cardanofoundation.cip30.MessageFormat.HEX;
+import static org.cardanofoundation.cip30.ValidationError.INVALID_PUBLIC_KEY_LENGTH;
 import static org.cardanofoundation.cip30.ValidationError.UNKNOWN;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -122,7 +137,8 @@ class CIP30VerifierTest {
         var result = cip30Verifier.verify();
 
         assertFalse(result.isValid());
-        assertEquals(UNKNOWN, result.getValidationError().orElseThrow());
+        // address is not an ED 25519 public key, it is rejected without any curve arithmetic
+        assertEquals(INVALID_PUBLIC_KEY_LENGTH, result.getValidationError().orElseThrow());
 
         assertTrue(result.getAddress().isPresent(), "address is available.");
         assertEquals("stake1uxgfqpvxg8agvmj86et0v2l9zr93p2gdfzc24lyx3ujjj8sf6xv3v", result.getAddress(AddressFormat.TEXT).orElseThrow());
@@ -174,6 +190,7 @@ class CIP30VerifierTest {
         var result = cip30Verifier.verify();
 
         assertFalse(result.isValid(), "ED 25519 public key within signature doesn't match with passed in key");
+        assertEquals(ValidationError.ADDRESS_MISMATCH, result.getValidationError().orElseThrow());
         assertFalse(result.isHashed());
     }
 
@@ -279,8 +296,15 @@ class CIP30VerifierTest {
         // Test with incorrect payload (should not match after hashing)
         assertFalse(result.verifyPayload(incorrectPayload), "verifyPayload should return false for incorrect hashed payload");
 
+        // Byte inputs and candidates are hashed the same way
+        assertTrue(result.verifyPayload(correctPayload.getBytes(UTF_8)));
+        assertTrue(result.verifyPayload(ByteBuffer.wrap(correctPayload.getBytes(UTF_8))));
+        assertEquals(correctPayload, result.matchPayload(List.of(incorrectPayload, correctPayload)).orElseThrow());
+        assertEquals(correctPayload, PayloadIndex.of(List.of(incorrectPayload, correctPayload)).match(result).orElseThrow());
+        assertTrue(PayloadIndex.of(List.of(incorrectPayload)).match(result).isEmpty());
+
         // Test error cases
-        assertThrows(NullPointerException.class, () -> result.verifyPayload(null));
+        assertThrows(NullPointerException.class, () -> result.verifyPayload((String) null));
     }
 
     @Test
@@ -303,12 +327,326 @@ class CIP30VerifierTest {
         // Test with incorrect payload (should not match directly)
         assertFalse(result.verifyPayload(incorrectPayload), "verifyPayload should return false for incorrect unhashed payload");
 
+        // Byte inputs and candidates are compared directly
+        var buffer = ByteBuffer.wrap(("xx" + correctPayload).getBytes(UTF_8)).position(2);
+        assertTrue(result.verifyPayload(buffer));
+        assertEquals(2, buffer.position());
+        assertFalse(result.verifyPayload(incorrectPayload.getBytes(UTF_8)));
+        assertTrue(result.matchPayload(List.of(incorrectPayload)).isEmpty());
+        assertEquals(correctPayload, PayloadIndex.of(List.of(correctPayload, incorrectPayload, correctPayload)).match(result).orElseThrow());
+
         // Test error cases
-        assertThrows(NullPointerException.class, () -> result.verifyPayload(null));
+        assertThrows(NullPointerException.class, () -> result.verifyPayload((String) null));
 
         // Test with invalid result
         var invalidResult = Cip30VerificationResult.createInvalid(UNKNOWN);
         assertThrows(IllegalStateException.class, () -> invalidResult.verifyPayload("any payload"));
     }
 
+    @Test
+    void validTaggedSignature() {
+        // COSE_Sign1 tagged with 18 (RFC 8152)
+        var sig = "d284582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e";
+        var key = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+
+        var result = new CIP30Verifier(sig, key).verify();
+
+        assertTrue(result.isValid());
+        assertEquals("This is a test message", result.getMessage(MessageFormat.TEXT));
+    }
+
+    @Test
+    void malformedSignatures() {
+        var key = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+        var truncated = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a";
+        var indefiniteLength = "9f582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0eff";
+        var threeItems = "83582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765";
+
+        for (var sig : new String[] { truncated, indefiniteLength, threeItems }) {
+            var result = new CIP30Verifier(sig, key).verify();
+
+            assertFalse(result.isValid());
+            assertEquals(ValidationError.CIP8_FORMAT_ERROR, result.getValidationError().orElseThrow());
+        }
+    }
+
+    @Test
+    void coseKeyWithoutPublicKey() {
+        var sig = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e";
+        var key = "a3010103272006";
+
+        // falls back to the address from the protected header, which is not an ED 25519 public key
+        var result = new CIP30Verifier(sig, key).verify();
+
+        assertFalse(result.isValid());
+        assertEquals(INVALID_PUBLIC_KEY_LENGTH, result.getValidationError().orElseThrow());
+
+        result = new CIP30Verifier("8443a10127a04568656c6c6f5840" + "00".repeat(64), key).verify();
+
+        assertFalse(result.isValid());
+        assertEquals(ValidationError.NO_PUBLIC_KEY, result.getValidationError().orElseThrow());
+    }
+
+    @Test
+    void coseKeyWithoutPublicKeyFallsBackToProtectedHeaderKey() throws Exception {
+        var privateKey = new EdDSAPrivateKey(new EdDSAPrivateKeySpec(new byte[32], ED_DSA_PARAMETER_SPEC));
+        // { 1: -8, "address": public key }
+        var protectedHeader = "a201276761646472657373" + "5820" + HexUtil.encodeHexString(privateKey.getAbyte());
+        var payload = "4568656c6c6f";
+
+        var engine = new EdDSAEngine(MessageDigest.getInstance(ED_DSA_PARAMETER_SPEC.getHashAlgorithm()));
+        engine.initSign(privateKey);
+        engine.update(decodeHexString("846a5369676e617475726531582d" + protectedHeader + "40" + payload));
+        var signature = HexUtil.encodeHexString(engine.sign());
+        var sig = "84582d" + protectedHeader + "a0" + payload + "5840" + signature;
+
+        var result = new CIP30Verifier(sig, "a3010103272006").verify();
+
+        assertTrue(result.isValid());
+        assertArrayEquals(privateKey.getAbyte(), result.getEd25519PublicKey());
+    }
+
+    @Test
+    void validSignatureWithLargeMessage() throws Exception {
+        var privateKey = new EdDSAPrivateKey(new EdDSAPrivateKeySpec(new byte[32], ED_DSA_PARAMETER_SPEC));
+        var message = new byte[70_000];
+        Arrays.fill(message, (byte) 'a');
+
+        // [ "Signature1", h'a10127', h'', message ], message length needs 4 bytes
+        var sigStructure = new ByteArrayOutputStream();
+        sigStructure.write(decodeHexString("846a5369676e61747572653143a10127405a00011170"));
+        sigStructure.write(message);
+
+        var engine = new EdDSAEngine(MessageDigest.getInstance(ED_DSA_PARAMETER_SPEC.getHashAlgorithm()));
+        engine.initSign(privateKey);
+        engine.update(sigStructure.toByteArray());
+        var signature = engine.sign();
+
+        var coseSign1 = new ByteArrayOutputStream();
+        coseSign1.write(decodeHexString("8443a10127a05a00011170"));
+        coseSign1.write(message);
+        coseSign1.write(decodeHexString("5840"));
+        coseSign1.write(signature);
+        var coseKey = "a4010103272006215820" + HexUtil.encodeHexString(privateKey.getAbyte());
+
+        var result = new CIP30Verifier(HexUtil.encodeHexString(coseSign1.toByteArray()), coseKey).verify();
+
+        assertTrue(result.isValid());
+        assertArrayEquals(message, result.getMessage());
+        assertArrayEquals(sigStructure.toByteArray(), result.getCosePayload());
+    }
+
+    @Test
+    void validSignatureFromBytes() {
+        var sig = decodeHexString("84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e");
+        var key = decodeHexString("a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4");
+
+        var result = new CIP30Verifier(sig, key).verify();
+
+        assertTrue(result.isValid());
+        assertEquals("This is a test message", result.getMessage(MessageFormat.TEXT));
+        assertEquals(HexUtil.encodeHexString(key), new CIP30Verifier(sig, key).getCoseKey().orElseThrow());
+        assertEquals(HexUtil.encodeHexString(sig), new CIP30Verifier(sig).getCOSESign1());
+
+        assertThrows(IllegalArgumentException.class, () -> new CIP30Verifier(new byte[0]));
+    }
+
+    @Test
+    void validSignatureFromDirectByteBuffers() {
+        var sig = decodeHexString("84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e");
+        var key = decodeHexString("a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4");
+
+        // COSE_Sign1 and COSE_Key stored one after another in a single direct buffer, e.g. a network frame
+        var frame = ByteBuffer.allocateDirect(3 + sig.length + key.length);
+        frame.put(new byte[3]).put(sig).put(key);
+        var sigBuffer = frame.duplicate().position(3).limit(3 + sig.length).asReadOnlyBuffer();
+        var keyBuffer = frame.duplicate().position(3 + sig.length).limit(frame.capacity()).asReadOnlyBuffer();
+
+        var verifier = new CIP30Verifier(sigBuffer, keyBuffer);
+        // verifier does not depend on position and limit of the supplied buffers
+        sigBuffer.position(sigBuffer.limit());
+        keyBuffer.limit(keyBuffer.position());
+
+        var result = verifier.verify();
+
+        assertTrue(result.isValid());
+        assertArrayEquals(decodeHexString("2f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4"), result.getEd25519PublicKey());
+    }
+
+    @Test
+    void parseExposesUnverifiedFieldsAndVerifiesOnce() {
+        // last byte of ED 25519 signature has been changed
+        var sig = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0f";
+        var key = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+
+        var parsed = new CIP30Verifier(sig, key).parse();
+
+        assertTrue(parsed.isParsed());
+        assertTrue(parsed.getValidationError().isEmpty());
+        assertFalse(parsed.isHashed());
+        assertEquals("stake1uxur40ehpg2gwr7l6mxtxhut8e32drjxtmg7p9k95m6mn4s0tdy6k", parsed.getAddress(AddressFormat.TEXT).orElseThrow());
+        assertEquals("This is a test message", parsed.getMessage(MessageFormat.TEXT));
+        assertArrayEquals(decodeHexString("2f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4"), parsed.getEd25519PublicKey());
+
+        var result = parsed.verify();
+
+        assertFalse(result.isValid());
+        assertSame(result, parsed.verify());
+    }
+
+    @Test
+    void parseReportsFormatErrors() {
+        var parsed = new CIP30Verifier("a10102").parse();
+
+        assertFalse(parsed.isParsed());
+        assertEquals(ValidationError.CIP8_FORMAT_ERROR, parsed.getValidationError().orElseThrow());
+        assertTrue(parsed.getAddress().isEmpty());
+        assertNull(parsed.getMessage());
+        assertNull(parsed.getEd25519PublicKey());
+        assertEquals(ValidationError.CIP8_FORMAT_ERROR, parsed.verify().getValidationError().orElseThrow());
+        assertEquals(FailureReason.INVALID_COSE_SIGN1, parsed.verify().getFailureReason().orElseThrow());
+    }
+
+    @Test
+    void invalidHexIsReportedAsFormatError() {
+        var key = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+        var cachingEngine = Cip30VerificationEngine.Builder.newBuilder()
+                .resultCache(new Cip30VerificationResultCache(16, Duration.ofMinutes(1)))
+                .build();
+
+        for (var verifier : List.of(new CIP30Verifier("zz"), new CIP30Verifier("a0", "a"), new CIP30Verifier("84 ", key),
+                CIP30Verifier.Builder.newBuilder().coseSign1("zz").engine(cachingEngine).build())) {
+            var result = verifier.verify();
+
+            assertFalse(result.isValid());
+            assertEquals(ValidationError.CIP8_FORMAT_ERROR, result.getValidationError().orElseThrow());
+            assertEquals(FailureReason.INVALID_HEX, result.getFailureReason().orElseThrow());
+            assertEquals(FailureReason.INVALID_HEX, verifier.parse().verify().getFailureReason().orElseThrow());
+        }
+    }
+
+    @Test
+    void failureReasonIsReported() {
+        var key = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+        // last byte of ED 25519 signature has been changed
+        var tampered = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0f";
+        var valid = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e";
+
+        assertEquals(FailureReason.INVALID_SIGNATURE, new CIP30Verifier(tampered, key).verify().getFailureReason().orElseThrow());
+        assertEquals(FailureReason.TRUNCATED_INPUT, new CIP30Verifier(valid.substring(0, valid.length() - 2), key).verify().getFailureReason().orElseThrow());
+        assertTrue(new CIP30Verifier(valid, key).verify().getFailureReason().isEmpty());
+    }
+
+    @Test
+    void structuralErrorsAreReportedBeforeSignatureCheck() {
+        var sig = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e";
+        var key = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+        var incorrectKey = "a4010103272006215820a5f73966e73d0bb9eadc75c5857eafd054a0202d716ac6dde00303ee9c0019e3";
+        var shortSignature = sig.substring(0, sig.length() - 132) + "583f" + sig.substring(sig.length() - 128, sig.length() - 2);
+
+        var stages = EnumSet.noneOf(VerificationMetrics.Stage.class);
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .metrics(new VerificationMetrics() {
+                    @Override
+                    public void recordStage(Stage stage, long durationNanos) {
+                        stages.add(stage);
+                    }
+                })
+                .build();
+
+        var expected = Map.of(
+                ValidationError.TRAILING_BYTES, new String[] { sig + "00", key },
+                ValidationError.UNSUPPORTED_ALGORITHM, new String[] { sig.replace("a20127", "a20126"), key },
+                ValidationError.INVALID_SIGNATURE_LENGTH, new String[] { shortSignature, key },
+                ValidationError.ADDRESS_MISMATCH, new String[] { sig, incorrectKey }
+        );
+        for (var entry : expected.entrySet()) {
+            var result = CIP30Verifier.Builder.newBuilder()
+                    .coseSign1(entry.getValue()[0])
+                    .coseKey(entry.getValue()[1])
+                    .engine(engine)
+                    .build()
+                    .verify();
+
+            assertEquals(entry.getKey(), result.getValidationError().orElseThrow());
+            assertEquals(entry.getKey().name(), result.getFailureReason().orElseThrow().name());
+        }
+        assertEquals(ValidationError.TRAILING_BYTES, new CIP30Verifier(sig, key + "00").verify().getValidationError().orElseThrow());
+        assertEquals(ValidationError.UNSUPPORTED_ALGORITHM, new CIP30Verifier(sig, key.replace("a4010103272006", "a4010103262006")).verify().getValidationError().orElseThrow());
+
+        assertFalse(stages.contains(VerificationMetrics.Stage.KEY_RESOLUTION));
+        assertFalse(stages.contains(VerificationMetrics.Stage.ED25519_VERIFY));
+    }
+
+    @Test
+    void structuralErrorsWithoutPublicKeyAreReported() {
+        var signature = "5840" + "00".repeat(64);
+        var expected = Map.of(
+                // trailing byte, neither COSE_Key nor address
+                "8443a10127a04568656c6c6f" + signature + "00", ValidationError.TRAILING_BYTES,
+                // ES256 (-7), neither COSE_Key nor address
+                "8443a10126a04568656c6c6f" + signature, ValidationError.UNSUPPORTED_ALGORITHM
+        );
+        for (var entry : expected.entrySet()) {
+            var verifier = new CIP30Verifier(entry.getKey());
+            var batchResult = new CIP30BatchVerifier(List.of(new DataSignature(entry.getKey()))).verify().get(0);
+
+            for (var result : List.of(verifier.verify(), verifier.parse().verify(), batchResult)) {
+                assertFalse(result.isValid());
+                assertEquals(entry.getValue(), result.getValidationError().orElseThrow());
+                assertEquals(entry.getValue().name(), result.getFailureReason().orElseThrow().name());
+            }
+        }
+    }
+
+    @Test
+    void formattedValuesAreMemoizedAndWrittenToAppendablesAndBuffers() throws Exception {
+        var dataSignature = CIP30BatchVerifierTest.DATA_SIGNATURES.get(0);
+        var result = new CIP30Verifier(dataSignature).verify();
+
+        assertTrue(result.isValid());
+        assertEquals(HexUtil.encodeHexString(result.getMessage()), result.getMessage(HEX));
+        assertSame(result.getMessage(HEX), result.getMessage(HEX));
+        assertSame(result.getAddress(AddressFormat.TEXT).orElseThrow(), result.getAddress(AddressFormat.TEXT).orElseThrow());
+        assertEquals(HexUtil.encodeHexString(result.getAddress().orElseThrow()), result.getAddress(AddressFormat.HEX).orElseThrow());
+
+        for (var format : MessageFormat.values()) {
+            var out = new StringBuilder();
+            assertTrue(result.appendEd25519PublicKey(format, out));
+            out.append('|');
+            assertTrue(result.appendMessage(format, out));
+            assertEquals(result.getEd25519PublicKey(format) + "|" + result.getMessage(format), out.toString());
+
+            var buffer = ByteBuffer.allocate(256);
+            assertTrue(result.putCosePayload(format, buffer));
+            assertEquals(result.getCosePayload(format), new String(buffer.array(), 0, buffer.position(), UTF_8));
+        }
+
+        var address = new StringBuilder();
+        assertTrue(result.appendAddress(AddressFormat.HEX, address));
+        assertEquals(result.getAddress(AddressFormat.HEX).orElseThrow(), address.toString());
+
+        var tooSmall = ByteBuffer.allocate(8);
+        assertThrows(BufferOverflowException.class, () -> result.putMessage(HEX, tooSmall));
+        assertEquals(0, tooSmall.position());
+    }
+
+    @Test
+    void hexEncodingMatchesHexUtil() throws Exception {
+        var bytes = new byte[1500];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        var expected = HexUtil.encodeHexString(bytes);
+
+        assertEquals(expected, Hex.encode(bytes));
+        var out = new StringBuilder();
+        Hex.encode(bytes, out);
+        assertEquals(expected, out.toString());
+        var buffer = ByteBuffer.allocateDirect(2 * bytes.length);
+        Hex.encode(bytes, buffer);
+        buffer.flip();
+        assertEquals(expected, UTF_8.decode(buffer).toString());
+    }
+
 }
@@ -0,0 +1,126 @@
+package org.cardanofoundation.cip30;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Cip30VerificationEngineTest {
+
+    @Test
+    void engineStateIsResetBetweenVerifications() {
+        var engine = Cip30VerificationEngine.defaultEngine();
+
+        // a failing verification must not leave engine state behind for the next one
+        for (int i = 0; i < 3; i++) {
+            for (var dataSignature : CIP30BatchVerifierTest.DATA_SIGNATURES) {
+                var expected = new CIP30Verifier(dataSignature).verify();
+                var actual = CIP30Verifier.Builder.newBuilder()
+                        .dataSignature(dataSignature)
+                        .engine(engine)
+                        .build()
+                        .verify();
+
+                assertEquals(expected.isValid(), actual.isValid());
+                assertEquals(expected.getValidationError(), actual.getValidationError());
+            }
+        }
+
+        assertFalse(engine.verifySignature(new byte[0], new byte[63], new byte[32]));
+    }
+
+    @Test
+    void engineIsSharedBetweenThreads() throws Exception {
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .publicKeyCache(new Ed25519PublicKeyCache(10))
+                .build();
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var tasks = new ArrayList<Callable<Boolean>>();
+            for (int i = 0; i < 64; i++) {
+                var dataSignature = CIP30BatchVerifierTest.DATA_SIGNATURES.get(i % 2);
+                tasks.add(() -> CIP30Verifier.Builder.newBuilder()
+                        .dataSignature(dataSignature)
+                        .engine(engine)
+                        .build()
+                        .verify()
+                        .isValid());
+            }
+            for (var future : executor.invokeAll(tasks)) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(64, engine.getPublicKeyCache().orElseThrow().hitCount() + engine.getPublicKeyCache().orElseThrow().missCount());
+    }
+
+    @Test
+    void nullArguments() {
+        assertThrows(NullPointerException.class, () -> Cip30VerificationEngine.Builder.newBuilder().publicKeyCache(null));
+        assertThrows(NullPointerException.class, () -> CIP30Verifier.Builder.newBuilder().engine(null));
+        assertThrows(IllegalStateException.class, () -> CIP30Verifier.Builder.newBuilder().build());
+    }
+
+    @Test
+    void diagnosticListenerIsRateLimited() {
+        var time = new AtomicLong();
+        var failures = new ArrayList<FailureReason>();
+        var listener = new RateLimitedDiagnosticListener((error, reason) -> failures.add(reason), 2, time::get);
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .diagnosticListener(listener)
+                .build();
+
+        for (int i = 0; i < 5; i++) {
+            CIP30Verifier.Builder.newBuilder()
+                    .coseSign1("a10102")
+                    .engine(engine)
+                    .build()
+                    .verify();
+        }
+
+        assertEquals(List.of(FailureReason.INVALID_COSE_SIGN1, FailureReason.INVALID_COSE_SIGN1), failures);
+        assertEquals(3, listener.suppressedCount());
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        listener.onFailure(ValidationError.CIP8_FORMAT_ERROR, FailureReason.TRUNCATED_INPUT);
+
+        assertEquals(3, failures.size());
+    }
+
+    @Test
+    void compactResultsMatchResultsHoldingCopies() {
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .compactResults(true)
+                .build();
+
+        for (var dataSignature : CIP30BatchVerifierTest.DATA_SIGNATURES) {
+            var expected = new CIP30Verifier(dataSignature).verify();
+            var actual = CIP30Verifier.Builder.newBuilder()
+                    .dataSignature(dataSignature)
+                    .engine(engine)
+                    .build()
+                    .verify();
+
+            assertEquals(expected.getValidationError(), actual.getValidationError());
+            assertEquals(expected.isHashed(), actual.isHashed());
+            assertEquals(expected.getAddress(AddressFormat.HEX), actual.getAddress(AddressFormat.HEX));
+            assertEquals(expected.getEd25519PublicKey(MessageFormat.HEX), actual.getEd25519PublicKey(MessageFormat.HEX));
+            assertEquals(expected.getEd25519Signature(MessageFormat.HEX), actual.getEd25519Signature(MessageFormat.HEX));
+            assertEquals(expected.getMessage(MessageFormat.HEX), actual.getMessage(MessageFormat.HEX));
+            assertEquals(expected.getCosePayload(MessageFormat.HEX), actual.getCosePayload(MessageFormat.HEX));
+            if (actual.getMessage() != null) {
+                // materialized on every access
+                assertNotSame(actual.getMessage(), actual.getMessage());
+            }
+        }
+    }
+
+}
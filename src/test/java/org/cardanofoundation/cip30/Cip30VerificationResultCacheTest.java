@@ -0,0 +1,122 @@
+package org.cardanofoundation.cip30;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.bloxbean.cardano.client.util.HexUtil.decodeHexString;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Cip30VerificationResultCacheTest {
+
+    private static final String SIG = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e";
+
+    private static final String KEY = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+
+    @Test
+    void replayedSignaturesReturnCachedResult() {
+        var cache = new Cip30VerificationResultCache(100, Duration.ofMinutes(1));
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .resultCache(cache)
+                .build();
+
+        var first = verify(SIG, KEY, engine);
+        // same bytes supplied in a different form hit the same entry
+        var second = CIP30Verifier.Builder.newBuilder()
+                .coseSign1(decodeHexString(SIG))
+                .coseKey(decodeHexString(KEY))
+                .engine(engine)
+                .build()
+                .verify();
+
+        assertTrue(first.isValid());
+        assertSame(first, second);
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.size());
+
+        // with another signature it is a different DataSignature
+        var tampered = SIG.substring(0, SIG.length() - 1) + "f";
+        assertNotSame(first, verify(tampered, KEY, engine));
+        assertEquals(2, cache.size());
+
+        // rejected without the ED 25519 check, public key in the address is not 32 bytes long
+        assertEquals(ValidationError.INVALID_PUBLIC_KEY_LENGTH, verify(SIG, null, engine).getValidationError().orElseThrow());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void formatErrorsAreNotCached() {
+        var cache = new Cip30VerificationResultCache(100, Duration.ofMinutes(1));
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .resultCache(cache)
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(ValidationError.CIP8_FORMAT_ERROR, verify("a10102", null, engine).getValidationError().orElseThrow());
+        }
+
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.missCount());
+    }
+
+    @Test
+    void resultsExpire() {
+        var now = new AtomicLong();
+        var cache = new Cip30VerificationResultCache(100, Duration.ofSeconds(10), now::get);
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .resultCache(cache)
+                .build();
+
+        var first = verify(SIG, KEY, engine);
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertSame(first, verify(SIG, KEY, engine));
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNotSame(first, verify(SIG, KEY, engine));
+        assertEquals(1, cache.expirationCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void leastRecentlyUsedResultsAreEvicted() {
+        var cache = new Cip30VerificationResultCache(1, Duration.ofMinutes(1));
+        var result = Cip30VerificationResult.Builder.newBuilder().build();
+        var first = Cip30VerificationResultCache.key(ByteBuffer.wrap(new byte[] {1}), Optional.empty());
+        var second = Cip30VerificationResultCache.key(ByteBuffer.wrap(new byte[] {2}), Optional.empty());
+
+        cache.put(first, result);
+        cache.put(second, result);
+
+        assertNull(cache.get(first));
+        assertSame(result, cache.get(second));
+        assertEquals(1, cache.evictionCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void keysAreDigestsOfInputBytes() {
+        var bytes = new byte[] {1, 2, 3};
+        var direct = ByteBuffer.allocateDirect(4).put((byte) 0).put(bytes).position(1);
+        var key = Cip30VerificationResultCache.key(ByteBuffer.wrap(bytes), Optional.empty());
+
+        assertEquals(key, Cip30VerificationResultCache.key(direct, Optional.empty()));
+        assertEquals(1, direct.position());
+        // same concatenation, split differently between COSE_Sign1 and COSE_Key
+        assertNotEquals(key, Cip30VerificationResultCache.key(ByteBuffer.wrap(bytes, 0, 2), Optional.of(ByteBuffer.wrap(bytes, 2, 1))));
+        assertNotEquals(key, Cip30VerificationResultCache.key(ByteBuffer.wrap(bytes), Optional.of(ByteBuffer.allocate(0))));
+    }
+
+    private static Cip30VerificationResult verify(String sig, String key, Cip30VerificationEngine engine) {
+        return CIP30Verifier.Builder.newBuilder()
+                .coseSign1(sig)
+                .coseKey(key)
+                .engine(engine)
+                .build()
+                .verify();
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.cardanofoundation.cip30;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static com.bloxbean.cardano.client.util.HexUtil.decodeHexString;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecodingLimitsTest {
+
+    private static final String SIG = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e";
+
+    private static final String KEY = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+
+    @Test
+    void inputSizeIsCheckedBeforeDecoding() {
+        var engine = engine(DecodingLimits.Builder.newBuilder().maxInputSize(64).build());
+
+        // neither hex nor bytes are decoded
+        assertFailure(FailureReason.INPUT_TOO_LARGE, verify(SIG, KEY, engine));
+        assertFailure(FailureReason.INPUT_TOO_LARGE, CIP30Verifier.Builder.newBuilder()
+                .coseSign1(decodeHexString(SIG))
+                .engine(engine)
+                .build()
+                .verify());
+        assertEquals(FailureReason.INPUT_TOO_LARGE, CIP30Verifier.Builder.newBuilder()
+                .coseSign1(SIG + "zz")
+                .engine(engine)
+                .build()
+                .parse()
+                .getFailureReason()
+                .orElseThrow());
+    }
+
+    @Test
+    void mapEntriesAndNestingDepthAreLimited() {
+        // unprotected header {"x": [[[0]]]} is not signed, the signature remains valid
+        var nested = SIG.replace("a166686173686564f4", "a1617881818100");
+
+        assertTrue(verify(nested, KEY, Cip30VerificationEngine.defaultEngine()).isValid());
+        assertFailure(FailureReason.NESTING_TOO_DEEP, verify(nested, KEY, engine(DecodingLimits.Builder.newBuilder().maxNestingDepth(2).build())));
+        // protected header has 2 entries
+        assertFailure(FailureReason.TOO_MANY_ENTRIES, verify(SIG, KEY, engine(DecodingLimits.Builder.newBuilder().maxMapEntries(1).build())));
+    }
+
+    @Test
+    void messageLengthIsLimited() throws IOException {
+        var engine = engine(DecodingLimits.Builder.newBuilder().maxMessageLength(21).build());
+
+        assertFailure(FailureReason.ITEM_TOO_LONG, verify(SIG, KEY, engine));
+        assertFailure(FailureReason.ITEM_TOO_LONG, CIP30StreamingVerifier.Builder.newBuilder()
+                .engine(engine)
+                .build()
+                .verify(new ByteArrayInputStream(decodeHexString(SIG)), decodeHexString(KEY)));
+
+        assertTrue(verify(SIG, KEY, engine(DecodingLimits.Builder.newBuilder().maxMessageLength(22).build())).isValid());
+    }
+
+    @Test
+    void limitsMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> DecodingLimits.Builder.newBuilder().maxInputSize(0));
+        assertThrows(IllegalArgumentException.class, () -> DecodingLimits.Builder.newBuilder().maxNestingDepth(0));
+        assertThrows(IllegalArgumentException.class, () -> DecodingLimits.Builder.newBuilder().maxMapEntries(-1));
+        assertThrows(IllegalArgumentException.class, () -> DecodingLimits.Builder.newBuilder().maxMessageLength(-1));
+    }
+
+    private static void assertFailure(FailureReason expected, Cip30VerificationResult result) {
+        assertEquals(ValidationError.CIP8_FORMAT_ERROR, result.getValidationError().orElseThrow());
+        assertEquals(expected, result.getFailureReason().orElseThrow());
+    }
+
+    private static Cip30VerificationEngine engine(DecodingLimits decodingLimits) {
+        return Cip30VerificationEngine.Builder.newBuilder()
+                .decodingLimits(decodingLimits)
+                .build();
+    }
+
+    private static Cip30VerificationResult verify(String coseSign1, String coseKey, Cip30VerificationEngine engine) {
+        return CIP30Verifier.Builder.newBuilder()
+                .coseSign1(coseSign1)
+                .coseKey(coseKey)
+                .engine(engine)
+                .build()
+                .verify();
+    }
+
+}
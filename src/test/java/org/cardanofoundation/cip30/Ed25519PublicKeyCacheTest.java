@@ -0,0 +1,82 @@
+package org.cardanofoundation.cip30;
+
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import net.i2p.crypto.eddsa.spec.EdDSAPrivateKeySpec;
+import org.junit.jupiter.api.Test;
+
+import static org.cardanofoundation.cip30.Ed25519.ED_DSA_PARAMETER_SPEC;
+import static org.junit.jupiter.api.Assertions.*;
+
+class Ed25519PublicKeyCacheTest {
+
+    @Test
+    void verifiersShareDecodedPublicKeys() {
+        var sig = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e";
+        var key = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+        var cache = new Ed25519PublicKeyCache(100);
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .publicKeyCache(cache)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            var result = CIP30Verifier.Builder.newBuilder()
+                    .coseSign1(sig)
+                    .coseKey(key)
+                    .engine(engine)
+                    .build()
+                    .verify();
+
+            assertTrue(result.isValid());
+        }
+
+        assertEquals(1, cache.missCount());
+        assertEquals(2, cache.hitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void leastRecentlyUsedKeysAreEvicted() {
+        var cache = new Ed25519PublicKeyCache(1);
+        var first = publicKey(1);
+        var second = publicKey(2);
+
+        assertArrayEquals(first, cache.get(first).getAbyte());
+        assertArrayEquals(second, cache.get(second).getAbyte());
+        cache.get(second);
+        cache.get(first);
+
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.missCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(2, cache.evictionCount());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void sizeIsBounded() {
+        var cache = new Ed25519PublicKeyCache(20);
+        for (int i = 0; i < 100; i++) {
+            cache.get(publicKey(i));
+        }
+
+        assertEquals(20, cache.size());
+        assertEquals(80, cache.evictionCount());
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new Ed25519PublicKeyCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new Ed25519PublicKeyCache(10).get(new byte[31]));
+    }
+
+    private static byte[] publicKey(int seed) {
+        var bytes = new byte[32];
+        bytes[0] = (byte) seed;
+        bytes[1] = (byte) (seed >> 8);
+
+        return new EdDSAPrivateKey(new EdDSAPrivateKeySpec(bytes, ED_DSA_PARAMETER_SPEC)).getAbyte();
+    }
+
+}
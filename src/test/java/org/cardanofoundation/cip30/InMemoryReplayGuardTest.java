@@ -0,0 +1,83 @@
+package org.cardanofoundation.cip30;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.bloxbean.cardano.client.util.HexUtil.decodeHexString;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryReplayGuardTest {
+
+    private static final String SIG = "84582aa201276761646472657373581de1b83abf370a14870fdfd6ccb35f8b3e62a68e465ed1e096c5a6f5b9d6a166686173686564f4565468697320697320612074657374206d657373616765584042e2bfc4e1929769a0501b884f66794ae3485860f42c01b70fac37f75e40af074c6b2a61b04c6cf8a493c0dced1455b4f1129dbf653ad9801c52ce49ff6d5a0e";
+
+    private static final String KEY = "a40101032720062158202f1867873147cf53c442435723c17e83beeb8e2153851cd73ccfb1b5e68994a4";
+
+    @Test
+    void keysExpireAfterWindow() {
+        var now = new AtomicLong();
+        var guard = new InMemoryReplayGuard(ReplayGuard.KeyType.SIGNATURE, Duration.ofSeconds(10), now::get);
+        var key = new byte[]{1, 2, 3};
+
+        assertFalse(guard.contains(key));
+        assertTrue(guard.record(key));
+        assertTrue(guard.contains(key.clone()));
+        assertFalse(guard.record(key.clone()));
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertFalse(guard.contains(key));
+        assertTrue(guard.record(key));
+
+        // swept once half a window has passed
+        assertTrue(guard.record(new byte[]{4}));
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertTrue(guard.record(new byte[]{5}));
+        assertEquals(1, guard.size());
+    }
+
+    @Test
+    void replaysAreRejectedBeforeSignatureCheck() {
+        var guard = ReplayGuard.inMemory(ReplayGuard.KeyType.SIGNATURE, Duration.ofMinutes(5));
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .replayGuard(guard)
+                // bypassed, a cached valid result would accept the replay
+                .resultCache(new Cip30VerificationResultCache(100, Duration.ofMinutes(1)))
+                .build();
+
+        // invalid signatures are not recorded
+        var tampered = SIG.substring(0, SIG.length() - 1) + "f";
+        assertEquals(ValidationError.INVALID_SIGNATURE, verify(tampered, engine).getValidationError().orElseThrow());
+        assertEquals(0, ((InMemoryReplayGuard) guard).size());
+
+        assertTrue(verify(SIG, engine).isValid());
+        var replay = verify(SIG, engine);
+        assertEquals(ValidationError.REPLAYED, replay.getValidationError().orElseThrow());
+        assertEquals(FailureReason.REPLAYED, replay.getFailureReason().orElseThrow());
+    }
+
+    @Test
+    void messagesAreRecognizedAcrossVerifiers() throws Exception {
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .replayGuard(ReplayGuard.inMemory(ReplayGuard.KeyType.MESSAGE_HASH, Duration.ofMinutes(5)))
+                .build();
+
+        var verifier = CIP30StreamingVerifier.Builder.newBuilder()
+                .engine(engine)
+                .build();
+        assertTrue(verifier.verify(new ByteArrayInputStream(decodeHexString(SIG)), decodeHexString(KEY)).isValid());
+
+        assertEquals(ValidationError.REPLAYED, verify(SIG, engine).getValidationError().orElseThrow());
+    }
+
+    private static Cip30VerificationResult verify(String sig, Cip30VerificationEngine engine) {
+        return CIP30Verifier.Builder.newBuilder()
+                .coseSign1(sig)
+                .coseKey(KEY)
+                .engine(engine)
+                .build()
+                .verify();
+    }
+
+}
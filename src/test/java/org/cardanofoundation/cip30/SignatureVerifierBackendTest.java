@@ -0,0 +1,180 @@
+package org.cardanofoundation.cip30;
+
+import net.i2p.crypto.eddsa.EdDSAPrivateKey;
+import net.i2p.crypto.eddsa.spec.EdDSAPrivateKeySpec;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.bloxbean.cardano.client.util.HexUtil.decodeHexString;
+import static org.cardanofoundation.cip30.CIP30BatchVerifierTest.DATA_SIGNATURES;
+import static org.cardanofoundation.cip30.Ed25519.ED_DSA_PARAMETER_SPEC;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conformance of every available backend: RFC 8032 (7.1) test vectors, malformed inputs and CIP-30 DataSignatures.
+ */
+class SignatureVerifierBackendTest {
+
+    // secret key, public key, message, signature
+    private static final List<String[]> RFC_8032_VECTORS = List.of(
+            new String[]{
+                    "9d61b19deffd5a60ba844af492ec2cc44449c5697b326919703bac031cae7f60",
+                    "d75a980182b10ab7d54bfed3c964073a0ee172f3daa62325af021a68f707511a",
+                    "",
+                    "e5564300c360ac729086e2cc806e828a84877f1eb8e5d974d873e065224901555fb8821590a33bacc61e39701cf9b46bd25bf5f0595bbe24655141438e7a100b"},
+            new String[]{
+                    "4ccd089b28ff96da9db6c346ec114e0f5b8a319f35aba624da8cf6ed4fb8a6fb",
+                    "3d4017c3e843895a92b70aa74d1b7ebc9c982ccf2ec4968cc0cd55f12af4660c",
+                    "72",
+                    "92a009a9f0d4cab8720e820b5f642540a2b27b5416503f8fb3762223ebdb69da085ac1e43e15996e458f3613d0f11d8c387b2eaeb4302aeeb00d291612bb0c00"},
+            new String[]{
+                    "c5aa8df43f9f837bedb7442f31dcb7b166d38535076f094b85ce3a2e0b4458f7",
+                    "fc51cd8e6218a1a38da47ed00230f0580816ed13ba3303ac5deb911548908025",
+                    "af82",
+                    "6291d657deec24024827e69c3abe01a30ce548a284743a445e3680d7db5ac3ac18ff9b538d16f290ae67f760984dc6594a7c15e9716ed28dc027beceea1ec40a"}
+    );
+
+    /**
+     * Order of the base point, a signature with S >= L is not canonical.
+     */
+    private static final BigInteger L = BigInteger.TWO.pow(252).add(new BigInteger("27742317777372353535851937790883648493"));
+
+    @Test
+    void builtInBackendsAreAvailable() {
+        var names = SignatureVerifierBackend.available().stream().map(SignatureVerifierBackend::name).toList();
+
+        assertTrue(names.containsAll(List.of("i2p", "jdk")), names.toString());
+        assertSame(I2pSignatureVerifierBackend.INSTANCE, SignatureVerifierBackend.defaultBackend());
+        assertEquals("jdk", SignatureVerifierBackend.named("jdk").name());
+        assertThrows(IllegalArgumentException.class, () -> SignatureVerifierBackend.named("unknown"));
+    }
+
+    @Test
+    void unknownSystemPropertyFallsBackToI2p() {
+        assertSame(I2pSignatureVerifierBackend.INSTANCE, DefaultSignatureVerifierBackend.resolve("unknown"));
+        assertEquals("jdk", DefaultSignatureVerifierBackend.resolve("jdk").name());
+        assertSame(SignatureVerifierBackend.defaultBackend(), Cip30VerificationEngine.Builder.newBuilder().build().getSignatureBackend());
+    }
+
+    @Test
+    void delegatingBackendKeepsPublicKeyCache() {
+        var delegate = SignatureVerifierBackend.named("i2p");
+        var wrapper = new SignatureVerifierBackend() {
+            @Override
+            public String name() {
+                return "wrapper";
+            }
+
+            @Override
+            public boolean verify(byte[] message, byte[] signature, byte[] publicKey) {
+                return delegate.verify(message, signature, publicKey);
+            }
+
+            @Override
+            public boolean verify(byte[] message, byte[] signature, byte[] publicKey, Cip30VerificationEngine engine) {
+                return delegate.verify(message, signature, publicKey, engine);
+            }
+        };
+        var publicKeyCache = new Ed25519PublicKeyCache(16);
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .signatureBackend(wrapper)
+                .publicKeyCache(publicKeyCache)
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            var result = CIP30Verifier.Builder.newBuilder()
+                    .dataSignature(DATA_SIGNATURES.get(0))
+                    .engine(engine)
+                    .build()
+                    .verify();
+            assertTrue(result.isValid());
+        }
+        assertEquals(1, publicKeyCache.missCount());
+        assertEquals(1, publicKeyCache.hitCount());
+    }
+
+    @Test
+    void rfc8032VectorsAreVerified() {
+        for (var vector : RFC_8032_VECTORS) {
+            var publicKey = decodeHexString(vector[1]);
+            var message = decodeHexString(vector[2]);
+            var signature = decodeHexString(vector[3]);
+            // the vector is consistent: public key and signature derive from the secret key
+            var privateKey = new EdDSAPrivateKey(new EdDSAPrivateKeySpec(decodeHexString(vector[0]), ED_DSA_PARAMETER_SPEC));
+            assertArrayEquals(publicKey, privateKey.getAbyte());
+
+            for (var backend : SignatureVerifierBackend.available()) {
+                var name = backend.name() + " " + vector[2];
+                assertTrue(backend.verify(message, signature, publicKey), name);
+
+                var otherMessage = Arrays.copyOf(message, message.length + 1);
+                assertFalse(backend.verify(otherMessage, signature, publicKey), name);
+                for (var index : new int[]{0, 31, 32, 63}) {
+                    var tampered = signature.clone();
+                    tampered[index] ^= 0x01;
+                    assertFalse(backend.verify(message, tampered, publicKey), name + " signature byte " + index);
+                }
+                var otherKey = publicKey.clone();
+                otherKey[0] ^= 0x01;
+                assertFalse(backend.verify(message, signature, otherKey), name);
+                if (backend instanceof JdkSignatureVerifierBackend) {
+                    // i2p does not check S < L and accepts the non-canonical encoding
+                    assertFalse(backend.verify(message, nonCanonical(signature), publicKey), name + " S + L");
+                }
+                assertFalse(backend.verify(message, Arrays.copyOf(signature, 63), publicKey), name);
+                assertFalse(backend.verify(message, signature, Arrays.copyOf(publicKey, 31)), name);
+            }
+        }
+    }
+
+    @Test
+    void cip30ResultsDoNotDependOnBackend() {
+        var dataSignatures = new ArrayList<>(DATA_SIGNATURES);
+        var sig = DATA_SIGNATURES.get(0).getCOSESign1();
+        // invalid, tampered ED 25519 signature
+        dataSignatures.add(new DataSignature(sig.substring(0, sig.length() - 1) + "f", DATA_SIGNATURES.get(0).getCoseKey()));
+
+        for (var backend : SignatureVerifierBackend.available()) {
+            var engine = Cip30VerificationEngine.Builder.newBuilder()
+                    .signatureBackend(backend)
+                    .build();
+            for (var dataSignature : dataSignatures) {
+                var expected = new CIP30Verifier(dataSignature).verify();
+                var actual = CIP30Verifier.Builder.newBuilder()
+                        .dataSignature(dataSignature)
+                        .engine(engine)
+                        .build()
+                        .verify();
+
+                assertEquals(expected.isValid(), actual.isValid(), backend.name() + " " + dataSignature);
+                assertEquals(expected.getValidationError(), actual.getValidationError());
+                assertEquals(expected.getFailureReason(), actual.getFailureReason());
+            }
+        }
+    }
+
+    private static byte[] nonCanonical(byte[] signature) {
+        var s = Arrays.copyOfRange(signature, 32, 64);
+        reverse(s);
+        var encoded = new BigInteger(1, s).add(L).toByteArray();
+        reverse(encoded);
+        var result = signature.clone();
+        Arrays.fill(result, 32, 64, (byte) 0);
+        System.arraycopy(encoded, 0, result, 32, Math.min(32, encoded.length));
+
+        return result;
+    }
+
+    private static void reverse(byte[] bytes) {
+        for (int i = 0, j = bytes.length - 1; i < j; i++, j--) {
+            var b = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = b;
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.cardanofoundation.cip30;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.cardanofoundation.cip30.CIP30BatchVerifierTest.DATA_SIGNATURES;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerificationMetricsTest {
+
+    @Test
+    void stagesAndResultsAreRecorded() {
+        var stages = EnumSet.noneOf(VerificationMetrics.Stage.class);
+        var results = new ArrayList<String>();
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .metrics(new VerificationMetrics() {
+                    @Override
+                    public synchronized void recordStage(Stage stage, long durationNanos) {
+                        assertTrue(durationNanos >= 0);
+                        stages.add(stage);
+                    }
+
+                    @Override
+                    public synchronized void recordResult(Optional<ValidationError> validationError, boolean isHashed, Optional<KeySource> keySource) {
+                        results.add(validationError.map(Enum::name).orElse("VALID") + "/" + keySource.map(Enum::name).orElse("NONE"));
+                    }
+                })
+                .replayGuard(ReplayGuard.inMemory(ReplayGuard.KeyType.SIGNATURE, Duration.ofMinutes(1)))
+                .build();
+
+        verify(DATA_SIGNATURES.get(0), engine);
+        verify(new DataSignature("a10102"), engine);
+
+        assertEquals(EnumSet.allOf(VerificationMetrics.Stage.class), stages);
+        assertEquals(List.of("VALID/COSE_KEY", "CIP8_FORMAT_ERROR/NONE"), results);
+    }
+
+    @Test
+    void micrometer() {
+        var registry = new SimpleMeterRegistry();
+        var engine = Cip30VerificationEngine.Builder.newBuilder()
+                .metrics(new MicrometerVerificationMetrics(registry))
+                .build();
+
+        verify(DATA_SIGNATURES.get(0), engine);
+
+        var valid = registry.get("cip30.verification.results")
+                .tag("result", "VALID")
+                .tag("hashed", "false")
+                .tag("key.source", "COSE_KEY")
+                .counter();
+        var ed25519 = registry.get("cip30.verification.stage")
+                .tag("stage", "ED25519_VERIFY")
+                .timer();
+
+        assertEquals(1, valid.count());
+        assertEquals(1, ed25519.count());
+    }
+
+    @Test
+    void jfrEvents(@TempDir Path directory) throws Exception {
+        var file = directory.resolve("verification.jfr");
+        var engine = Cip30VerificationEngine.defaultEngine();
+        // nothing is allocated while the event is not recorded
+        assertNull(engine.startStage(VerificationMetrics.Stage.ED25519_VERIFY));
+        try (var recording = new Recording()) {
+            recording.enable("org.cardanofoundation.cip30.VerificationStage");
+            recording.enable("org.cardanofoundation.cip30.VerificationResult");
+            recording.start();
+            assertNotNull(engine.startStage(VerificationMetrics.Stage.ED25519_VERIFY));
+
+            verify(DATA_SIGNATURES.get(0), Cip30VerificationEngine.defaultEngine());
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        var stages = new ArrayList<String>();
+        var results = new ArrayList<Boolean>();
+        for (var event : RecordingFile.readAllEvents(file)) {
+            switch (event.getEventType().getName()) {
+                case "org.cardanofoundation.cip30.VerificationStage" -> stages.add(event.getString("stage"));
+                case "org.cardanofoundation.cip30.VerificationResult" -> results.add(event.getBoolean("valid"));
+                default -> {
+                }
+            }
+        }
+
+        assertTrue(stages.contains("ED25519_VERIFY"));
+        assertEquals(List.of(true), results);
+    }
+
+    private static void verify(DataSignature dataSignature, Cip30VerificationEngine engine) {
+        CIP30Verifier.Builder.newBuilder()
+                .dataSignature(dataSignature)
+                .engine(engine)
+                .build()
+                .verify();
+    }
+
+}
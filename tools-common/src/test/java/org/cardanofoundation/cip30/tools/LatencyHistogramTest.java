@@ -0,0 +1,23 @@
+package org.cardanofoundation.cip30.tools;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void latencyPercentilesAreWithinBucketPrecision() {
+        var histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000, histogram.max());
+        assertEquals(500_000, histogram.percentile(0.5), 500_000 / 16.0);
+        assertEquals(990_000, histogram.percentile(0.99), 990_000 / 16.0);
+        assertEquals(1_000_000, histogram.percentile(1));
+    }
+
+}